@@ -0,0 +1,90 @@
+package com.order.benchmark;
+
+import com.order.common.Money;
+import com.order.entity.Product;
+import com.order.entity.ShoppingCart;
+import com.order.entity.Wallet;
+import com.order.repository.ProductRepository;
+import com.order.repository.ShoppingCartRepository;
+import com.order.repository.WalletRepository;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 所有基准共享的应用状态：一个Spring上下文 + cartSize 个库存充足的商品
+ * 每个压测线程通过 nextUserId 拿到独立用户，避免线程之间争抢同一行
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    // 足够支付整个压测过程的钱包余额
+    private static final BigDecimal WALLET_BALANCE = new BigDecimal("99999999.00");
+
+    @Param({"1", "5", "20"})
+    public int cartSize;
+
+    ConfigurableApplicationContext context;
+    List<Long> productIds;
+
+    private final AtomicLong userIds = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        productIds = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            Product product = new Product(1L, "商品" + i, "基准测试商品", Money.of("9.90"));
+            product.setStock(Integer.MAX_VALUE);
+            productIds.add(productRepository.save(product).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * 新建一个带充足余额钱包的用户
+     */
+    Long nextUserId() {
+        Long userId = userIds.incrementAndGet();
+        Wallet wallet = new Wallet(userId);
+        wallet.setBalance(WALLET_BALANCE);
+        getBean(WalletRepository.class).save(wallet);
+        return userId;
+    }
+
+    /**
+     * 为用户保存下单用的收货地址
+     */
+    Long saveAddress(Long userId) {
+        return BenchmarkApplication.saveAddress(context, userId);
+    }
+
+    /**
+     * 将全部商品各一件加入用户购物车
+     */
+    void fillCart(Long userId) {
+        List<ShoppingCart> cart = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            cart.add(new ShoppingCart(userId, productId, 1));
+        }
+        getBean(ShoppingCartRepository.class).saveAll(cart);
+    }
+}
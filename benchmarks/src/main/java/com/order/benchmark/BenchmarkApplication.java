@@ -0,0 +1,57 @@
+package com.order.benchmark;
+
+import com.order.OrderingSystemApplication;
+import com.order.entity.UserAddress;
+import com.order.repository.UserAddressRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 基准测试用的应用上下文：不启动Web容器，数据源替换为内嵌H2（MySQL兼容模式）
+ * 每次启动使用独立的内存库，互不干扰
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {}
+
+    public static ConfigurableApplicationContext start(String... overrides) {
+        List<String> args = new ArrayList<>(Arrays.asList(
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID()
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--order.archive.enabled=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.order=WARN"));
+        // 后出现的参数覆盖前面的默认值
+        args.addAll(Arrays.asList(overrides));
+        return new SpringApplicationBuilder(OrderingSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+    }
+
+    /**
+     * 为用户保存一个下单用的收货地址，返回地址ID
+     * 地址不带坐标，下单收取默认配送费；地址表外键引用用户表，先写入同ID的用户
+     */
+    static Long saveAddress(ConfigurableApplicationContext context, Long userId) {
+        context.getBean(JdbcTemplate.class).update(
+                "INSERT INTO users (id, username, password, phone, status) VALUES (?, ?, 'password', ?, 1)",
+                userId, "bench_" + userId, String.valueOf(13_800_000_000L + userId));
+        UserAddress address = new UserAddress(userId, "基准测试地址", "测试", "13800000000");
+        return context.getBean(UserAddressRepository.class).save(address).getId();
+    }
+}
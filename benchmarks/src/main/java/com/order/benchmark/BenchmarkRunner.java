@@ -0,0 +1,39 @@
+package com.order.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * 基准入口：按线程数依次运行，每个线程数输出一份JSON结果，便于跨版本对比趋势
+ * 用法：java -Dthreads=1,4,16 -Dresults=target/jmh -jar benchmarks.jar [JMH参数] [基准正则]
+ * 其余参数与JMH命令行一致（如 -p cartSize=5 -wi 1 -i 3），未指定正则时运行全部基准
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        String[] threadCounts = System.getProperty("threads", "1,4").split(",");
+        File resultDir = new File(System.getProperty("results", "target/jmh"));
+        if (!resultDir.isDirectory() && !resultDir.mkdirs()) {
+            throw new IllegalStateException("无法创建结果目录：" + resultDir);
+        }
+
+        for (String value : threadCounts) {
+            int threads = Integer.parseInt(value.trim());
+            new Runner(new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(resultDir, "jmh-threads-" + threads + ".json").getPath())
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.order.benchmark;
+
+import com.order.entity.ShoppingCart;
+import com.order.service.ShoppingCartService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 购物车读写基准：购物车内固定 cartSize 件商品
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartBenchmark {
+
+    @State(Scope.Thread)
+    public static class CartState {
+        ShoppingCartService shoppingCartService;
+        List<Long> productIds;
+        Long userId;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(ApplicationState app) {
+            shoppingCartService = app.getBean(ShoppingCartService.class);
+            productIds = app.productIds;
+            userId = app.nextUserId();
+            app.fillCart(userId);
+        }
+
+        Long nextProductId() {
+            Long productId = productIds.get(next);
+            next = (next + 1) % productIds.size();
+            return productId;
+        }
+    }
+
+    @Benchmark
+    public List<ShoppingCart> getCartByUserId(CartState state) {
+        return state.shoppingCartService.getCartByUserId(state.userId);
+    }
+
+    @Benchmark
+    public ShoppingCart addToCart(CartState state) {
+        return state.shoppingCartService.addToCart(state.userId, state.nextProductId(), 1);
+    }
+}
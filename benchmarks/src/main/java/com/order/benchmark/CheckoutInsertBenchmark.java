@@ -0,0 +1,88 @@
+package com.order.benchmark;
+
+import com.order.common.Money;
+import com.order.entity.Product;
+import com.order.entity.ShoppingCart;
+import com.order.repository.ProductRepository;
+import com.order.repository.ShoppingCartRepository;
+import com.order.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 下单写入基准：订单项、购物车使用号段ID后，对比关闭批量（batch_size=1）与开启批量时
+ * createOrderFromCart（插入订单项 + 删除购物车）与再来一单（插入购物车）的耗时
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CheckoutInsertBenchmark {
+
+    private static final Long USER_ID = 1L;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    @Param({"5", "30"})
+    public int cartSize;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private ShoppingCartRepository shoppingCartRepository;
+    private List<Long> productIds;
+    private Long addressId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        orderService = context.getBean(OrderService.class);
+        shoppingCartRepository = context.getBean(ShoppingCartRepository.class);
+        addressId = BenchmarkApplication.saveAddress(context, USER_ID);
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        productIds = new ArrayList<>();
+        for (int i = 0; i < cartSize; i++) {
+            Product product = new Product(1L, "商品" + i, "基准测试商品", Money.of("9.90"));
+            product.setStock(Integer.MAX_VALUE);
+            productIds.add(productRepository.save(product).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void fillCart() {
+        List<ShoppingCart> cart = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            cart.add(new ShoppingCart(USER_ID, productId, 1));
+        }
+        shoppingCartRepository.saveAll(cart);
+    }
+
+    @Benchmark
+    public Object checkout() {
+        return orderService.createOrderFromCart(USER_ID, null, addressId);
+    }
+}
@@ -0,0 +1,96 @@
+package com.order.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.common.Money;
+import com.order.delivery.DeliveryZoneGrid;
+import com.order.delivery.DeliveryZoneRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 配送费报价基准（目标每秒10万次）：预计算网格查表对比每次直接计算（球面距离 + 多边形判断）
+ * 规则取主工程 delivery-zones.json，另按 zones 参数追加多边形区域；报价坐标为门店周边9公里内的随机点，含超出范围的点
+ * 不启动Spring上下文；多线程运行（BenchmarkRunner -Dthreads）时网格只读共享，无竞争
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeliveryQuoteBenchmark {
+
+    private static final int POINTS = 4096;
+
+    @Param({"0", "8"})
+    private int zones;
+
+    private DeliveryZoneRules rules;
+    private DeliveryZoneGrid grid;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = DeliveryZoneRules.class.getResourceAsStream("/delivery-zones.json")) {
+            rules = new ObjectMapper().readValue(in, DeliveryZoneRules.class);
+        }
+        double originLatitude = rules.getOrigin().getLatitude();
+        double originLongitude = rules.getOrigin().getLongitude();
+        // 门店周边环形排列的八边形区域，半径约1公里
+        for (int i = 0; i < zones; i++) {
+            double angle = 2 * Math.PI * i / zones;
+            double centerLatitude = originLatitude + 0.045 * Math.sin(angle);
+            double centerLongitude = originLongitude + 0.05 * Math.cos(angle);
+            double[][] polygon = new double[8][];
+            for (int j = 0; j < 8; j++) {
+                double vertex = 2 * Math.PI * j / 8;
+                polygon[j] = new double[]{centerLatitude + 0.009 * Math.sin(vertex),
+                        centerLongitude + 0.0105 * Math.cos(vertex)};
+            }
+            DeliveryZoneRules.Zone zone = new DeliveryZoneRules.Zone();
+            zone.setName("区域" + i);
+            zone.setFee(Money.of("12.00"));
+            zone.setPolygon(polygon);
+            rules.getZones().add(zone);
+        }
+        grid = DeliveryZoneGrid.compile(rules, "benchmark");
+
+        Random random = new Random(42);
+        latitudes = new double[POINTS];
+        longitudes = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            latitudes[i] = originLatitude + (random.nextDouble() * 2 - 1) * 0.081;
+            longitudes[i] = originLongitude + (random.nextDouble() * 2 - 1) * 0.095;
+        }
+    }
+
+    @Benchmark
+    public long gridLookup() {
+        int i = next++ & (POINTS - 1);
+        int zone = grid.zoneAt(latitudes[i], longitudes[i]);
+        return zone == DeliveryZoneGrid.NO_ZONE ? -1 : grid.feeCents(zone);
+    }
+
+    @Benchmark
+    public long directResolve() {
+        int i = next++ & (POINTS - 1);
+        int zone = rules.resolve(latitudes[i], longitudes[i]);
+        return zone == DeliveryZoneGrid.NO_ZONE ? -1 : rules.zoneFee(zone).getCents();
+    }
+}
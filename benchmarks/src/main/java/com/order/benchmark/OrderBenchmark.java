@@ -0,0 +1,78 @@
+package com.order.benchmark;
+
+import com.order.entity.Order;
+import com.order.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 下单与支付基准
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBenchmark {
+
+    @State(Scope.Thread)
+    public static class UserState {
+        OrderService orderService;
+        Long userId;
+        Long addressId;
+
+        @Setup(Level.Trial)
+        public void setUp(ApplicationState app) {
+            orderService = app.getBean(OrderService.class);
+            userId = app.nextUserId();
+            addressId = app.saveAddress(userId);
+        }
+
+        @Setup(Level.Invocation)
+        public void prepare(ApplicationState app) {
+            app.fillCart(userId);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PendingOrderState {
+        OrderService orderService;
+        Long userId;
+        Long addressId;
+        Long pendingOrderId;
+
+        @Setup(Level.Trial)
+        public void setUp(ApplicationState app) {
+            orderService = app.getBean(OrderService.class);
+            userId = app.nextUserId();
+            addressId = app.saveAddress(userId);
+        }
+
+        @Setup(Level.Invocation)
+        public void prepare(ApplicationState app) {
+            app.fillCart(userId);
+            pendingOrderId = orderService.createOrderFromCart(userId, null, addressId).getId();
+        }
+    }
+
+    @Benchmark
+    public Order createOrderFromCart(UserState state) {
+        return state.orderService.createOrderFromCart(state.userId, null, state.addressId);
+    }
+
+    @Benchmark
+    public Order payOrder(PendingOrderState state) {
+        return state.orderService.payOrder(state.pendingOrderId);
+    }
+}
@@ -0,0 +1,46 @@
+package com.order.benchmark;
+
+import com.order.id.OrderNoGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 订单号生成基准：原 "ORD + 毫秒 + UUID前8位" 实现对比 OrderNoGenerator
+ * 多线程运行（BenchmarkRunner -Dthreads）可观察CAS竞争与SecureRandom锁竞争
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderNoBenchmark {
+
+    private OrderNoGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new OrderNoGenerator(1);
+    }
+
+    @Benchmark
+    public String legacyUuid() {
+        return "ORD" + System.currentTimeMillis() + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    public String snowflake() {
+        return generator.next(0);
+    }
+}
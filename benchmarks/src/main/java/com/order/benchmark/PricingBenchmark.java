@@ -0,0 +1,89 @@
+package com.order.benchmark;
+
+import com.order.common.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 下单计价基准：原 BigDecimal 实现（每行 new BigDecimal(quantity)，配送费 new BigDecimal(distance)）对比 Money，
+ * 计算内容与 OrderService.createOrderFromCart、DeliveryFeeService 一致；不启动Spring上下文，只测计价本身
+ * 购物车合计与配送费分开测量，配送费按未达免配送费门槛计算
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PricingBenchmark {
+
+    private static final BigDecimal BASE_DELIVERY_FEE = new BigDecimal("5.00");
+    private static final BigDecimal DISTANCE_FEE_PER_KM = new BigDecimal("2.00");
+    private static final Money BASE_DELIVERY_FEE_MONEY = Money.of(BASE_DELIVERY_FEE);
+    private static final Money DISTANCE_FEE_PER_KM_MONEY = Money.of(DISTANCE_FEE_PER_KM);
+
+    @Param({"1", "5", "20"})
+    private int cartSize;
+
+    private BigDecimal[] decimalPrices;
+    private Money[] moneyPrices;
+    private int[] quantities;
+    private double distance;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        decimalPrices = new BigDecimal[cartSize];
+        moneyPrices = new Money[cartSize];
+        quantities = new int[cartSize];
+        for (int i = 0; i < cartSize; i++) {
+            decimalPrices[i] = BigDecimal.valueOf(100 + random.nextInt(3900), 2);
+            moneyPrices[i] = Money.of(decimalPrices[i]);
+            quantities[i] = 1 + random.nextInt(3);
+        }
+        distance = 3.7;
+    }
+
+    @Benchmark
+    public BigDecimal cartTotalBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < cartSize; i++) {
+            total = total.add(decimalPrices[i].multiply(new BigDecimal(quantities[i])));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money cartTotalMoney() {
+        Money total = Money.ZERO;
+        for (int i = 0; i < cartSize; i++) {
+            total = total.plus(moneyPrices[i].times(quantities[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal deliveryFeeBigDecimal() {
+        return BASE_DELIVERY_FEE.add(new BigDecimal(distance).multiply(DISTANCE_FEE_PER_KM))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public Money deliveryFeeMoney() {
+        return BASE_DELIVERY_FEE_MONEY.plus(DISTANCE_FEE_PER_KM_MONEY.times(distance));
+    }
+}
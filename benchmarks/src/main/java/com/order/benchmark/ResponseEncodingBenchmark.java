@@ -0,0 +1,128 @@
+package com.order.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.order.common.Money;
+import com.order.common.Result;
+import com.order.common.SparseFieldsFilter;
+import com.order.entity.Order;
+import com.order.entity.Product;
+import com.order.entity.ShoppingCart;
+import com.order.repository.OrderRepository;
+import com.order.repository.ProductRepository;
+import com.order.repository.ShoppingCartRepository;
+import com.order.service.OrderService;
+import com.order.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应编码基准：/product/list 与 /order/user/{userId} 的 Result 负载分别以 JSON、CBOR、Smile 编码，
+ * 对比完整字段与列表页所需字段（fields 参数）的序列化耗时；各组合的负载字节数在启动时打印
+ * 三种编码均由Spring Boot配置的 Jackson2ObjectMapperBuilder 构建，与 ResponseEncodingConfig 一致
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseEncodingBenchmark {
+
+    // 商品列表页、订单列表页实际用到的字段
+    private static final String PRODUCT_LIST_FIELDS = "id,categoryId,name,price,originalPrice,imageUrl,stock,sales";
+    private static final String ORDER_LIST_FIELDS = "id,orderNo,status,paymentStatus,actualAmount,createdTime,"
+            + "orderItems.productName,orderItems.quantity,orderItems.subtotal";
+    private static final int ORDER_COUNT = 20;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Param({"100"})
+    public int productCount;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"full", "sparse"})
+    public String fields;
+
+    private ConfigurableApplicationContext context;
+    private Result<List<Product>> products;
+    private Result<List<Order>> orders;
+    private ObjectWriter productWriter;
+    private ObjectWriter orderWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start();
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        for (int i = 0; i < productCount; i++) {
+            Product product = new Product(1L, "商品" + i, "基准测试商品描述，列表页不展示的长文本" + i, Money.of("9.90"));
+            product.setOriginalPrice(Money.of("12.90"));
+            product.setImageUrl("/images/product-" + i + ".jpg");
+            product.setStock(1000);
+            productRepository.save(product);
+        }
+        products = Result.success(context.getBean(ProductService.class).getAllProducts());
+
+        Long userId = 1L;
+        Long addressId = BenchmarkApplication.saveAddress(context, userId);
+        ShoppingCartRepository cartRepository = context.getBean(ShoppingCartRepository.class);
+        OrderService orderService = context.getBean(OrderService.class);
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            List<ShoppingCart> cart = new ArrayList<>(ITEMS_PER_ORDER);
+            for (Product product : products.getData().subList(i, i + ITEMS_PER_ORDER)) {
+                cart.add(new ShoppingCart(userId, product.getId(), 2));
+            }
+            cartRepository.saveAll(cart);
+            orderService.createOrderFromCart(userId, "基准测试备注", addressId);
+        }
+        orders = Result.success(context.getBean(OrderRepository.class).findByUserIdWithItems(userId));
+
+        Jackson2ObjectMapperBuilder builder = context.getBean(Jackson2ObjectMapperBuilder.class);
+        if ("cbor".equals(format)) {
+            builder.factory(new CBORFactory());
+        } else if ("smile".equals(format)) {
+            builder.factory(new SmileFactory());
+        }
+        ObjectWriter writer = builder.build().writer();
+        boolean sparse = "sparse".equals(fields);
+        productWriter = sparse ? writer.with(SparseFieldsFilter.provider(PRODUCT_LIST_FIELDS)) : writer;
+        orderWriter = sparse ? writer.with(SparseFieldsFilter.provider(ORDER_LIST_FIELDS)) : writer;
+
+        System.out.printf("%n[payload] format=%s fields=%s /product/list=%d bytes /order/user=%d bytes%n",
+                format, fields, productList().length, userOrders().length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] productList() throws Exception {
+        return productWriter.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] userOrders() throws Exception {
+        return orderWriter.writeValueAsBytes(orders);
+    }
+}
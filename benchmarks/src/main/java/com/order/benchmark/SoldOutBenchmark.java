@@ -0,0 +1,89 @@
+package com.order.benchmark;
+
+import com.order.common.Money;
+import com.order.entity.Product;
+import com.order.exception.BusinessException;
+import com.order.exception.OutOfStockException;
+import com.order.repository.ProductRepository;
+import com.order.service.ShoppingCartService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 秒杀售罄场景基准：对库存为0的商品加购物车，每次调用都抛出 OutOfStockException
+ * 两个方法执行路径相同，区别只在业务异常是否填充栈（-Dorder.business-exception.stack-trace），
+ * 另测单独构造异常的开销，便于区分栈填充与查询本身的耗时
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class SoldOutBenchmark {
+
+    private static final String STACK_TRACE = "-Dorder.business-exception.stack-trace=true";
+
+    private ConfigurableApplicationContext context;
+    private ShoppingCartService shoppingCartService;
+    private Long productId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        shoppingCartService = context.getBean(ShoppingCartService.class);
+        Product product = new Product(1L, "秒杀商品", "基准测试商品", Money.of("9.90"));
+        product.setStock(0);
+        productId = context.getBean(ProductRepository.class).save(product).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Fork(1)
+    public String soldOutStackless() {
+        return addSoldOut();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = STACK_TRACE)
+    public String soldOutWithStackTrace() {
+        return addSoldOut();
+    }
+
+    @Benchmark
+    @Fork(1)
+    public BusinessException createStackless() {
+        return new OutOfStockException("商品库存不足");
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = STACK_TRACE)
+    public BusinessException createWithStackTrace() {
+        return new OutOfStockException("商品库存不足");
+    }
+
+    private String addSoldOut() {
+        try {
+            shoppingCartService.addToCart(1L, productId, 1);
+            throw new IllegalStateException("库存为0的商品加入了购物车");
+        } catch (BusinessException e) {
+            return e.getMessage();
+        }
+    }
+}
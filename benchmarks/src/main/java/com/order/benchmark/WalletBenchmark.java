@@ -0,0 +1,64 @@
+package com.order.benchmark;
+
+import com.order.common.Money;
+import com.order.entity.Order;
+import com.order.entity.UserAddress;
+import com.order.service.DeliveryFeeService;
+import com.order.service.WalletService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 钱包扣款与配送费计算基准
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WalletBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @State(Scope.Thread)
+    public static class WalletState {
+        WalletService walletService;
+        DeliveryFeeService deliveryFeeService;
+        Long userId;
+        Order order;
+        UserAddress address;
+
+        @Setup(Level.Trial)
+        public void setUp(ApplicationState app) {
+            walletService = app.getBean(WalletService.class);
+            deliveryFeeService = app.getBean(DeliveryFeeService.class);
+            userId = app.nextUserId();
+            order = new Order();
+            order.setTotalAmount(Money.of("9.90").times(app.cartSize));
+            // 不带坐标的地址，收取默认配送费
+            address = new UserAddress(userId, "基准测试地址", "测试", "13800000000");
+        }
+    }
+
+    @Benchmark
+    public boolean consume(WalletState state) {
+        return state.walletService.consume(state.userId, AMOUNT);
+    }
+
+    @Benchmark
+    public Money calculateDeliveryFee(WalletState state) {
+        return state.deliveryFeeService.calculateDeliveryFee(state.order, state.address);
+    }
+}
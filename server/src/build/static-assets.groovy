@@ -0,0 +1,76 @@
+// 构建期静态资源处理（process-resources 阶段，只修改 target/classes/static，不改源码）
+// 1. js/*.js 按内容哈希复制为 assets/{文件名}.{哈希}.js，页面中的引用改写为哈希地址，可长期强缓存（见 HttpCacheConfig）
+// 2. 页面和哈希资源生成 .gz、.br 预压缩文件，运行时按 Accept-Encoding 直接返回，请求时不再压缩
+import com.aayushatharva.brotli4j.Brotli4jLoader
+import com.aayushatharva.brotli4j.encoder.Encoder
+
+import groovy.transform.CompileStatic
+
+import java.security.MessageDigest
+import java.util.zip.Deflater
+import java.util.regex.Pattern
+import java.util.zip.GZIPOutputStream
+
+// GZIPOutputStream 默认压缩级别为6，构建期不在乎耗时，使用最高级别
+@CompileStatic
+class BestGzipOutputStream extends GZIPOutputStream {
+    BestGzipOutputStream(OutputStream out) {
+        super(out)
+        this.@'def'.setLevel(Deflater.BEST_COMPRESSION)
+    }
+}
+
+// 小于该大小的文件压缩收益不抵解压开销，不生成预压缩版本
+final int MIN_SIZE = 1024
+
+File staticDir = new File(project.build.outputDirectory, 'static')
+if (!staticDir.isDirectory()) {
+    return
+}
+File jsDir = new File(staticDir, 'js')
+File assetsDir = new File(staticDir, 'assets')
+assetsDir.deleteDir()
+assetsDir.mkdirs()
+
+// 引用匹配模式 -> 哈希路径，如 "js/api.js" -> "assets/api.1a2b3c4d5e6f.js"
+Map<String, String> hashed = [:]
+jsDir.listFiles()?.findAll { it.name.endsWith('.js') }?.sort { it.name }?.each { File js ->
+    byte[] content = js.bytes
+    String hash = MessageDigest.getInstance('SHA-256').digest(content).encodeHex().toString().substring(0, 12)
+    String baseName = js.name.substring(0, js.name.length() - 3)
+    String name = baseName + '.' + hash + '.js'
+    new File(assetsDir, name).bytes = content
+    // 增量构建时页面可能已被上次构建改写过，旧的哈希地址一并替换
+    String pattern = '"(js/' + Pattern.quote(js.name) + '|assets/' + Pattern.quote(baseName) + '\\.[0-9a-f]{12}\\.js)"'
+    hashed[pattern] = '"assets/' + name + '"'
+}
+
+List<File> pages = staticDir.listFiles().findAll { it.name.endsWith('.html') }
+pages.each { File page ->
+    String html = page.getText('UTF-8')
+    String rewritten = html
+    hashed.each { pattern, target ->
+        rewritten = rewritten.replaceAll(pattern, target)
+    }
+    if (rewritten != html) {
+        page.setText(rewritten, 'UTF-8')
+    }
+}
+
+Brotli4jLoader.ensureAvailability()
+Encoder.Parameters brotliParameters = new Encoder.Parameters().setQuality(11)
+int count = 0
+(pages + (assetsDir.listFiles() as List)).each { File file ->
+    byte[] content = file.bytes
+    if (content.length < MIN_SIZE) {
+        return
+    }
+    ByteArrayOutputStream gzipped = new ByteArrayOutputStream()
+    GZIPOutputStream gzip = new BestGzipOutputStream(gzipped)
+    gzip.write(content)
+    gzip.close()
+    new File(file.path + '.gz').bytes = gzipped.toByteArray()
+    new File(file.path + '.br').bytes = Encoder.compress(content, brotliParameters)
+    count++
+}
+log.info("静态资源：${hashed.size()} 个脚本生成哈希文件名，${count} 个文件生成 .gz/.br 预压缩版本")
@@ -0,0 +1,27 @@
+package com.order.coalescing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 合并并发的相同读取：同一方法、相同参数的并发调用只执行一次，其余调用共享结果
+ * 只在事务外生效：已处于事务中的调用直接执行，实体不会跨事务共享；返回值会被多个调用方共享，调用方不得修改
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesced {
+
+    /**
+     * 指标中的名称，默认为 类名.方法名
+     */
+    String value() default "";
+
+    /**
+     * 已有加载进行中时，是否直接返回上次加载的结果（不超过 order.coalescing.stale-ms），不等待本次加载
+     */
+    boolean allowStale() default false;
+}
@@ -0,0 +1,67 @@
+package com.order.coalescing;
+
+import com.order.datasource.ReadConsistencyContext;
+import com.order.datasource.ReplicaRouter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 按 @Coalesced 合并并发的相同读取
+ * 优先级高于事务切面：等待方不开启事务、不占用连接，只有执行加载的调用进入事务
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CoalescingAspect {
+
+    private final RequestCoalescer coalescer;
+    private final ObjectProvider<ReplicaRouter> replicaRouter;
+
+    public CoalescingAspect(RequestCoalescer coalescer, ObjectProvider<ReplicaRouter> replicaRouter) {
+        this.coalescer = coalescer;
+        this.replicaRouter = replicaRouter;
+    }
+
+    @Around("@annotation(com.order.coalescing.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Coalesced coalesced = AnnotatedElementUtils.findMergedAnnotation(method, Coalesced.class);
+        String name = coalesced.value().isEmpty()
+                ? method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                : coalesced.value();
+        if (TransactionSynchronizationManager.isActualTransactionActive() || mustReadOwnWrites()) {
+            return coalescer.bypass(name, joinPoint::proceed);
+        }
+
+        List<Object> key = new ArrayList<>();
+        key.add(method);
+        key.addAll(Arrays.asList(joinPoint.getArgs()));
+        return coalescer.execute(name, key, coalesced.allowStale(), joinPoint::proceed);
+    }
+
+    /**
+     * 本请求已写入或用户处于读己之写粘滞期时，读取须走主库，不能共享其他请求（可能来自从库）的结果
+     */
+    private boolean mustReadOwnWrites() {
+        ReadConsistencyContext context = ReadConsistencyContext.current();
+        if (context == null) {
+            return false;
+        }
+        if (context.isWritten()) {
+            return true;
+        }
+        ReplicaRouter router = replicaRouter.getIfAvailable();
+        return router != null && router.isSticky(context.getUserId());
+    }
+}
@@ -0,0 +1,94 @@
+package com.order.coalescing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 请求合并（single-flight）
+ * 同一个键同时只有一个加载在执行，期间到达的调用等待并共享其结果或异常；
+ * 允许过期结果时，等待方直接拿到上次加载的结果（stale-while-revalidate），由进行中的加载负责刷新
+ * 每次调用按结果计数 order.coalescing.loads：executed 实际执行，shared 共享进行中的加载，
+ * stale 返回上次结果，bypassed 事务内或需读己之写而直接执行；shared + stale 即被合并掉的加载次数
+ */
+public class RequestCoalescer {
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<Object, Object> recent;
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(MeterRegistry meterRegistry, long staleMillis, int staleMaxEntries) {
+        this.meterRegistry = meterRegistry;
+        this.recent = staleMillis > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(staleMaxEntries)
+                        .expireAfterWrite(Duration.ofMillis(staleMillis))
+                        .build()
+                : null;
+    }
+
+    /**
+     * 执行或加入键对应的加载
+     * @param name 指标名称
+     * @param key 加载的键，须实现equals/hashCode
+     * @param allowStale 加载进行中时是否返回上次结果
+     */
+    public Object execute(String name, Object key, boolean allowStale, Loader loader) throws Throwable {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            if (allowStale && recent != null) {
+                Object stale = recent.getIfPresent(key);
+                if (stale != null) {
+                    count(name, "stale");
+                    return stale;
+                }
+            }
+            count(name, "shared");
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+
+        try {
+            Object result = loader.load();
+            flight.complete(result);
+            if (allowStale && recent != null && result != null) {
+                recent.put(key, result);
+            }
+            count(name, "executed");
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * 不合并，直接执行
+     */
+    public Object bypass(String name, Loader loader) throws Throwable {
+        count(name, "bypassed");
+        return loader.load();
+    }
+
+    private void count(String name, String result) {
+        meterRegistry.counter("order.coalescing.loads", "name", name, "result", result).increment();
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+
+        Object load() throws Throwable;
+    }
+}
@@ -0,0 +1,100 @@
+package com.order.common;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 金额（人民币，精确到分），内部以分为单位的long表示，加减乘为整数运算，溢出时抛出 ArithmeticException
+ * 数据库中仍为 DECIMAL(10,2)（见 MoneyConverter），JSON中仍为数值（如 12.50）
+ * 标记为 @Immutable，Hibernate脏检查直接比较引用和equals，不做深拷贝
+ */
+@Immutable
+public final class Money implements Comparable<Money>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Money ZERO = new Money(0);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * 由元转换，超过两位小数的部分四舍五入（与写入 DECIMAL(10,2) 列时一致）
+     */
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        return ofCents(amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money times(int quantity) {
+        return ofCents(Math.multiplyExact(cents, (long) quantity));
+    }
+
+    /**
+     * 乘以非整数系数（如配送距离），结果四舍五入到分
+     */
+    public Money times(double factor) {
+        double result = cents * factor;
+        if (Double.isNaN(result) || Math.abs(result) >= Long.MAX_VALUE) {
+            throw new ArithmeticException("金额溢出：" + this + " × " + factor);
+        }
+        return ofCents(Math.round(result));
+    }
+
+    public boolean isZero() {
+        return cents == 0;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money && cents == ((Money) o).cents);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,45 @@
+package com.order.common;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 接口返回 Result 且请求带 fields 参数时，按 {@link SparseFieldsFilter} 只输出选中的字段
+ * 如 /product/list?fields=id,name,price 不再返回列表页用不到的 description 等字段；JSON与CBOR编码均生效
+ */
+@ControllerAdvice
+public class SparseFieldsAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String FIELDS_PARAMETER = "fields";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof Result) || !(request instanceof ServletServerHttpRequest)) {
+            return body;
+        }
+        FilterProvider filters = SparseFieldsFilter.provider(
+                ((ServletServerHttpRequest) request).getServletRequest().getParameter(FIELDS_PARAMETER));
+        if (filters == null) {
+            return body;
+        }
+        MappingJacksonValue container = new MappingJacksonValue(body);
+        container.setFilters(filters);
+        return container;
+    }
+}
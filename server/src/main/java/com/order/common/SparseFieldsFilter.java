@@ -0,0 +1,109 @@
+package com.order.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 稀疏字段过滤：只输出 fields 参数选中的属性，如 fields=id,name,price 或 fields=orderNo,orderItems.productName
+ * 属性路径相对于 Result.data（列表时相对于每个元素），Result 自身的 code、message、data 始终输出；
+ * 选中某个属性时输出其全部子属性，选中子属性时其上级对象随之输出
+ * 所有对象都通过 ResponseEncodingConfig 中的混入关联到 {@link #FILTER_ID}，未指定 fields 时使用全部输出的默认过滤器
+ */
+public class SparseFieldsFilter extends SimpleBeanPropertyFilter {
+
+    public static final String FILTER_ID = "fields";
+
+    // 选中的属性路径
+    private final Set<String> selected = new HashSet<>();
+    // 选中路径的各级上级路径，如 orderItems.productName -> orderItems
+    private final Set<String> ancestors = new HashSet<>();
+
+    public SparseFieldsFilter(String fields) {
+        for (String field : fields.split(",")) {
+            String path = field.trim();
+            if (path.isEmpty()) {
+                continue;
+            }
+            selected.add(path);
+            for (int dot = path.indexOf('.'); dot > 0; dot = path.indexOf('.', dot + 1)) {
+                ancestors.add(path.substring(0, dot));
+            }
+        }
+    }
+
+    /**
+     * 解析 fields 参数，为空时返回null表示不过滤
+     */
+    public static SimpleFilterProvider provider(String fields) {
+        if (fields == null || fields.trim().isEmpty()) {
+            return null;
+        }
+        return new SimpleFilterProvider().addFilter(FILTER_ID, new SparseFieldsFilter(fields));
+    }
+
+    /**
+     * 默认过滤器：输出全部属性
+     */
+    public static SimpleFilterProvider serializeAllProvider() {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    public Set<String> getSelected() {
+        return Collections.unmodifiableSet(selected);
+    }
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider,
+                                 PropertyWriter writer) throws Exception {
+        if (pojo instanceof Result || includes(path(gen.getOutputContext(), writer.getName()))) {
+            writer.serializeAsField(pojo, gen, provider);
+        } else if (!gen.canOmitFields()) {
+            writer.serializeAsOmittedField(pojo, gen, provider);
+        }
+    }
+
+    private boolean includes(String path) {
+        if (selected.contains(path) || ancestors.contains(path)) {
+            return true;
+        }
+        // 位于某个选中属性之下
+        for (int dot = path.lastIndexOf('.'); dot > 0; dot = path.lastIndexOf('.', dot - 1)) {
+            if (selected.contains(path.substring(0, dot))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 由输出上下文还原属性路径：上级对象上下文的当前字段名即通往当前对象的属性名，数组层不计入；
+     * 最外层为 Result 的 data 字段，不计入路径
+     */
+    private static String path(JsonStreamContext context, String name) {
+        Deque<String> segments = new ArrayDeque<>();
+        for (JsonStreamContext parent = context.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent.inObject() && parent.getCurrentName() != null) {
+                segments.addFirst(parent.getCurrentName());
+            }
+        }
+        segments.pollFirst();
+        if (segments.isEmpty()) {
+            return name;
+        }
+        StringBuilder path = new StringBuilder();
+        for (String segment : segments) {
+            path.append(segment).append('.');
+        }
+        return path.append(name).toString();
+    }
+}
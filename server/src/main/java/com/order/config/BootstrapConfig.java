@@ -0,0 +1,62 @@
+package com.order.config;
+
+import com.order.datasource.ReadConsistencyContext;
+import com.order.sharding.ShardContext;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 首页聚合接口的并行查询线程池
+ * 线程数和队列长度有限，队列满时由请求线程自己执行（退化为串行），不会无限堆积任务；
+ * 任务沿用请求线程的日志上下文、读一致性上下文（读己之写）和分片上下文（用户数据所在分片）
+ */
+@Configuration
+public class BootstrapConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor bootstrapExecutor(@Value("${order.bootstrap.threads:16}") int threads,
+                                                    @Value("${order.bootstrap.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("bootstrap-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(task -> {
+            Map<String, String> logContext = MDC.getCopyOfContextMap();
+            ReadConsistencyContext readContext = ReadConsistencyContext.current();
+            Integer shard = ShardContext.current();
+            return () -> {
+                // 队列满时任务在请求线程上执行，结束后须恢复而不是清空原有上下文
+                Map<String, String> previousLogContext = MDC.getCopyOfContextMap();
+                ReadConsistencyContext previousReadContext = ReadConsistencyContext.current();
+                Integer previousShard = ShardContext.current();
+                setLogContext(logContext);
+                ReadConsistencyContext.set(readContext);
+                ShardContext.set(shard);
+                try {
+                    task.run();
+                } finally {
+                    setLogContext(previousLogContext);
+                    ReadConsistencyContext.set(previousReadContext);
+                    ShardContext.set(previousShard);
+                }
+            };
+        });
+        return executor;
+    }
+
+    private static void setLogContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.order.config;
+
+import com.order.coalescing.CoalescingAspect;
+import com.order.coalescing.RequestCoalescer;
+import com.order.datasource.ReplicaRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 请求合并配置（默认开启，order.coalescing.enabled=false 关闭）
+ * 缓存过期时大量相同的商品、分类、订单读取同时到达，只有一个请求访问数据库
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingConfig {
+
+    @Bean
+    public RequestCoalescer requestCoalescer(MeterRegistry meterRegistry,
+                                             @Value("${order.coalescing.stale-ms:1000}") long staleMillis,
+                                             @Value("${order.coalescing.stale-max-entries:1000}") int staleMaxEntries) {
+        return new RequestCoalescer(meterRegistry, staleMillis, staleMaxEntries);
+    }
+
+    @Bean
+    public CoalescingAspect coalescingAspect(RequestCoalescer requestCoalescer,
+                                             ObjectProvider<ReplicaRouter> replicaRouter) {
+        return new CoalescingAspect(requestCoalescer, replicaRouter);
+    }
+}
@@ -0,0 +1,43 @@
+package com.order.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.delivery.AmapGeocoder;
+import com.order.delivery.DeliveryZoneEndpoint;
+import com.order.delivery.DeliveryZoneLoader;
+import com.order.delivery.Geocoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * 配送费配置：配送区域规则（order.delivery.rules，默认 classpath:delivery-zones.json）预计算为网格，
+ * 规则文件修改后自动重新加载；配置 order.delivery.geocoder.amap-key 后保存收货地址时地理编码
+ */
+@Configuration
+public class DeliveryConfig {
+
+    @Bean
+    public DeliveryZoneLoader deliveryZoneLoader(
+            @Value("${order.delivery.rules:classpath:delivery-zones.json}") Resource rules,
+            ObjectMapper objectMapper) throws IOException {
+        return new DeliveryZoneLoader(rules, objectMapper);
+    }
+
+    @Bean
+    public DeliveryZoneEndpoint deliveryZoneEndpoint(DeliveryZoneLoader deliveryZoneLoader) {
+        return new DeliveryZoneEndpoint(deliveryZoneLoader);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "order.delivery.geocoder.amap-key")
+    public Geocoder amapGeocoder(@Value("${order.delivery.geocoder.amap-key}") String key,
+                                 @Value("${order.delivery.geocoder.timeout-ms:2000}") long timeoutMillis,
+                                 ObjectMapper objectMapper) {
+        return new AmapGeocoder(key, Duration.ofMillis(timeoutMillis), objectMapper);
+    }
+}
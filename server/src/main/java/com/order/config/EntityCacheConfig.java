@@ -0,0 +1,58 @@
+package com.order.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * 二级缓存管理器与指标
+ * 缓存管理器由Spring上下文创建并交给Hibernate，随上下文关闭；同一JVM内的多个上下文（如测试）各自持有缓存，
+ * 不会读到其他上下文缓存的同ID实体。各区域配置始终来自 application.conf
+ * 命中、未命中、写入次数由Hibernate统计提供（hibernate.second.level.cache.requests/puts，按 region 区分）；
+ * 容量淘汰和过期次数只有缓存实现知道，这里把各区域的JCache统计注册为 cache.* 指标（cache 标签为区域名）
+ */
+@Configuration
+public class EntityCacheConfig implements SmartInitializingSingleton {
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Autowired
+    private ObjectProvider<CacheManager> entityCacheManager;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // Caffeine按URI区分缓存管理器，URI不影响配置加载
+        URI uri = URI.create(provider.getDefaultURI() + "/" + UUID.randomUUID());
+        return provider.getCacheManager(uri, provider.getDefaultClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheManagerCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put("hibernate.javax.cache.cache_manager", entityCacheManager);
+    }
+
+    // 所有单例创建后注册，此时EntityManagerFactory已启动，Hibernate已创建全部缓存区域
+    @Override
+    public void afterSingletonsInstantiated() {
+        meterRegistry.ifAvailable(registry -> {
+            CacheManager cacheManager = entityCacheManager.getObject();
+            for (String name : cacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, cacheManager.getCache(name));
+            }
+        });
+    }
+}
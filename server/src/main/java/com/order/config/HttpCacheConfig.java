@@ -0,0 +1,61 @@
+package com.order.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP缓存与压缩
+ * 静态资源：构建时（src/build/static-assets.groovy）脚本按内容哈希复制到 /assets/ 并改写页面引用，页面和脚本生成 .gz/.br；
+ * /assets/ 下文件名随内容变化，缓存一年且标记 immutable；页面每次导航都向服务端确认（未修改时返回304）；
+ * 客户端支持时直接返回预压缩文件。先于Spring Boot默认配置注册 /**，默认的静态资源映射因此不再生效
+ * 接口响应：商品、分类和首屏数据的GET接口响应小且可缓存，ShallowEtagHeaderFilter 缓冲响应体，
+ * 生成ETag并设置Content-Length，内容未变时返回304；有了Content-Length，server.compression.min-response-size
+ * 才能生效，小于阈值的JSON不压缩。订单等其他接口每次结果不同或响应较大，不缓冲
+ */
+@Configuration
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class HttpCacheConfig implements WebMvcConfigurer {
+
+    // Spring 5.3 的 CacheControl 不支持 immutable 指令
+    private static final CacheControl IMMUTABLE = new CacheControl() {
+        @Override
+        public String getHeaderValue() {
+            return CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().getHeaderValue() + ", immutable";
+        }
+    };
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(IMMUTABLE)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        registry.addResourceHandler("/**")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        // Tomcat不压缩带强ETag的响应（压缩后字节不同），使用弱ETag
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/product/*", "/category/*", "/bootstrap/*");
+        return registration;
+    }
+}
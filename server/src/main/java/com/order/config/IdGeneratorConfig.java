@@ -0,0 +1,29 @@
+package com.order.config;
+
+import com.order.id.IdBlockAllocator;
+import com.order.id.PooledIdGenerator;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.sql.SQLException;
+
+/**
+ * 号段ID分配器
+ * 分配器由Spring上下文创建并通过Hibernate配置交给 PooledIdGenerator，随上下文关闭；
+ * 同一JVM内的多个上下文（如测试）各自持有分配器。分配器连接 spring.datasource 所指的库，分片部署时号段全局唯一
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean(destroyMethod = "close")
+    public IdBlockAllocator idBlockAllocator(DataSourceProperties properties) throws SQLException {
+        return new IdBlockAllocator(properties);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer idBlockAllocatorCustomizer(IdBlockAllocator idBlockAllocator) {
+        return properties -> properties.put(PooledIdGenerator.ALLOCATOR, idBlockAllocator);
+    }
+}
@@ -0,0 +1,57 @@
+package com.order.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.order.common.SparseFieldsFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 接口响应编码
+ * 1. 所有对象通过混入关联稀疏字段过滤器（fields 参数，见 SparseFieldsAdvice），默认输出全部字段
+ * 2. 移动端可按 Accept 请求二进制编码：application/x-jackson-smile（Smile，重复字段名只传一次，列表负载最小）
+ *    或 application/cbor（CBOR，标准格式，客户端库更多），负载对比见 benchmarks 中的 ResponseEncodingBenchmark；
+ *    Spring MVC检测到这两个模块时自带的转换器使用独立的ObjectMapper，替换为Spring Boot配置的版本；
+ *    二者位于JSON之后，未指定Accept或接受任意类型时仍返回JSON
+ */
+@Configuration
+public class ResponseEncodingConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @JsonFilter(SparseFieldsFilter.FILTER_ID)
+    private static class SparseFieldsMixin {
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+        return builder -> builder
+                .mixIn(Object.class, SparseFieldsMixin.class)
+                .filters(SparseFieldsFilter.serializeAllProvider());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // 与JSON使用同一套Spring Boot配置（日期格式、时区、上面的混入）
+        MappingJackson2SmileHttpMessageConverter smile = new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new SmileFactory()).build());
+        MappingJackson2CborHttpMessageConverter cbor = new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new CBORFactory()).build());
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(smile);
+        converters.add(cbor);
+    }
+}
@@ -0,0 +1,87 @@
+package com.order.config;
+
+import com.order.sharding.DefaultShardAspect;
+import com.order.sharding.OrderShardRouter;
+import com.order.sharding.ShardRoutingDataSource;
+import com.order.sharding.ShardRoutingInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 订单分片配置
+ * 开启 order.sharding.enabled 后，为 order.sharding.urls 中的每个库建立独立连接池，
+ * 按 ShardContext 路由；账号、密码、驱动沿用 spring.datasource 配置
+ * 各表所在分片：
+ * - 默认分片：users、categories、products、admin_users、id_sequences 等不按用户划分的表，
+ *   访问这些表的服务标注 @DefaultShard，库存和用户资料都只有一份
+ * - 用户ID哈希所在分片：orders、order_items、orders_archive、shopping_cart、user_address、wallet
+ * 分片库之间不能有外键，各分片建表时去掉指向 users、products 的外键
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.sharding.enabled", havingValue = "true")
+public class ShardingConfig implements WebMvcConfigurer {
+
+    @Value("${order.sharding.urls}")
+    private List<String> urls;
+
+    // 可选：启动时在每个分片上执行的建表脚本
+    @Value("${order.sharding.schema:}")
+    private String schemaScript;
+
+    @Autowired
+    private OrderShardRouter orderShardRouter;
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, ResourceLoader resourceLoader) {
+        Map<Object, Object> shards = new HashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource shard = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i).trim())
+                    .build();
+            shard.setPoolName("shard-" + i);
+            if (!schemaScript.isEmpty()) {
+                ResourceDatabasePopulator populator = new ResourceDatabasePopulator(resourceLoader.getResource(schemaScript));
+                DatabasePopulatorUtils.execute(populator, shard);
+            }
+            shards.put(i, shard);
+        }
+
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(shards);
+        routingDataSource.setDefaultTargetDataSource(shards.get(OrderShardRouter.DEFAULT_SHARD));
+        routingDataSource.afterPropertiesSet();
+
+        // 延迟到第一条SQL才真正取连接，保证事务开启时分片上下文已确定
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public DefaultShardAspect defaultShardAspect(PlatformTransactionManager transactionManager) {
+        return new DefaultShardAspect(transactionManager);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ShardRoutingInterceptor(orderShardRouter));
+    }
+}
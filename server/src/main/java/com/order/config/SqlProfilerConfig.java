@@ -0,0 +1,50 @@
+package com.order.config;
+
+import com.order.profiler.SqlProfileEndpoint;
+import com.order.profiler.SqlProfiler;
+import com.order.profiler.SqlProfilingDataSourcePostProcessor;
+import com.order.profiler.SqlProfilingInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * SQL分析配置（默认开启，order.sql-profiler.enabled=false 关闭）
+ * 数据源代理统计每个请求的语句数与耗时，记录慢SQL及其参数
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.sql-profiler.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlProfilerConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectProvider<SqlProfiler> sqlProfiler;
+
+    // 后置处理器须为静态方法，否则会提前实例化本配置类
+    @Bean
+    public static SqlProfilingDataSourcePostProcessor sqlProfilingDataSourcePostProcessor(
+            ObjectProvider<SqlProfiler> sqlProfiler) {
+        return new SqlProfilingDataSourcePostProcessor(sqlProfiler);
+    }
+
+    @Bean
+    public SqlProfiler sqlProfiler(@Value("${order.sql-profiler.slow-query-ms:200}") long slowQueryMillis,
+                                   @Value("${order.sql-profiler.request-query-threshold:30}") int requestQueryThreshold,
+                                   @Value("${order.sql-profiler.buffer-size:200}") int bufferSize) {
+        return new SqlProfiler(slowQueryMillis, requestQueryThreshold, bufferSize);
+    }
+
+    @Bean
+    public SqlProfileEndpoint sqlProfileEndpoint(SqlProfiler sqlProfiler) {
+        return new SqlProfileEndpoint(sqlProfiler);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlProfilingInterceptor(sqlProfiler.getObject()));
+    }
+}
@@ -0,0 +1,133 @@
+package com.order.config;
+
+import com.order.datasource.ReplicaLagMonitor;
+import com.order.datasource.ReplicaRouter;
+import com.order.datasource.ReplicaRoutingInterceptor;
+import com.order.datasource.Workload;
+import com.order.datasource.WorkloadPoolAspect;
+import com.order.datasource.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按负载类型分池（未开启分片时生效）
+ * 商品浏览、事务操作、报表查询各用一个HikariCP连接池，服务方法通过 @WorkloadPool 声明所用连接池；
+ * 连接池参数先取 spring.datasource.hikari.*，再由 order.pool.{catalog|transactional|reporting}.* 覆盖。
+ * 每个池导出 hikaricp.connections.active/idle/pending 与获取连接等待时间 hikaricp.connections.acquire，按 pool 标签区分
+ * 配置 order.replica.urls 后开启读写分离：每个从库一个连接池（参数由 order.pool.replica.* 覆盖），
+ * 只读事务路由到复制延迟正常的从库，账号、密码、驱动沿用 spring.datasource 配置
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class WorkloadPoolConfig implements WebMvcConfigurer {
+
+    @Value("${order.replica.urls:}")
+    private List<String> replicaUrls;
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final List<HikariDataSource> replicaPools = new ArrayList<>();
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 ObjectProvider<ReplicaRouter> replicaRouter) {
+        Binder binder = Binder.get(environment);
+        Map<Object, Object> targets = new HashMap<>();
+        for (Workload workload : Workload.values()) {
+            HikariDataSource pool = createPool(properties, binder, meterRegistry,
+                    properties.determineUrl(), workload.getPoolName(), workload.getPoolName());
+            targets.put(workload, pool);
+            pools.add(pool);
+        }
+        for (int i = 0; i < replicaUrls().size(); i++) {
+            String name = ReplicaRouter.replicaKey(i);
+            HikariDataSource pool = createPool(properties, binder, meterRegistry, replicaUrls().get(i), "replica", name);
+            targets.put(name, pool);
+            replicaPools.add(pool);
+        }
+
+        WorkloadRoutingDataSource routingDataSource = new WorkloadRoutingDataSource(replicaRouter.getIfAvailable());
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(targets.get(Workload.TRANSACTIONAL));
+        routingDataSource.afterPropertiesSet();
+
+        // 延迟到第一条SQL才真正取连接，保证事务开启时负载类型、读写属性已确定
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public WorkloadPoolAspect workloadPoolAspect() {
+        return new WorkloadPoolAspect();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "order.replica.urls")
+    public ReplicaRouter replicaRouter(@Value("${order.replica.max-lag-ms:2000}") long maxLagMillis,
+                                       @Value("${order.replica.sticky-ms:5000}") long stickyMillis) {
+        return new ReplicaRouter(replicaUrls().size(), maxLagMillis, stickyMillis);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "order.replica.urls")
+    public ReplicaLagMonitor replicaLagMonitor(DataSource dataSource, ReplicaRouter replicaRouter) {
+        // 心跳写入经主数据源（无事务，落到事务连接池），读取直接访问各从库连接池
+        return new ReplicaLagMonitor(dataSource, replicaPools, replicaRouter);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!replicaUrls().isEmpty()) {
+            registry.addInterceptor(new ReplicaRoutingInterceptor());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+        replicaPools.forEach(HikariDataSource::close);
+    }
+
+    private List<String> replicaUrls() {
+        return replicaUrls == null ? Collections.emptyList() : replicaUrls;
+    }
+
+    private static HikariDataSource createPool(DataSourceProperties properties, Binder binder,
+                                               ObjectProvider<MeterRegistry> meterRegistry,
+                                               String url, String configName, String poolName) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url.trim());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        config.setDriverClassName(properties.determineDriverClassName());
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(config));
+        binder.bind("order.pool." + configName, Bindable.ofInstance(config));
+        config.setPoolName(poolName);
+        meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        // 立即启动连接池，饱和度指标从启动起就可见
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,41 @@
+package com.order.controller;
+
+import com.order.common.Result;
+import com.order.exception.FailureMessage;
+import com.order.service.BootstrapService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 首页聚合接口：一次请求返回首页所需的全部数据
+ */
+@RestController
+@RequestMapping("/bootstrap")
+public class BootstrapController {
+
+    @Autowired
+    private BootstrapService bootstrapService;
+
+    /**
+     * 未登录用户：分类和商品
+     */
+    @GetMapping
+    @FailureMessage("获取首页数据失败")
+    public Result<Map<String, Object>> bootstrap() {
+        return Result.success(bootstrapService.bootstrap(null));
+    }
+
+    /**
+     * 登录用户：分类、商品、用户信息、购物车（商品ID -> 数量）、购物车商品总数和钱包余额
+     */
+    @GetMapping("/{userId}")
+    @FailureMessage("获取首页数据失败")
+    public Result<Map<String, Object>> bootstrap(@PathVariable Long userId) {
+        return Result.success(bootstrapService.bootstrap(userId));
+    }
+}
@@ -0,0 +1,297 @@
+package com.order.controller;
+
+import com.order.common.Result;
+import com.order.entity.Order;
+import com.order.enums.OrderStatus;
+import com.order.exception.BusinessException;
+import com.order.exception.ErrorCode;
+import com.order.exception.FailureMessage;
+import com.order.service.OrderArchiveService;
+import com.order.service.OrderExportService;
+import com.order.service.OrderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 订单Controller
+ */
+@RestController
+@RequestMapping("/order")
+public class OrderController {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    /**
+     * 获取所有订单列表
+     */
+    @GetMapping("/list")
+    @FailureMessage("获取订单列表失败")
+    public Result<List<Order>> list(){
+        List<Order> orders = orderService.findAllOrders();
+        return Result.success(orders);
+    }
+
+    /**
+     * 获取用户订单列表
+     */
+    @GetMapping("/user/{userId}")
+    @FailureMessage("获取订单列表失败")
+    public Result<List<Order>> getUserOrders(@PathVariable Long userId) {
+        List<Order> orders = orderService.findByUserId(userId);
+        return Result.success(orders);
+    }
+
+    /**
+     * 根据订单号获取订单详情
+     */
+    @GetMapping("/orderNo/{orderNo}")
+    @FailureMessage("获取订单详情失败")
+    public Result<Order> getOrderByOrderNo(@PathVariable String orderNo) {
+        Order order = orderService.findByOrderNo(orderNo);
+        if (order != null) {
+            return Result.success(order);
+        } else {
+            return Result.error("订单不存在");
+        }
+    }
+
+    /**
+     * 根据状态获取订单列表
+     */
+    @GetMapping("/status/{status}")
+    @FailureMessage("获取订单列表失败")
+    public Result<List<Order>> getOrdersByStatus(@PathVariable String status) {
+        List<Order> orders = orderService.findByStatus(status);
+        return Result.success(orders);
+    }
+
+    /**
+     * 获取所有订单列表
+     */
+    @GetMapping("/all")
+    @FailureMessage("获取订单列表失败")
+    public Result<List<Order>> getAllOrders() {
+        List<Order> orders = orderService.findAllOrders();
+        return Result.success(orders);
+    }
+
+    /**
+     * 财务导出订单（按日期区间和状态流式输出CSV或NDJSON）
+     */
+    @GetMapping("/export")
+    public void exportOrders(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                             @RequestParam(required = false) String status,
+                             @RequestParam(defaultValue = OrderExportService.FORMAT_CSV) String format,
+                             HttpServletResponse response) throws IOException {
+        if (!orderExportService.isSupportedFormat(format)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "不支持的导出格式：" + format);
+            return;
+        }
+        if (endDate.isBefore(startDate)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "结束日期不能早于开始日期");
+            return;
+        }
+        OrderStatus orderStatus = null;
+        if (status != null && !status.isEmpty()) {
+            try {
+                orderStatus = OrderStatus.fromCode(status);
+            } catch (IllegalArgumentException e) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, "未知的订单状态：" + status);
+                return;
+            }
+        }
+
+        String fileName = "orders-" + startDate.format(DateTimeFormatter.BASIC_ISO_DATE)
+                + "-" + endDate.format(DateTimeFormatter.BASIC_ISO_DATE) + "." + format;
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType(OrderExportService.FORMAT_CSV.equals(format) ? "text/csv" : "application/x-ndjson");
+        response.setHeader("Content-Disposition", "attachment; filename=" + fileName);
+
+        // 结束日期包含当天
+        orderExportService.exportOrders(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay(),
+                orderStatus, format, response.getOutputStream());
+    }
+
+    /**
+     * 创建订单（从购物车）
+     * 收货地址须先保存（POST /users/{userId}/addresses），配送费按该地址所在配送区域计算
+     */
+    @PostMapping("/create")
+    @FailureMessage("创建订单失败")
+    public Result<Order> createOrder(@RequestParam Long userId, 
+                                    @RequestParam(required = false) String remark,
+                                    @RequestParam Long addressId) {
+        Order order = orderService.createOrderFromCart(userId, remark, addressId);
+        return Result.success(order);
+    }
+
+    /**
+     * 支付订单
+     */
+    @PostMapping("/{orderId}/pay")
+    @FailureMessage("支付失败")
+    public Result<Order> payOrder(@PathVariable Long orderId) {
+        Order order = orderService.payOrder(orderId);
+        return Result.success("支付成功", order);
+    }
+
+    /**
+     * 取消订单
+     */
+    @PutMapping("/{orderId}/cancel")
+    @FailureMessage("取消订单失败")
+    public Result<String> cancelOrder(@PathVariable Long orderId) {
+        orderService.cancelOrder(orderId);
+        return Result.success("订单已取消");
+    }
+
+    /**
+     * 完成订单
+     */
+    @PutMapping("/{orderId}/complete")
+    @FailureMessage("完成订单失败")
+    public Result<String> completeOrder(@PathVariable Long orderId) {
+        orderService.completeOrder(orderId);
+        return Result.success("订单已完成");
+    }
+
+    /**
+     * 更新订单状态
+     */
+    @PutMapping("/{orderId}/status")
+    @FailureMessage("更新订单状态失败")
+    public Result<Order> updateOrderStatus(@PathVariable Long orderId, 
+                                          @RequestParam String status) {
+        Order order = orderService.updateOrderStatus(orderId, status);
+        return Result.success(order);
+    }
+
+    /**
+     * 获取订单详情
+     */
+    @GetMapping("/{orderId}")
+    @FailureMessage("获取订单详情失败")
+    public Result<Order> getOrderById(@PathVariable Long orderId) {
+        // 需要在OrderService中添加findById方法
+        Order order = orderService.findById(orderId);
+        if (order != null) {
+            return Result.success(order);
+        } else {
+            return Result.error("订单不存在");
+        }
+    }
+
+    /**
+     * 再来一单（根据原订单创建新订单）
+     */
+    @PostMapping("/reorder/{orderId}")
+    @FailureMessage("再来一单失败")
+    public Result<String> reorder(@PathVariable Long orderId, @RequestParam Long userId) {
+        Order originalOrder = orderService.findById(orderId);
+        if (originalOrder == null) {
+            return Result.error("原订单不存在");
+        }
+        
+        // 验证订单是否属于当前用户
+        if (!originalOrder.getUserId().equals(userId)) {
+            return Result.error("无权限操作此订单");
+        }
+        
+        // 将原订单商品重新加入购物车
+        int addedCount = orderService.addOrderItemsToCart(originalOrder, userId);
+        
+        return Result.success("成功将 " + addedCount + " 件商品加入购物车");
+    }
+
+    // ========== 新增的订单管理API ==========
+
+    /**
+     * 用户取消订单（带用户验证）
+     */
+    @PutMapping("/{orderId}/cancel/user")
+    @FailureMessage("取消订单失败")
+    public Result<Order> cancelOrderByUser(@PathVariable Long orderId, @RequestParam Long userId) {
+        Order order = orderService.cancelOrderByUser(orderId, userId);
+        return Result.success("订单已取消，退款已处理", order);
+    }
+
+    /**
+     * 商家确认订单
+     */
+    @PutMapping("/{orderId}/confirm")
+    @FailureMessage("确认订单失败")
+    public Result<Order> confirmOrder(@PathVariable Long orderId) {
+        Order order = orderService.confirmOrder(orderId);
+        return Result.success("订单已确认", order);
+    }
+
+    /**
+     * 商家拒绝订单
+     */
+    @PutMapping("/{orderId}/reject")
+    @FailureMessage("拒绝订单失败")
+    public Result<Order> rejectOrder(@PathVariable Long orderId, @RequestParam(required = false) String reason) {
+        Order order = orderService.rejectOrder(orderId, reason);
+        return Result.success("订单已拒绝，退款已处理", order);
+    }
+
+    /**
+     * 开始配送
+     */
+    @PutMapping("/{orderId}/start-delivery")
+    @FailureMessage("开始配送失败")
+    public Result<Order> startDelivery(@PathVariable Long orderId) {
+        Order order = orderService.startDelivery(orderId);
+        return Result.success("订单开始配送", order);
+    }
+
+    /**
+     * 订单送达
+     */
+    @PutMapping("/{orderId}/deliver")
+    @FailureMessage("送达订单失败")
+    public Result<Order> deliverOrder(@PathVariable Long orderId) {
+        Order order = orderService.deliverOrder(orderId);
+        return Result.success("订单已送达", order);
+    }
+
+    /**
+     * 获取商家待处理订单列表
+     */
+    @GetMapping("/merchant/pending")
+    @FailureMessage("获取待处理订单失败")
+    public Result<List<Order>> getPendingOrdersForMerchant() {
+        List<Order> orders = orderService.getPendingOrdersForMerchant();
+        return Result.success(orders);
+    }
+
+    /**
+     * 手动触发订单归档
+     */
+    @PostMapping("/merchant/archive")
+    @FailureMessage("订单归档失败")
+    public Result<Integer> archiveOrders() {
+        // 与定时任务一致，未开启归档时不迁移订单
+        if (!orderArchiveService.isEnabled()) {
+            throw new BusinessException(ErrorCode.FORBIDDEN, "订单归档未开启");
+        }
+        int archived = orderArchiveService.archiveTerminalOrders();
+        return Result.success("归档完成", archived);
+    }
+
+}
\ No newline at end of file
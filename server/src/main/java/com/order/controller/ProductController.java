@@ -12,6 +12,8 @@ import java.util.List;
 @RequestMapping("/product")
 public class ProductController {
     
+    private static final int MAX_BATCH_SIZE = 100;
+    
     @Autowired
     private ProductService productService;
     
@@ -27,6 +29,18 @@ public class ProductController {
         return Result.success(products);
     }
     
+    /**
+     * 批量获取商品，ids 以逗号分隔，按请求顺序返回
+     */
+    @GetMapping("/batch")
+    public Result<List<Product>> getProductsByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return Result.error("一次最多查询" + MAX_BATCH_SIZE + "个商品");
+        }
+        List<Product> products = productService.getProductsByIds(ids);
+        return Result.success(products);
+    }
+    
     @GetMapping("/{id}")
     public Result<Product> getProductById(@PathVariable Long id) {
         Product product = productService.getProductById(id);
@@ -2,6 +2,7 @@ package com.order.controller;
 
 import com.order.common.Result;
 import com.order.entity.User;
+import com.order.exception.FailureMessage;
 import com.order.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
@@ -25,12 +26,8 @@ public class UserController {
     public Result<User> register(@RequestParam String username, 
                                 @RequestParam String phone, 
                                 @RequestParam String password) {
-        try {
-            User user = userService.register(username, phone, password);
-            return Result.success(user);
-        } catch (RuntimeException e) {
-            return Result.error(e.getMessage());
-        }
+        User user = userService.register(username, phone, password);
+        return Result.success(user);
     }
 
     /**
@@ -39,12 +36,8 @@ public class UserController {
     @PostMapping("/login")
     public Result login(@RequestParam String username,
                              @RequestParam String password) {
-        try {
-            User user = userService.login(username, password);
-            return Result.success(user);
-        } catch (RuntimeException e) {
-            return Result.error(e.getMessage());
-        }
+        User user = userService.login(username, password);
+        return Result.success(user);
     }
 
     /**
@@ -95,103 +88,91 @@ public class UserController {
      * 更新用户信息
      */
     @PutMapping("/{id}")
+    @FailureMessage("更新失败")
     public Result<User> updateUser(@PathVariable Long id, @RequestBody User user) {
-        try {
-            Optional<User> existingUser = userService.findById(id);
-            if (!existingUser.isPresent()) {
-                return Result.error("用户不存在");
-            }
-
-            User updatedUser = existingUser.get();
-            updatedUser.setNickname(user.getNickname());
-            updatedUser.setAvatar(user.getAvatar());
-
-            User savedUser = userService.save(updatedUser);
-            return Result.success(savedUser);
-        } catch (Exception e) {
-            return Result.error("更新失败：" + e.getMessage());
+        Optional<User> existingUser = userService.findById(id);
+        if (!existingUser.isPresent()) {
+            return Result.error("用户不存在");
         }
+
+        User updatedUser = existingUser.get();
+        updatedUser.setNickname(user.getNickname());
+        updatedUser.setAvatar(user.getAvatar());
+
+        User savedUser = userService.save(updatedUser);
+        return Result.success(savedUser);
     }
 
     /**
      * 修改密码
      */
     @PutMapping("/{id}/password")
+    @FailureMessage("密码修改失败")
     public Result<String> updatePassword(@PathVariable Long id, 
                                        @RequestParam String oldPassword, 
                                        @RequestParam String newPassword) {
-        try {
-            Optional<User> userOptional = userService.findById(id);
-            if (!userOptional.isPresent()) {
-                return Result.error("用户不存在");
-            }
-
-            User user = userOptional.get();
-            if (!oldPassword.equals(user.getPassword())) {
-                return Result.error("原密码错误");
-            }
-
-            user.setPassword(newPassword); // 实际项目中应该加密
-            userService.save(user);
-
-            return Result.success("密码修改成功");
-        } catch (Exception e) {
-            return Result.error("密码修改失败：" + e.getMessage());
+        Optional<User> userOptional = userService.findById(id);
+        if (!userOptional.isPresent()) {
+            return Result.error("用户不存在");
         }
+
+        User user = userOptional.get();
+        if (!oldPassword.equals(user.getPassword())) {
+            return Result.error("原密码错误");
+        }
+
+        user.setPassword(newPassword); // 实际项目中应该加密
+        userService.save(user);
+
+        return Result.success("密码修改成功");
     }
 
     /**
      * 更新用户信息（表单参数）
      */
     @PostMapping("/update")
+    @FailureMessage("更新失败")
     public Result<User> updateUser(@RequestParam Long userId,
                                   @RequestParam(required = false) String nickname,
                                   @RequestParam(required = false) String avatar) {
-        try {
-            Optional<User> userOptional = userService.findById(userId);
-            if (!userOptional.isPresent()) {
-                return Result.error("用户不存在");
-            }
-
-            User user = userOptional.get();
-            if (nickname != null) {
-                user.setNickname(nickname);
-            }
-            if (avatar != null) {
-                user.setAvatar(avatar);
-            }
-
-            User savedUser = userService.save(user);
-            return Result.success(savedUser);
-        } catch (Exception e) {
-            return Result.error("更新失败：" + e.getMessage());
+        Optional<User> userOptional = userService.findById(userId);
+        if (!userOptional.isPresent()) {
+            return Result.error("用户不存在");
+        }
+
+        User user = userOptional.get();
+        if (nickname != null) {
+            user.setNickname(nickname);
+        }
+        if (avatar != null) {
+            user.setAvatar(avatar);
         }
+
+        User savedUser = userService.save(user);
+        return Result.success(savedUser);
     }
 
     /**
      * 修改密码（表单参数）
      */
     @PostMapping("/change-password")
+    @FailureMessage("密码修改失败")
     public Result<String> changePassword(@RequestParam Long userId,
                                         @RequestParam String currentPassword,
                                         @RequestParam String newPassword) {
-        try {
-            Optional<User> userOptional = userService.findById(userId);
-            if (!userOptional.isPresent()) {
-                return Result.error("用户不存在");
-            }
-
-            User user = userOptional.get();
-            if (!currentPassword.equals(user.getPassword())) {
-                return Result.error("当前密码错误");
-            }
-
-            user.setPassword(newPassword); // 实际项目中应该加密
-            userService.save(user);
-
-            return Result.success("密码修改成功");
-        } catch (Exception e) {
-            return Result.error("密码修改失败：" + e.getMessage());
+        Optional<User> userOptional = userService.findById(userId);
+        if (!userOptional.isPresent()) {
+            return Result.error("用户不存在");
+        }
+
+        User user = userOptional.get();
+        if (!currentPassword.equals(user.getPassword())) {
+            return Result.error("当前密码错误");
         }
+
+        user.setPassword(newPassword); // 实际项目中应该加密
+        userService.save(user);
+
+        return Result.success("密码修改成功");
     }
 }
\ No newline at end of file
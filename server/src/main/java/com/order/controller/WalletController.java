@@ -1,7 +1,10 @@
 package com.order.controller;
 
 import com.order.entity.Wallet;
+import com.order.exception.FailureMessage;
 import com.order.service.WalletService;
+import com.order.sharding.OrderShardRouter;
+import com.order.sharding.ShardContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -9,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/wallet")
@@ -18,124 +22,104 @@ public class WalletController {
     @Autowired
     private WalletService walletService;
     
+    @Autowired
+    private OrderShardRouter orderShardRouter;
+    
     /**
      * 获取用户钱包信息
      */
     @GetMapping("/user/{userId}")
+    @FailureMessage("获取钱包信息失败")
     public ResponseEntity<?> getUserWallet(@PathVariable Long userId) {
-        try {
-            Wallet wallet = walletService.getWalletInfo(userId);
-            return ResponseEntity.ok(wallet);
-        } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "获取钱包信息失败: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
-        }
+        Wallet wallet = walletService.getWalletInfo(userId);
+        return ResponseEntity.ok(wallet);
     }
     
     /**
      * 获取用户余额
      */
     @GetMapping("/balance/{userId}")
+    @FailureMessage("获取余额失败")
     public ResponseEntity<?> getBalance(@PathVariable Long userId) {
-        try {
-            BigDecimal balance = walletService.getBalance(userId);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("balance", balance);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "获取余额失败: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
-        }
+        BigDecimal balance = walletService.getBalance(userId);
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("balance", balance);
+        return ResponseEntity.ok(response);
     }
     
     /**
      * 钱包充值
      */
     @PostMapping("/recharge")
+    @FailureMessage("充值失败")
     public ResponseEntity<?> recharge(@RequestBody Map<String, Object> request) {
-        try {
-            Long userId = Long.valueOf(request.get("userId").toString());
+        Long userId = Long.valueOf(request.get("userId").toString());
+        return onUserShard(userId, () -> {
             BigDecimal amount = new BigDecimal(request.get("amount").toString());
-            
+        
             Wallet wallet = walletService.recharge(userId, amount);
-            
+        
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "充值成功");
             response.put("wallet", wallet);
             return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "充值失败: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
-        }
+        });
     }
     
     /**
      * 快捷充值（预设金额）
      */
     @PostMapping("/quick-recharge")
+    @FailureMessage("充值失败")
     public ResponseEntity<?> quickRecharge(@RequestBody Map<String, Object> request) {
-        try {
-            Long userId = Long.valueOf(request.get("userId").toString());
+        Long userId = Long.valueOf(request.get("userId").toString());
+        return onUserShard(userId, () -> {
             String amount = request.get("amount").toString();
-            
+        
             Wallet wallet = walletService.quickRecharge(userId, amount);
-            
+        
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "充值成功");
             response.put("wallet", wallet);
             return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "充值失败: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
-        }
+        });
     }
     
     /**
      * 检查余额是否充足
      */
     @PostMapping("/check-balance")
+    @FailureMessage("检查余额失败")
     public ResponseEntity<?> checkBalance(@RequestBody Map<String, Object> request) {
-        try {
-            Long userId = Long.valueOf(request.get("userId").toString());
+        Long userId = Long.valueOf(request.get("userId").toString());
+        return onUserShard(userId, () -> {
             BigDecimal amount = new BigDecimal(request.get("amount").toString());
-            
+        
             boolean hasEnough = walletService.hasEnoughBalance(userId, amount);
-            
+        
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("hasEnoughBalance", hasEnough);
             response.put("currentBalance", walletService.getBalance(userId));
             return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "检查余额失败: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
-        }
+        });
     }
     
     /**
      * 钱包消费
      */
     @PostMapping("/consume")
+    @FailureMessage("消费失败")
     public ResponseEntity<?> consume(@RequestBody Map<String, Object> request) {
-        try {
-            Long userId = Long.valueOf(request.get("userId").toString());
+        Long userId = Long.valueOf(request.get("userId").toString());
+        return onUserShard(userId, () -> {
             BigDecimal amount = new BigDecimal(request.get("amount").toString());
-            
+        
             boolean success = walletService.consume(userId, amount);
-            
+        
             Map<String, Object> response = new HashMap<>();
             response.put("success", success);
             if (success) {
@@ -145,61 +129,56 @@ public class WalletController {
                 response.put("message", "余额不足");
             }
             return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "消费失败: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
-        }
+        });
     }
     
     /**
      * 冻结余额
      */
     @PostMapping("/freeze")
+    @FailureMessage("冻结失败")
     public ResponseEntity<?> freezeBalance(@RequestBody Map<String, Object> request) {
-        try {
-            Long userId = Long.valueOf(request.get("userId").toString());
+        Long userId = Long.valueOf(request.get("userId").toString());
+        return onUserShard(userId, () -> {
             BigDecimal amount = new BigDecimal(request.get("amount").toString());
-            
+        
             walletService.freezeBalance(userId, amount);
             Wallet wallet = walletService.getWalletInfo(userId);
-            
+        
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "冻结成功");
             response.put("wallet", wallet);
             return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "冻结失败: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
-        }
+        });
     }
     
     /**
      * 解冻余额
      */
     @PostMapping("/unfreeze")
+    @FailureMessage("解冻失败")
     public ResponseEntity<?> unfreezeBalance(@RequestBody Map<String, Object> request) {
-        try {
-            Long userId = Long.valueOf(request.get("userId").toString());
+        Long userId = Long.valueOf(request.get("userId").toString());
+        return onUserShard(userId, () -> {
             BigDecimal amount = new BigDecimal(request.get("amount").toString());
-            
+        
             walletService.unfreezeBalance(userId, amount);
             Wallet wallet = walletService.getWalletInfo(userId);
-            
+        
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "解冻成功");
             response.put("wallet", wallet);
             return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "解冻失败: " + e.getMessage());
-            return ResponseEntity.badRequest().body(response);
-        }
+        });
+    }
+    
+    /**
+     * 在用户所在分片上执行
+     * userId 位于请求体中，ShardRoutingInterceptor 无法据此路由，需在读写钱包前切换分片
+     */
+    private <T> T onUserShard(Long userId, Supplier<T> action) {
+        return ShardContext.callOn(orderShardRouter.shardForUser(userId), action);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package com.order.datasource;
+
+/**
+ * 当前线程的读一致性上下文：发起请求的用户，以及本请求是否已提交过写事务
+ * 由 ReplicaRoutingInterceptor 在请求开始时设置，用于"读己之写"判断
+ */
+public final class ReadConsistencyContext {
+
+    private static final ThreadLocal<ReadConsistencyContext> CURRENT = new ThreadLocal<>();
+
+    private final Long userId;
+    private boolean written;
+
+    private ReadConsistencyContext(Long userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * 当前上下文，非请求线程返回null
+     */
+    public static ReadConsistencyContext current() {
+        return CURRENT.get();
+    }
+
+    public static void begin(Long userId) {
+        CURRENT.set(new ReadConsistencyContext(userId));
+    }
+
+    /**
+     * 在并行执行的工作线程中沿用请求线程的上下文，传入null时清除
+     */
+    public static void set(ReadConsistencyContext context) {
+        if (context == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(context);
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public boolean isWritten() {
+        return written;
+    }
+
+    void markWritten() {
+        this.written = true;
+    }
+}
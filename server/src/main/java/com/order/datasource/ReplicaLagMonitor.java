@@ -0,0 +1,62 @@
+package com.order.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 复制延迟监测
+ * 定期在主库 replication_heartbeat 表写入当前时间，再从各从库读回，两者之差即该从库的复制延迟
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS replication_heartbeat ("
+            + "id INT NOT NULL PRIMARY KEY, beat_time BIGINT NOT NULL)";
+
+    private final JdbcTemplate primary;
+    private final List<JdbcTemplate> replicas = new ArrayList<>();
+    private final ReplicaRouter router;
+
+    public ReplicaLagMonitor(DataSource primary, List<? extends DataSource> replicas, ReplicaRouter router) {
+        this.primary = new JdbcTemplate(primary);
+        for (DataSource replica : replicas) {
+            this.replicas.add(new JdbcTemplate(replica));
+        }
+        this.router = router;
+        this.primary.execute(CREATE_TABLE);
+    }
+
+    @Scheduled(fixedDelayString = "${order.replica.heartbeat-ms:1000}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update("UPDATE replication_heartbeat SET beat_time = ? WHERE id = 1", now) == 0) {
+                primary.update("INSERT INTO replication_heartbeat (id, beat_time) VALUES (1, ?)", now);
+            }
+        } catch (DataAccessException e) {
+            log.warn("写入复制心跳失败: {}", e.getMessage());
+        }
+
+        for (int i = 0; i < replicas.size(); i++) {
+            long lag;
+            try {
+                List<Long> beats = replicas.get(i).queryForList(
+                        "SELECT beat_time FROM replication_heartbeat WHERE id = 1", Long.class);
+                lag = beats.isEmpty() ? Long.MAX_VALUE : Math.max(0, System.currentTimeMillis() - beats.get(0));
+            } catch (DataAccessException e) {
+                log.warn("读取从库 {} 复制心跳失败: {}", ReplicaRouter.replicaKey(i), e.getMessage());
+                lag = Long.MAX_VALUE;
+            }
+            router.updateLag(i, lag);
+        }
+        router.purgeExpired();
+    }
+}
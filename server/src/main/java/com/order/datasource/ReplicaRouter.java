@@ -0,0 +1,111 @@
+package com.order.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 从库选择
+ * 只读事务轮询选择复制延迟不超过阈值的从库；以下情况返回null走主库：
+ * 所有从库延迟超限、本请求已提交过写事务、当前用户在粘滞期内写入过（读己之写）
+ * 粘滞期应大于允许的最大复制延迟，粘滞期结束后任一可用从库都已包含该用户的写入
+ */
+public class ReplicaRouter {
+
+    private static final String KEY_PREFIX = "replica-";
+
+    private final int replicaCount;
+    private final long maxLagMillis;
+    private final long stickyMillis;
+    // 各从库最近一次测得的复制延迟，未测量或测量失败时为 Long.MAX_VALUE
+    private final AtomicLongArray lagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    // 用户ID -> 粘滞到期时间
+    private final ConcurrentMap<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReplicaRouter(int replicaCount, long maxLagMillis, long stickyMillis) {
+        this.replicaCount = replicaCount;
+        this.maxLagMillis = maxLagMillis;
+        this.stickyMillis = stickyMillis;
+        this.lagMillis = new AtomicLongArray(replicaCount);
+        for (int i = 0; i < replicaCount; i++) {
+            lagMillis.set(i, Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * 从库在路由数据源中的键，同时作为连接池名
+     */
+    public static String replicaKey(int index) {
+        return KEY_PREFIX + index;
+    }
+
+    public int getReplicaCount() {
+        return replicaCount;
+    }
+
+    public long getLagMillis(int index) {
+        return lagMillis.get(index);
+    }
+
+    public void updateLag(int index, long lag) {
+        lagMillis.set(index, lag);
+    }
+
+    /**
+     * 为当前只读事务选择从库，需要走主库时返回null
+     */
+    public String select() {
+        ReadConsistencyContext context = ReadConsistencyContext.current();
+        if (context != null && (context.isWritten() || isSticky(context.getUserId()))) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicaCount);
+        for (int i = 0; i < replicaCount; i++) {
+            int index = (start + i) % replicaCount;
+            if (lagMillis.get(index) <= maxLagMillis) {
+                return replicaKey(index);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 当前读写事务提交后，将本请求和当前用户标记为已写入
+     */
+    public void registerWrite() {
+        ReadConsistencyContext context = ReadConsistencyContext.current();
+        if (context == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                context.markWritten();
+                if (context.getUserId() != null) {
+                    stickyUntil.put(context.getUserId(), System.currentTimeMillis() + stickyMillis);
+                }
+            }
+        });
+    }
+
+    public boolean isSticky(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(userId);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    /**
+     * 清理已过粘滞期的用户
+     */
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until <= now);
+    }
+}
@@ -0,0 +1,27 @@
+package com.order.datasource;
+
+/**
+ * 数据库负载类型，每类使用独立连接池，互不抢占连接
+ */
+public enum Workload {
+
+    /** 商品、分类等店面浏览，查询短、并发高 */
+    CATALOG("catalog"),
+
+    /** 下单、支付、钱包、购物车等事务操作，未声明负载类型时的默认连接池 */
+    TRANSACTIONAL("transactional"),
+
+    /** 商家订单列表、导出、归档等慢查询 */
+    REPORTING("reporting");
+
+    private final String poolName;
+
+    Workload(String poolName) {
+        this.poolName = poolName;
+    }
+
+    /** 连接池名，同时是配置前缀 order.pool.{poolName} 与指标标签 pool 的取值 */
+    public String getPoolName() {
+        return poolName;
+    }
+}
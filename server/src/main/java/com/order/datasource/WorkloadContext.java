@@ -0,0 +1,26 @@
+package com.order.datasource;
+
+/**
+ * 当前线程的负载类型上下文，由 WorkloadPoolAspect 在进入服务方法时设置
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {}
+
+    /**
+     * 当前负载类型，未设置时返回null
+     */
+    public static Workload current() {
+        return CURRENT.get();
+    }
+
+    public static void set(Workload workload) {
+        if (workload == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(workload);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.order.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明服务方法使用的连接池，可标注在类上作为该类所有方法的默认值
+ * 只在获取连接之前生效：已处于外层事务中时沿用外层连接
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface WorkloadPool {
+
+    Workload value();
+}
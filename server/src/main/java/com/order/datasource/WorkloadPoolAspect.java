@@ -0,0 +1,38 @@
+package com.order.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+
+/**
+ * 按 @WorkloadPool 设置负载类型上下文
+ * 优先级高于事务切面，保证事务获取连接时上下文已经确定
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WorkloadPoolAspect {
+
+    @Around("@within(com.order.datasource.WorkloadPool) || @annotation(com.order.datasource.WorkloadPool)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        WorkloadPool pool = AnnotatedElementUtils.findMergedAnnotation(signature.getMethod(), WorkloadPool.class);
+        if (pool == null) {
+            pool = AnnotatedElementUtils.findMergedAnnotation(joinPoint.getTarget().getClass(), WorkloadPool.class);
+        }
+        if (pool == null) {
+            return joinPoint.proceed();
+        }
+
+        Workload previous = WorkloadContext.current();
+        WorkloadContext.set(pool.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.set(previous);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.order.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 按负载类型路由的数据源，未声明负载类型时使用事务连接池
+ * 配置了从库时，只读事务优先路由到从库（见 ReplicaRouter）
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaRouter replicaRouter;
+
+    public WorkloadRoutingDataSource(ReplicaRouter replicaRouter) {
+        this.replicaRouter = replicaRouter;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaRouter != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                String replica = replicaRouter.select();
+                if (replica != null) {
+                    return replica;
+                }
+            } else {
+                replicaRouter.registerWrite();
+            }
+        }
+        return WorkloadContext.current();
+    }
+}
@@ -0,0 +1,62 @@
+package com.order.delivery;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * 高德地理编码（Web服务API），返回GCJ-02坐标，配送区域规则须使用同一坐标系
+ * 调用失败只记录日志并返回 null，地址照常保存，下单时按默认配送费计费
+ */
+public class AmapGeocoder implements Geocoder {
+
+    private static final Logger log = LoggerFactory.getLogger(AmapGeocoder.class);
+
+    private static final String ENDPOINT = "https://restapi.amap.com/v3/geocode/geo";
+
+    private final String key;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public AmapGeocoder(String key, Duration timeout, ObjectMapper objectMapper) {
+        this.key = key;
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public GeoPoint geocode(String address) {
+        URI uri = URI.create(ENDPOINT + "?key=" + key + "&address=" + URLEncoder.encode(address, StandardCharsets.UTF_8));
+        try {
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri).timeout(timeout).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            JsonNode body = objectMapper.readTree(response.body());
+            JsonNode geocodes = body.path("geocodes");
+            if (!"1".equals(body.path("status").asText()) || geocodes.size() == 0) {
+                log.warn("地理编码无结果: {} {}", body.path("info").asText(), address);
+                return null;
+            }
+            // location 格式为 "经度,纬度"
+            String[] location = geocodes.get(0).path("location").asText().split(",");
+            return new GeoPoint(Double.parseDouble(location[1]), Double.parseDouble(location[0]));
+        } catch (IOException | RuntimeException e) {
+            log.warn("地理编码失败: {}", e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.order.delivery;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 配送区域管理端点 /actuator/deliveryzones
+ * GET 查看当前生效的规则与各区域网格数，POST 立即重新加载规则文件（规则有误时返回错误，当前规则不变）
+ */
+@Endpoint(id = "deliveryzones")
+public class DeliveryZoneEndpoint {
+
+    private final DeliveryZoneLoader loader;
+
+    public DeliveryZoneEndpoint(DeliveryZoneLoader loader) {
+        this.loader = loader;
+    }
+
+    @ReadOperation
+    public Map<String, Object> zones() {
+        return loader.getGrid().describe();
+    }
+
+    @WriteOperation
+    public Map<String, Object> reload() throws IOException {
+        return loader.reload().describe();
+    }
+}
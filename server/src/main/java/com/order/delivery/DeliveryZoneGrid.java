@@ -0,0 +1,163 @@
+package com.order.delivery;
+
+import com.order.common.Money;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预计算的配送区域网格：按规则把门店周边划分为 cellMeters 见方的网格，加载时逐格计算所在区域，
+ * 查询时由坐标直接算出网格下标，一次数组读取得到区域，一次读取得到配送费，不做距离和多边形计算
+ * 网格创建后不再修改，规则变更时整体替换（见 DeliveryZoneLoader）
+ */
+public final class DeliveryZoneGrid {
+
+    public static final int NO_ZONE = -1;
+
+    private static final double METERS_PER_DEGREE = 111_320;
+    private static final int MAX_CELLS = 16 * 1024 * 1024;
+
+    private final DeliveryZoneRules rules;
+    private final String source;
+    private final long loadedAt;
+    private final double minLatitude;
+    private final double minLongitude;
+    private final double rowsPerDegree;
+    private final double columnsPerDegree;
+    private final int rows;
+    private final int columns;
+    /** 行优先，每格为区域编号 */
+    private final short[] cells;
+    /** 区域编号 -> 配送费（分） */
+    private final long[] zoneFeeCents;
+    private final int[] zoneCells;
+
+    private DeliveryZoneGrid(DeliveryZoneRules rules, String source) {
+        rules.validate();
+        this.rules = rules;
+        this.source = source;
+        this.loadedAt = System.currentTimeMillis();
+
+        // 网格范围：最远距离分档的外接正方形，并包含所有计费的多边形区域
+        GeoPoint origin = rules.getOrigin();
+        List<DeliveryZoneRules.Band> bands = rules.getBands();
+        double radiusMeters = bands.get(bands.size() - 1).getMaxKm() * 1000;
+        double metersPerLongitude = METERS_PER_DEGREE * Math.cos(Math.toRadians(origin.getLatitude()));
+        double south = origin.getLatitude() - radiusMeters / METERS_PER_DEGREE;
+        double north = origin.getLatitude() + radiusMeters / METERS_PER_DEGREE;
+        double west = origin.getLongitude() - radiusMeters / metersPerLongitude;
+        double east = origin.getLongitude() + radiusMeters / metersPerLongitude;
+        for (DeliveryZoneRules.Zone zone : rules.getZones()) {
+            if (zone.getFee() == null) {
+                continue;
+            }
+            for (double[] vertex : zone.getPolygon()) {
+                south = Math.min(south, vertex[0]);
+                north = Math.max(north, vertex[0]);
+                west = Math.min(west, vertex[1]);
+                east = Math.max(east, vertex[1]);
+            }
+        }
+
+        this.minLatitude = south;
+        this.minLongitude = west;
+        this.rowsPerDegree = METERS_PER_DEGREE / rules.getCellMeters();
+        this.columnsPerDegree = metersPerLongitude / rules.getCellMeters();
+        this.rows = (int) Math.ceil((north - south) * rowsPerDegree);
+        this.columns = (int) Math.ceil((east - west) * columnsPerDegree);
+        if ((long) rows * columns > MAX_CELLS) {
+            throw new IllegalArgumentException("配送区域网格过大（" + rows + "×" + columns + "），请增大 cellMeters");
+        }
+
+        this.cells = new short[rows * columns];
+        this.zoneCells = new int[rules.zoneCount()];
+        // 每格取中心点所在区域
+        for (int row = 0; row < rows; row++) {
+            double latitude = south + (row + 0.5) / rowsPerDegree;
+            for (int column = 0; column < columns; column++) {
+                int zone = rules.resolve(latitude, west + (column + 0.5) / columnsPerDegree);
+                cells[row * columns + column] = (short) zone;
+                if (zone != NO_ZONE) {
+                    zoneCells[zone]++;
+                }
+            }
+        }
+        this.zoneFeeCents = new long[rules.zoneCount()];
+        for (int zone = 0; zone < zoneFeeCents.length; zone++) {
+            // 不配送的区域不会出现在网格中
+            Money fee = rules.zoneFee(zone);
+            zoneFeeCents[zone] = fee == null ? -1 : fee.getCents();
+        }
+    }
+
+    public static DeliveryZoneGrid compile(DeliveryZoneRules rules, String source) {
+        return new DeliveryZoneGrid(rules, source);
+    }
+
+    /**
+     * 坐标所在区域编号，超出网格或不配送返回 NO_ZONE
+     */
+    public int zoneAt(double latitude, double longitude) {
+        double row = (latitude - minLatitude) * rowsPerDegree;
+        double column = (longitude - minLongitude) * columnsPerDegree;
+        // 取反的比较同时排除 NaN
+        if (!(row >= 0 && row < rows && column >= 0 && column < columns)) {
+            return NO_ZONE;
+        }
+        return cells[(int) row * columns + (int) column];
+    }
+
+    public long feeCents(int zone) {
+        return zoneFeeCents[zone];
+    }
+
+    public Money fee(int zone) {
+        return Money.ofCents(zoneFeeCents[zone]);
+    }
+
+    public String zoneName(int zone) {
+        return rules.zoneName(zone);
+    }
+
+    public Money getDefaultFee() {
+        return rules.getDefaultFee();
+    }
+
+    public Money getFreeDeliveryThreshold() {
+        return rules.getFreeDeliveryThreshold();
+    }
+
+    public DeliveryZoneRules getRules() {
+        return rules;
+    }
+
+    /**
+     * 网格概况，供管理端点查看当前生效的规则
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("source", source);
+        result.put("loadedAt", loadedAt);
+        result.put("origin", rules.getOrigin().toString());
+        result.put("cellMeters", rules.getCellMeters());
+        result.put("rows", rows);
+        result.put("columns", columns);
+        result.put("defaultFee", rules.getDefaultFee());
+        result.put("freeDeliveryThreshold", rules.getFreeDeliveryThreshold());
+        List<Map<String, Object>> zones = new ArrayList<>();
+        for (int zone = 0; zone < zoneFeeCents.length; zone++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("zone", zone);
+            item.put("name", zoneName(zone));
+            item.put("fee", rules.zoneFee(zone));
+            item.put("cells", zoneCells[zone]);
+            zones.add(item);
+        }
+        result.put("zones", zones);
+        result.put("unservedCells", cells.length - Arrays.stream(zoneCells).sum());
+        return result;
+    }
+}
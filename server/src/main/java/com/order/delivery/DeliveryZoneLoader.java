@@ -0,0 +1,77 @@
+package com.order.delivery;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 配送区域规则加载与热更新
+ * 启动时加载失败则启动失败；运行中定期检查规则文件修改时间，变化时重新预计算网格并整体替换，
+ * 新规则有误时记录日志并继续使用当前网格。计费只读取 volatile 引用，不加锁
+ */
+public class DeliveryZoneLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(DeliveryZoneLoader.class);
+
+    private final Resource resource;
+    private final ObjectMapper objectMapper;
+
+    private volatile DeliveryZoneGrid grid;
+    private long lastModified;
+
+    public DeliveryZoneLoader(Resource resource, ObjectMapper objectMapper) throws IOException {
+        this.resource = resource;
+        // 规则中拼错的字段直接报错，不静默忽略
+        this.objectMapper = objectMapper.copy().enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        reload();
+    }
+
+    public DeliveryZoneGrid getGrid() {
+        return grid;
+    }
+
+    public synchronized DeliveryZoneGrid reload() throws IOException {
+        long modified = lastModified();
+        DeliveryZoneRules rules;
+        try (InputStream in = resource.getInputStream()) {
+            rules = objectMapper.readValue(in, DeliveryZoneRules.class);
+        }
+        long start = System.nanoTime();
+        DeliveryZoneGrid compiled = DeliveryZoneGrid.compile(rules, resource.getDescription());
+        grid = compiled;
+        lastModified = modified;
+        log.info("配送区域规则已加载: {}，{} 个区域，预计算耗时 {}ms", resource.getDescription(), rules.zoneCount(),
+                (System.nanoTime() - start) / 1_000_000);
+        return compiled;
+    }
+
+    @Scheduled(fixedDelayString = "${order.delivery.reload-check-ms:10000}")
+    public synchronized void reloadIfModified() {
+        long modified = lastModified();
+        if (modified == lastModified) {
+            return;
+        }
+        try {
+            reload();
+        } catch (IOException | RuntimeException e) {
+            // 记录本次修改时间，同一份有误的文件不反复重试
+            lastModified = modified;
+            log.warn("配送区域规则重新加载失败，继续使用当前规则: {}", e.getMessage());
+        }
+    }
+
+    // jar内等无法获取修改时间的资源只在启动和通过管理端点时加载
+    private long lastModified() {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
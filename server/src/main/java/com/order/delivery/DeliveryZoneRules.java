@@ -0,0 +1,217 @@
+package com.order.delivery;
+
+import com.order.common.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 配送区域规则（JSON格式，见 delivery-zones.json）
+ * 按到门店的直线距离分档计费（bands，按 maxKm 升序），多边形区域（zones）优先于距离分档，
+ * 用于修正过江、绕行等直线距离不准确的区域；区域 fee 为空表示不配送
+ * 规则不在下单时直接计算，而是加载时预计算为 DeliveryZoneGrid
+ */
+public class DeliveryZoneRules {
+
+    /** 门店坐标 */
+    private GeoPoint origin;
+    /** 网格边长（米），区域边界的误差不超过半个网格对角线 */
+    private int cellMeters = 100;
+    /** 收货地址没有坐标时的配送费 */
+    private Money defaultFee;
+    /** 满免配送费门槛 */
+    private Money freeDeliveryThreshold;
+    private List<Band> bands = new ArrayList<>();
+    private List<Zone> zones = new ArrayList<>();
+
+    /**
+     * 直接计算坐标所在区域：先匹配多边形区域，再按距离分档
+     * 区域编号依次为各距离分档、各多边形区域，不配送返回 DeliveryZoneGrid.NO_ZONE
+     */
+    public int resolve(double latitude, double longitude) {
+        for (int i = 0; i < zones.size(); i++) {
+            Zone zone = zones.get(i);
+            if (zone.contains(latitude, longitude)) {
+                return zone.getFee() == null ? DeliveryZoneGrid.NO_ZONE : bands.size() + i;
+            }
+        }
+        double km = origin.distanceMeters(latitude, longitude) / 1000;
+        for (int i = 0; i < bands.size(); i++) {
+            if (km <= bands.get(i).getMaxKm()) {
+                return i;
+            }
+        }
+        return DeliveryZoneGrid.NO_ZONE;
+    }
+
+    public void validate() {
+        if (origin == null || defaultFee == null || freeDeliveryThreshold == null) {
+            throw new IllegalArgumentException("配送区域规则缺少 origin、defaultFee 或 freeDeliveryThreshold");
+        }
+        if (cellMeters <= 0) {
+            throw new IllegalArgumentException("cellMeters 必须大于0");
+        }
+        if (bands.isEmpty()) {
+            throw new IllegalArgumentException("配送区域规则至少需要一个距离分档");
+        }
+        double previous = 0;
+        for (Band band : bands) {
+            if (band.getFee() == null || band.getMaxKm() <= previous) {
+                throw new IllegalArgumentException("距离分档须有 fee，且 maxKm 按升序排列：" + band.getMaxKm());
+            }
+            previous = band.getMaxKm();
+        }
+        for (Zone zone : zones) {
+            if (zone.getPolygon() == null || zone.getPolygon().length < 3) {
+                throw new IllegalArgumentException("区域 " + zone.getName() + " 的多边形至少需要3个顶点");
+            }
+        }
+        if (bands.size() + zones.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("区域数量过多");
+        }
+    }
+
+    public String zoneName(int zone) {
+        return zone < bands.size() ? bands.get(zone).getName() : zones.get(zone - bands.size()).getName();
+    }
+
+    public Money zoneFee(int zone) {
+        return zone < bands.size() ? bands.get(zone).getFee() : zones.get(zone - bands.size()).getFee();
+    }
+
+    public int zoneCount() {
+        return bands.size() + zones.size();
+    }
+
+    public GeoPoint getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(GeoPoint origin) {
+        this.origin = origin;
+    }
+
+    public int getCellMeters() {
+        return cellMeters;
+    }
+
+    public void setCellMeters(int cellMeters) {
+        this.cellMeters = cellMeters;
+    }
+
+    public Money getDefaultFee() {
+        return defaultFee;
+    }
+
+    public void setDefaultFee(Money defaultFee) {
+        this.defaultFee = defaultFee;
+    }
+
+    public Money getFreeDeliveryThreshold() {
+        return freeDeliveryThreshold;
+    }
+
+    public void setFreeDeliveryThreshold(Money freeDeliveryThreshold) {
+        this.freeDeliveryThreshold = freeDeliveryThreshold;
+    }
+
+    public List<Band> getBands() {
+        return bands;
+    }
+
+    public void setBands(List<Band> bands) {
+        this.bands = bands;
+    }
+
+    public List<Zone> getZones() {
+        return zones;
+    }
+
+    public void setZones(List<Zone> zones) {
+        this.zones = zones;
+    }
+
+    /**
+     * 距离分档：到门店直线距离不超过 maxKm 公里
+     */
+    public static class Band {
+
+        private String name;
+        private double maxKm;
+        private Money fee;
+
+        public String getName() {
+            return name != null ? name : maxKm + "km";
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public double getMaxKm() {
+            return maxKm;
+        }
+
+        public void setMaxKm(double maxKm) {
+            this.maxKm = maxKm;
+        }
+
+        public Money getFee() {
+            return fee;
+        }
+
+        public void setFee(Money fee) {
+            this.fee = fee;
+        }
+    }
+
+    /**
+     * 多边形区域，顶点为 [纬度, 经度]
+     */
+    public static class Zone {
+
+        private String name;
+        private Money fee;
+        private double[][] polygon;
+
+        /**
+         * 射线法判断点是否在多边形内，城市范围内按平面坐标近似
+         */
+        public boolean contains(double latitude, double longitude) {
+            boolean inside = false;
+            for (int i = 0, j = polygon.length - 1; i < polygon.length; j = i++) {
+                double latI = polygon[i][0], lngI = polygon[i][1];
+                double latJ = polygon[j][0], lngJ = polygon[j][1];
+                if ((latI > latitude) != (latJ > latitude)
+                        && longitude < (lngJ - lngI) * (latitude - latI) / (latJ - latI) + lngI) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Money getFee() {
+            return fee;
+        }
+
+        public void setFee(Money fee) {
+            this.fee = fee;
+        }
+
+        public double[][] getPolygon() {
+            return polygon;
+        }
+
+        public void setPolygon(double[][] polygon) {
+            this.polygon = polygon;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.order.delivery;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 经纬度坐标（度），与配送区域规则、地理编码服务使用同一坐标系
+ */
+public final class GeoPoint {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+
+    private final double latitude;
+    private final double longitude;
+
+    @JsonCreator
+    public GeoPoint(@JsonProperty("latitude") double latitude, @JsonProperty("longitude") double longitude) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * 到指定坐标的球面直线距离（米）
+     */
+    public double distanceMeters(double latitude, double longitude) {
+        double lat1 = Math.toRadians(this.latitude);
+        double lat2 = Math.toRadians(latitude);
+        double sinLat = Math.sin((lat2 - lat1) / 2);
+        double sinLng = Math.sin(Math.toRadians(longitude - this.longitude) / 2);
+        double a = sinLat * sinLat + Math.cos(lat1) * Math.cos(lat2) * sinLng * sinLng;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    @Override
+    public String toString() {
+        return latitude + "," + longitude;
+    }
+}
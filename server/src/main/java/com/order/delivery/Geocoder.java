@@ -0,0 +1,14 @@
+package com.order.delivery;
+
+/**
+ * 地理编码：地址文本转坐标
+ * 保存收货地址时调用一次，坐标随地址保存，下单计算配送费时不再调用
+ */
+public interface Geocoder {
+
+    /**
+     * @param address 地址文本
+     * @return 坐标，无法解析或服务不可用时返回 null
+     */
+    GeoPoint geocode(String address);
+}
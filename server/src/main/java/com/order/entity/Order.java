@@ -2,13 +2,21 @@ package com.order.entity;
 
 import javax.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import java.math.BigDecimal;
+import com.order.common.Money;
+import com.order.entity.converter.MoneyConverter;
+import com.order.entity.converter.OrderStatusConverter;
+import com.order.entity.converter.PaymentStatusConverter;
+import com.order.enums.OrderStatus;
+import com.order.enums.PaymentStatus;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_status_time", columnList = "status_code, created_time")
+})
 public class Order {
     
+    // 订单ID保留自增：分片部署依赖各库 auto_increment_offset 由ID反推分片
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -19,22 +27,30 @@ public class Order {
     @Column(name = "user_id", nullable = false)
     private Long userId;
     
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "discount_amount", precision = 10, scale = 2)
-    private BigDecimal discountAmount = BigDecimal.ZERO;
+    private Money discountAmount = Money.ZERO;
     
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "actual_amount", nullable = false, precision = 10, scale = 2)
-    private BigDecimal actualAmount;
+    private Money actualAmount;
     
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "delivery_fee", precision = 10, scale = 2)
-    private BigDecimal deliveryFee = BigDecimal.ZERO;
+    private Money deliveryFee = Money.ZERO;
     
-    private String status = "pending";
+    // 状态以TINYINT存储，由旧的VARCHAR列 status/payment_status 迁移而来，见 db/migration/order-status-tinyint.sql
+    @Convert(converter = OrderStatusConverter.class)
+    @Column(name = "status_code", columnDefinition = "TINYINT")
+    private OrderStatus status = OrderStatus.PENDING;
     
-    @Column(name = "payment_status")
-    private String paymentStatus = "unpaid";
+    @Convert(converter = PaymentStatusConverter.class)
+    @Column(name = "payment_status_code", columnDefinition = "TINYINT")
+    private PaymentStatus paymentStatus = PaymentStatus.UNPAID;
     
     @Column(name = "delivery_address", nullable = false, columnDefinition = "TEXT")
     private String deliveryAddress;
@@ -65,7 +81,7 @@ public class Order {
     // 构造函数
     public Order() {}
     
-    public Order(String orderNo, Long userId, BigDecimal totalAmount, BigDecimal actualAmount) {
+    public Order(String orderNo, Long userId, Money totalAmount, Money actualAmount) {
         this.orderNo = orderNo;
         this.userId = userId;
         this.totalAmount = totalAmount;
@@ -97,51 +113,51 @@ public class Order {
         this.userId = userId;
     }
     
-    public BigDecimal getTotalAmount() {
+    public Money getTotalAmount() {
         return totalAmount;
     }
     
-    public void setTotalAmount(BigDecimal totalAmount) {
+    public void setTotalAmount(Money totalAmount) {
         this.totalAmount = totalAmount;
     }
     
-    public BigDecimal getDiscountAmount() {
+    public Money getDiscountAmount() {
         return discountAmount;
     }
     
-    public void setDiscountAmount(BigDecimal discountAmount) {
+    public void setDiscountAmount(Money discountAmount) {
         this.discountAmount = discountAmount;
     }
     
-    public BigDecimal getActualAmount() {
+    public Money getActualAmount() {
         return actualAmount;
     }
     
-    public void setActualAmount(BigDecimal actualAmount) {
+    public void setActualAmount(Money actualAmount) {
         this.actualAmount = actualAmount;
     }
     
-    public BigDecimal getDeliveryFee() {
+    public Money getDeliveryFee() {
         return deliveryFee;
     }
     
-    public void setDeliveryFee(BigDecimal deliveryFee) {
+    public void setDeliveryFee(Money deliveryFee) {
         this.deliveryFee = deliveryFee;
     }
     
-    public String getStatus() {
+    public OrderStatus getStatus() {
         return status;
     }
     
-    public void setStatus(String status) {
+    public void setStatus(OrderStatus status) {
         this.status = status;
     }
     
-    public String getPaymentStatus() {
+    public PaymentStatus getPaymentStatus() {
         return paymentStatus;
     }
     
-    public void setPaymentStatus(String paymentStatus) {
+    public void setPaymentStatus(PaymentStatus paymentStatus) {
         this.paymentStatus = paymentStatus;
     }
     
@@ -1,8 +1,10 @@
 package com.order.entity;
 
+import com.order.common.Money;
+import com.order.entity.converter.MoneyConverter;
+
 import javax.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import java.math.BigDecimal;
 
 /**
  * 订单项实体类
@@ -12,7 +14,7 @@ import java.math.BigDecimal;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "pooled_id")
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -26,14 +28,16 @@ public class OrderItem {
     @Column(name = "product_name", nullable = false, length = 100)
     private String productName;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "product_price", nullable = false, precision = 10, scale = 2)
-    private BigDecimal productPrice;
+    private Money productPrice;
 
     @Column(name = "quantity", nullable = false)
     private Integer quantity;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "subtotal", nullable = false, precision = 10, scale = 2)
-    private BigDecimal subtotal;
+    private Money subtotal;
 
     @Column(name = "product_image", length = 255)
     private String image;
@@ -42,7 +46,7 @@ public class OrderItem {
     public OrderItem() {}
 
     public OrderItem(Order order, Long productId, String productName, 
-                    BigDecimal productPrice, Integer quantity, BigDecimal subtotal) {
+                    Money productPrice, Integer quantity, Money subtotal) {
         this.order = order;
         this.productId = productId;
         this.productName = productName;
@@ -84,11 +88,11 @@ public class OrderItem {
         this.productName = productName;
     }
 
-    public BigDecimal getProductPrice() {
+    public Money getProductPrice() {
         return productPrice;
     }
 
-    public void setProductPrice(BigDecimal productPrice) {
+    public void setProductPrice(Money productPrice) {
         this.productPrice = productPrice;
     }
 
@@ -100,11 +104,11 @@ public class OrderItem {
         this.quantity = quantity;
     }
 
-    public BigDecimal getSubtotal() {
+    public Money getSubtotal() {
         return subtotal;
     }
 
-    public void setSubtotal(BigDecimal subtotal) {
+    public void setSubtotal(Money subtotal) {
         this.subtotal = subtotal;
     }
 
@@ -1,11 +1,16 @@
 package com.order.entity;
 
+import com.order.common.Money;
+import com.order.entity.converter.MoneyConverter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import javax.persistence.*;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
 public class Product {
     
     @Id
@@ -21,11 +26,13 @@ public class Product {
     @Column(columnDefinition = "TEXT")
     private String description;
     
+    @Convert(converter = MoneyConverter.class)
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal price;
+    private Money price;
     
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "original_price", precision = 10, scale = 2)
-    private BigDecimal originalPrice;
+    private Money originalPrice;
     
     @Column(name = "image_url")
     private String imageUrl;
@@ -50,7 +57,7 @@ public class Product {
     // 构造函数
     public Product() {}
     
-    public Product(Long categoryId, String name, String description, BigDecimal price) {
+    public Product(Long categoryId, String name, String description, Money price) {
         this.categoryId = categoryId;
         this.name = name;
         this.description = description;
@@ -90,19 +97,19 @@ public class Product {
         this.description = description;
     }
     
-    public BigDecimal getPrice() {
+    public Money getPrice() {
         return price;
     }
     
-    public void setPrice(BigDecimal price) {
+    public void setPrice(Money price) {
         this.price = price;
     }
     
-    public BigDecimal getOriginalPrice() {
+    public Money getOriginalPrice() {
         return originalPrice;
     }
     
-    public void setOriginalPrice(BigDecimal originalPrice) {
+    public void setOriginalPrice(Money originalPrice) {
         this.originalPrice = originalPrice;
     }
     
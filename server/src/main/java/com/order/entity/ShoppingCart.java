@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 public class ShoppingCart {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "pooled_id")
     private Long id;
     
     @Column(name = "user_id", nullable = false)
@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 public class UserAddress {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "pooled_id")
     private Long id;
     
     @Column(name = "user_id", nullable = false)
@@ -34,6 +34,13 @@ public class UserAddress {
     @Column(name = "address_tag", length = 20)
     private String addressTag; // 地址标签，如：家、公司、学校等
     
+    // 坐标在保存地址时确定（客户端地图选点或地理编码），下单时按坐标查配送区域
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @Column(name = "longitude")
+    private Double longitude;
+    
     @Column(name = "create_time", nullable = false)
     private LocalDateTime createTime;
     
@@ -121,6 +128,22 @@ public class UserAddress {
         this.addressTag = addressTag;
     }
     
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
     public LocalDateTime getCreateTime() {
         return createTime;
     }
@@ -1,5 +1,9 @@
 package com.order.entity;
 
+import com.order.exception.BusinessException;
+import com.order.exception.ErrorCode;
+import com.order.exception.InsufficientBalanceException;
+
 import javax.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -9,7 +13,7 @@ import java.time.LocalDateTime;
 public class Wallet {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "pooled_id")
     private Long id;
     
     @Column(name = "user_id", nullable = false)
@@ -120,7 +124,7 @@ public class Wallet {
     // 业务方法
     public void recharge(BigDecimal amount) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("充值金额必须大于0");
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER, "充值金额必须大于0");
         }
         this.balance = this.balance.add(amount);
         this.totalRecharge = this.totalRecharge.add(amount);
@@ -129,7 +133,7 @@ public class Wallet {
     
     public boolean consume(BigDecimal amount) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("消费金额必须大于0");
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER, "消费金额必须大于0");
         }
         if (this.balance.compareTo(amount) < 0) {
             return false; // 余额不足
@@ -142,10 +146,10 @@ public class Wallet {
     
     public void freeze(BigDecimal amount) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("冻结金额必须大于0");
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER, "冻结金额必须大于0");
         }
         if (this.balance.compareTo(amount) < 0) {
-            throw new IllegalArgumentException("余额不足，无法冻结");
+            throw new InsufficientBalanceException("余额不足，无法冻结");
         }
         this.balance = this.balance.subtract(amount);
         this.frozenBalance = this.frozenBalance.add(amount);
@@ -154,10 +158,10 @@ public class Wallet {
     
     public void unfreeze(BigDecimal amount) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("解冻金额必须大于0");
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER, "解冻金额必须大于0");
         }
         if (this.frozenBalance.compareTo(amount) < 0) {
-            throw new IllegalArgumentException("冻结余额不足，无法解冻");
+            throw new InsufficientBalanceException("冻结余额不足，无法解冻");
         }
         this.frozenBalance = this.frozenBalance.subtract(amount);
         this.balance = this.balance.add(amount);
@@ -0,0 +1,23 @@
+package com.order.entity.converter;
+
+import com.order.enums.OrderStatus;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * 订单状态以TINYINT存储（OrderStatus.value），读取时按下标查找
+ */
+@Converter
+public class OrderStatusConverter implements AttributeConverter<OrderStatus, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(OrderStatus status) {
+        return status == null ? null : status.getValue();
+    }
+
+    @Override
+    public OrderStatus convertToEntityAttribute(Byte value) {
+        return value == null ? null : OrderStatus.fromValue(value);
+    }
+}
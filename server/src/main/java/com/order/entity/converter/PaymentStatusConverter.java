@@ -0,0 +1,23 @@
+package com.order.entity.converter;
+
+import com.order.enums.PaymentStatus;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * 支付状态以TINYINT存储（PaymentStatus.value），读取时按下标查找
+ */
+@Converter
+public class PaymentStatusConverter implements AttributeConverter<PaymentStatus, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(PaymentStatus status) {
+        return status == null ? null : status.getValue();
+    }
+
+    @Override
+    public PaymentStatus convertToEntityAttribute(Byte value) {
+        return value == null ? null : PaymentStatus.fromValue(value);
+    }
+}
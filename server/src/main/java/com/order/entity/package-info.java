@@ -0,0 +1,13 @@
+/**
+ * 实体类
+ * pooled_id：基于 id_sequences 表的号段ID（见 IdBlockAllocator），每次取一段ID在内存中分配，
+ * 插入不再依赖自增列回填，Hibernate可以按 hibernate.jdbc.batch_size 批量插入；号段按表名区分
+ */
+@GenericGenerator(
+        name = "pooled_id",
+        strategy = "com.order.id.PooledIdGenerator",
+        parameters = @Parameter(name = "increment_size", value = "100"))
+package com.order.entity;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
@@ -0,0 +1,80 @@
+package com.order.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 订单状态枚举
+ * value 为数据库存储值（TINYINT，见 OrderStatusConverter），已有值不可修改，新增状态使用新值；
+ * 接口和导出中仍使用 code
+ */
+public enum OrderStatus {
+    PENDING(0, "pending", "待处理"),
+    PAID(1, "paid", "已支付"),
+    CONFIRMED(2, "confirmed", "已确认"),
+    REJECTED(3, "rejected", "已拒绝"),
+    PREPARING(4, "preparing", "准备中"),
+    DELIVERING(5, "delivering", "配送中"),
+    DELIVERED(6, "delivered", "已送达"),
+    CANCELLED(7, "cancelled", "已取消"),
+    COMPLETED(8, "completed", "已完成");
+
+    // 按存储值下标查找
+    private static final OrderStatus[] BY_VALUE;
+    private static final Map<String, OrderStatus> BY_CODE = new HashMap<>();
+
+    static {
+        OrderStatus[] statuses = values();
+        int max = 0;
+        for (OrderStatus status : statuses) {
+            max = Math.max(max, status.value);
+            BY_CODE.put(status.code, status);
+        }
+        BY_VALUE = new OrderStatus[max + 1];
+        for (OrderStatus status : statuses) {
+            BY_VALUE[status.value] = status;
+        }
+    }
+
+    private final byte value;
+    private final String code;
+    private final String description;
+
+    OrderStatus(int value, String code, String description) {
+        this.value = (byte) value;
+        this.code = code;
+        this.description = description;
+    }
+
+    public byte getValue() {
+        return value;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @JsonCreator
+    public static OrderStatus fromCode(String code) {
+        OrderStatus status = code == null ? null : BY_CODE.get(code);
+        if (status == null) {
+            throw new IllegalArgumentException("Unknown order status code: " + code);
+        }
+        return status;
+    }
+
+    public static OrderStatus fromValue(int value) {
+        if (value < 0 || value >= BY_VALUE.length || BY_VALUE[value] == null) {
+            throw new IllegalArgumentException("Unknown order status value: " + value);
+        }
+        return BY_VALUE[value];
+    }
+}
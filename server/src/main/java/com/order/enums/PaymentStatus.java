@@ -0,0 +1,75 @@
+package com.order.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 支付状态枚举
+ * value 为数据库存储值（TINYINT，见 PaymentStatusConverter），已有值不可修改，新增状态使用新值；
+ * 接口和导出中仍使用 code
+ */
+public enum PaymentStatus {
+    UNPAID(0, "unpaid", "未支付"),
+    PAID(1, "paid", "已支付"),
+    REFUNDED(2, "refunded", "已退款"),
+    PARTIAL_REFUND(3, "partial_refund", "部分退款");
+
+    // 按存储值下标查找
+    private static final PaymentStatus[] BY_VALUE;
+    private static final Map<String, PaymentStatus> BY_CODE = new HashMap<>();
+
+    static {
+        PaymentStatus[] statuses = values();
+        int max = 0;
+        for (PaymentStatus status : statuses) {
+            max = Math.max(max, status.value);
+            BY_CODE.put(status.code, status);
+        }
+        BY_VALUE = new PaymentStatus[max + 1];
+        for (PaymentStatus status : statuses) {
+            BY_VALUE[status.value] = status;
+        }
+    }
+
+    private final byte value;
+    private final String code;
+    private final String description;
+
+    PaymentStatus(int value, String code, String description) {
+        this.value = (byte) value;
+        this.code = code;
+        this.description = description;
+    }
+
+    public byte getValue() {
+        return value;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @JsonCreator
+    public static PaymentStatus fromCode(String code) {
+        PaymentStatus status = code == null ? null : BY_CODE.get(code);
+        if (status == null) {
+            throw new IllegalArgumentException("Unknown payment status code: " + code);
+        }
+        return status;
+    }
+
+    public static PaymentStatus fromValue(int value) {
+        if (value < 0 || value >= BY_VALUE.length || BY_VALUE[value] == null) {
+            throw new IllegalArgumentException("Unknown payment status value: " + value);
+        }
+        return BY_VALUE[value];
+    }
+}
@@ -0,0 +1,30 @@
+package com.order.exception;
+
+/**
+ * 业务异常：库存不足、余额不足、订单状态不正确等预期内的失败，由 GlobalExceptionHandler 转换为 Result.error
+ * 抢购时售罄请求每秒可达数千次，业务异常不需要调用栈，构造时不填充栈信息（fillInStackTrace 是异常创建的主要开销）；
+ * 排查问题时可用 -Dorder.business-exception.stack-trace=true 重新开启
+ */
+public class BusinessException extends RuntimeException {
+
+    private static final boolean WRITABLE_STACK_TRACE = Boolean.getBoolean("order.business-exception.stack-trace");
+
+    private final ErrorCode errorCode;
+
+    public BusinessException(ErrorCode errorCode) {
+        this(errorCode, errorCode.getDescription());
+    }
+
+    public BusinessException(ErrorCode errorCode, String message) {
+        super(message, null, false, WRITABLE_STACK_TRACE);
+        this.errorCode = errorCode;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    public int getCode() {
+        return errorCode.getCode();
+    }
+}
@@ -0,0 +1,33 @@
+package com.order.exception;
+
+/**
+ * 业务错误码，作为 Result.code 返回；200 表示成功，500 表示未预期的系统错误
+ */
+public enum ErrorCode {
+    INVALID_PARAMETER(4000, "参数错误"),
+    AUTH_FAILED(4010, "登录失败"),
+    FORBIDDEN(4030, "无权限操作"),
+    NOT_FOUND(4040, "数据不存在"),
+    DUPLICATE(4090, "数据已存在"),
+    OUT_OF_STOCK(4091, "商品库存不足"),
+    INSUFFICIENT_BALANCE(4092, "钱包余额不足"),
+    ORDER_STATE(4093, "订单状态不正确"),
+    PAYMENT_FAILED(4094, "支付或退款失败"),
+    OUT_OF_DELIVERY_RANGE(4095, "超出配送范围");
+
+    private final int code;
+    private final String description;
+
+    ErrorCode(int code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,19 @@
+package com.order.exception;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 接口发生非业务异常时返回的提示前缀，如 "创建订单失败"，返回 "创建订单失败：" + 异常信息
+ * 未标注的接口使用 "操作失败"
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface FailureMessage {
+
+    String value();
+}
@@ -0,0 +1,74 @@
+package com.order.exception;
+
+import com.order.common.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.validation.BindException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.ServletException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 接口统一异常处理，代替各Controller方法中的 try/catch
+ * 业务异常返回其错误码和提示；其他异常记录日志，返回500和 "{@link FailureMessage}：异常信息"
+ * 返回 Result 的接口仍以HTTP 200返回 Result.error；钱包接口沿用原有格式，HTTP 400返回 success=false 的Map
+ * 请求参数缺失、类型不匹配、请求体无法解析等Spring MVC异常交给默认处理（400、405等），其余返回类型（页面、导出）同样不处理
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private static final String DEFAULT_FAILURE_MESSAGE = "操作失败";
+
+    @ExceptionHandler(BusinessException.class)
+    public Object handleBusinessException(BusinessException e, HandlerMethod handlerMethod) throws Exception {
+        return respond(e, handlerMethod, e.getCode(), e.getMessage());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public Object handleException(Exception e, HandlerMethod handlerMethod) throws Exception {
+        if (isRequestException(e)) {
+            throw e;
+        }
+        log.error("接口 {} 处理失败", handlerMethod.getShortLogMessage(), e);
+        return respond(e, handlerMethod, 500, failureMessage(handlerMethod) + "：" + e.getMessage());
+    }
+
+    private static Object respond(Exception e, HandlerMethod handlerMethod, int code, String message) throws Exception {
+        Class<?> returnType = handlerMethod.getReturnType().getParameterType();
+        if (Result.class.isAssignableFrom(returnType)) {
+            return Result.error(code, message);
+        }
+        if (ResponseEntity.class.isAssignableFrom(returnType)) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("success", false);
+            body.put("code", code);
+            body.put("message", message);
+            return ResponseEntity.badRequest().body(body);
+        }
+        throw e;
+    }
+
+    private static String failureMessage(HandlerMethod handlerMethod) {
+        FailureMessage annotation = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), FailureMessage.class);
+        return annotation != null ? annotation.value() : DEFAULT_FAILURE_MESSAGE;
+    }
+
+    private static boolean isRequestException(Exception e) {
+        return e instanceof ServletException
+                || e instanceof TypeMismatchException
+                || e instanceof HttpMessageConversionException
+                || e instanceof BindException
+                || e instanceof ResponseStatusException;
+    }
+}
@@ -0,0 +1,11 @@
+package com.order.exception;
+
+/**
+ * 钱包余额不足
+ */
+public class InsufficientBalanceException extends BusinessException {
+
+    public InsufficientBalanceException(String message) {
+        super(ErrorCode.INSUFFICIENT_BALANCE, message);
+    }
+}
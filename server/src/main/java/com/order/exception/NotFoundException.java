@@ -0,0 +1,11 @@
+package com.order.exception;
+
+/**
+ * 数据不存在（商品、地址、购物车项等）
+ */
+public class NotFoundException extends BusinessException {
+
+    public NotFoundException(String message) {
+        super(ErrorCode.NOT_FOUND, message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.order.exception;
+
+/**
+ * 订单当前状态不允许该操作
+ */
+public class OrderStateException extends BusinessException {
+
+    public OrderStateException(String message) {
+        super(ErrorCode.ORDER_STATE, message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.order.exception;
+
+/**
+ * 商品库存不足
+ */
+public class OutOfStockException extends BusinessException {
+
+    public OutOfStockException(String message) {
+        super(ErrorCode.OUT_OF_STOCK, message);
+    }
+}
@@ -0,0 +1,150 @@
+package com.order.id;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ID号段分配器
+ * 每个号段（表名）在 id_sequences 表中占一行，每次取一段ID在内存中分配；
+ * 取号段使用独立的小连接池，不占用业务连接池——业务事务持有连接时等待号段不会造成连接池死锁
+ * 由Spring上下文创建并通过Hibernate配置交给 PooledIdGenerator（见 IdGeneratorConfig）
+ */
+public class IdBlockAllocator {
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS id_sequences ("
+            + "sequence_name VARCHAR(255) NOT NULL PRIMARY KEY, next_val BIGINT NOT NULL)";
+
+    private final HikariDataSource dataSource;
+    private final ConcurrentMap<String, Segment> segments = new ConcurrentHashMap<>();
+
+    public IdBlockAllocator(DataSourceProperties properties) throws SQLException {
+        this.dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("id-allocator");
+        this.dataSource.setMaximumPoolSize(2);
+        this.dataSource.setMinimumIdle(0);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE);
+        }
+    }
+
+    public void close() {
+        dataSource.close();
+    }
+
+    /**
+     * 分配下一个ID
+     * @param table 号段名，同时也是用于初始化号段的业务表名
+     * @param blockSize 每次从数据库取的ID数量
+     */
+    public long next(String table, int blockSize) {
+        return segments.computeIfAbsent(table, Segment::new).next(blockSize);
+    }
+
+    /**
+     * 从数据库取一段ID，返回本段起始值；号段不存在时从业务表当前最大ID之后开始
+     */
+    private long fetchBlock(String table, int blockSize) {
+        while (true) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    Long start = lockCurrent(connection, table);
+                    if (start == null) {
+                        start = maxId(connection, table) + 1;
+                        insert(connection, table, start + blockSize);
+                    } else {
+                        update(connection, table, start + blockSize);
+                    }
+                    connection.commit();
+                    return start;
+                } catch (SQLException e) {
+                    connection.rollback();
+                    // 多个实例同时初始化同一号段时主键冲突，重试即可读到对方写入的行
+                    if (!isDuplicateKey(e)) {
+                        throw e;
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("获取ID号段失败：" + table, e);
+            }
+        }
+    }
+
+    private static Long lockCurrent(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT next_val FROM id_sequences WHERE sequence_name = ? FOR UPDATE")) {
+            statement.setString(1, table);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : null;
+            }
+        }
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static void insert(Connection connection, String table, long nextVal) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO id_sequences (sequence_name, next_val) VALUES (?, ?)")) {
+            statement.setString(1, table);
+            statement.setLong(2, nextVal);
+            statement.executeUpdate();
+        }
+    }
+
+    private static void update(Connection connection, String table, long nextVal) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE id_sequences SET next_val = ? WHERE sequence_name = ?")) {
+            statement.setLong(1, nextVal);
+            statement.setString(2, table);
+            statement.executeUpdate();
+        }
+    }
+
+    private static boolean isDuplicateKey(SQLException e) {
+        // SQLState 23xxx：完整性约束冲突
+        return e.getSQLState() != null && e.getSQLState().startsWith("23");
+    }
+
+    /**
+     * 单个号段的内存状态，[next, end) 为当前可分配区间
+     * 取号段期间持锁访问数据库，使用 ReentrantLock 而非 synchronized，虚拟线程等待时不会占住载体线程
+     */
+    private class Segment {
+        private final String table;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next;
+        private long end;
+
+        Segment(String table) {
+            this.table = table;
+        }
+
+        long next(int blockSize) {
+            lock.lock();
+            try {
+                if (next >= end) {
+                    next = fetchBlock(table, blockSize);
+                    end = next + blockSize;
+                }
+                return next++;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
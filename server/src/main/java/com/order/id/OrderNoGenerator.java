@@ -0,0 +1,109 @@
+package com.order.id;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 订单号生成器（Snowflake思路的十进制定长编码）
+ * 格式：ORD + 13位毫秒时间戳 + 2位分片号 + 3位节点号 + 4位序列号，共25位
+ * 同一节点内严格递增，按字典序即时间序，新订单号总是追加在 order_no 唯一索引的右侧；
+ * 时间戳与序列号打包在一个AtomicLong中，通过CAS推进，无锁
+ */
+@Component
+public class OrderNoGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderNoGenerator.class);
+
+    public static final String PREFIX = "ORD";
+    public static final int MAX_NODE_ID = 999;
+    public static final int MAX_SEQUENCE = 9999;
+
+    // 低14位存放序列号（9999 < 2^14），其余高位存放毫秒时间戳
+    private static final int SEQUENCE_BITS = 14;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final int ORDER_NO_LENGTH = PREFIX.length() + 13 + 2 + 3 + 4;
+
+    private final int nodeId;
+    private final AtomicLong state = new AtomicLong();
+
+    public OrderNoGenerator(@Value("${order.id.node-id:-1}") int nodeId) {
+        if (nodeId < 0) {
+            nodeId = defaultNodeId();
+            log.warn("未配置 order.id.node-id，按进程标识推导节点号 {}，多实例部署时请显式配置唯一节点号", nodeId);
+        }
+        if (nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("节点号必须在 0-" + MAX_NODE_ID + " 之间");
+        }
+        this.nodeId = nodeId;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 生成指定分片的订单号
+     */
+    public String next(int shard) {
+        if (shard < 0 || shard >= 100) {
+            throw new IllegalArgumentException("分片号必须在 0-99 之间");
+        }
+        long packed = nextState();
+        long millis = packed >>> SEQUENCE_BITS;
+        int sequence = (int) (packed & SEQUENCE_MASK);
+
+        char[] buf = new char[ORDER_NO_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), buf, 0);
+        int pos = PREFIX.length();
+        pos = writeDigits(buf, pos, millis, 13);
+        pos = writeDigits(buf, pos, shard, 2);
+        pos = writeDigits(buf, pos, nodeId, 3);
+        writeDigits(buf, pos, sequence, 4);
+        return new String(buf);
+    }
+
+    /**
+     * 推进（时间戳, 序列号）状态
+     * 同一毫秒内序列号用尽或时钟回拨时，借用下一毫秒继续递增，不自旋等待也不回退
+     */
+    private long nextState() {
+        while (true) {
+            long current = state.get();
+            long lastMillis = current >>> SEQUENCE_BITS;
+            long sequence = current & SEQUENCE_MASK;
+            long now = System.currentTimeMillis();
+
+            long next;
+            if (now > lastMillis) {
+                next = now << SEQUENCE_BITS;
+            } else if (sequence < MAX_SEQUENCE) {
+                next = current + 1;
+            } else {
+                next = (lastMillis + 1) << SEQUENCE_BITS;
+            }
+            if (state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private static int writeDigits(char[] buf, int pos, long value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + (value % 10));
+            value /= 10;
+        }
+        return pos + width;
+    }
+
+    private static int defaultNodeId() {
+        // 形如 pid@hostname
+        String name = ManagementFactory.getRuntimeMXBean().getName();
+        return Math.floorMod(name.hashCode(), MAX_NODE_ID + 1);
+    }
+}
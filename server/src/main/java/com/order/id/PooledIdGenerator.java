@@ -0,0 +1,48 @@
+package com.order.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+/**
+ * Hibernate ID生成器，委托 IdBlockAllocator 按表名分配号段ID
+ * 参数：increment_size 每次取的号段大小，默认100
+ * Hibernate自行实例化生成器，分配器由Spring通过Hibernate配置项 ALLOCATOR 传入（见 IdGeneratorConfig）
+ */
+public class PooledIdGenerator implements IdentifierGenerator {
+
+    public static final String INCREMENT_SIZE = "increment_size";
+
+    public static final String ALLOCATOR = "order.id.block_allocator";
+
+    private IdBlockAllocator allocator;
+    private String table;
+    private int incrementSize;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        this.table = params.getProperty(PersistentIdentifierGenerator.TABLE);
+        this.incrementSize = ConfigurationHelper.getInt(INCREMENT_SIZE, params, 100);
+        if (table == null) {
+            throw new MappingException("无法确定号段表名");
+        }
+        Object configured = serviceRegistry.getService(ConfigurationService.class).getSettings().get(ALLOCATOR);
+        if (!(configured instanceof IdBlockAllocator)) {
+            throw new MappingException("未配置ID号段分配器：" + ALLOCATOR);
+        }
+        this.allocator = (IdBlockAllocator) configured;
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return allocator.next(table, incrementSize);
+    }
+}
@@ -0,0 +1,52 @@
+package com.order.logging;
+
+import org.slf4j.MDC;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
+/**
+ * 日志上下文拦截器
+ * 将请求中的 userId / orderId / orderNo 放入MDC，本请求线程输出的日志都会带上这些字段；
+ * 按订单ID操作的接口没有订单号参数，由 OrderService 加载或生成订单后补充 orderNo
+ */
+public class LogContextInterceptor implements HandlerInterceptor {
+
+    public static final String USER_ID = "userId";
+    public static final String ORDER_ID = "orderId";
+    public static final String ORDER_NO = "orderNo";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        put(USER_ID, value(pathVariables, request, USER_ID));
+        put(ORDER_ID, value(pathVariables, request, ORDER_ID));
+        put(ORDER_NO, value(pathVariables, request, ORDER_NO));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        MDC.remove(USER_ID);
+        MDC.remove(ORDER_ID);
+        MDC.remove(ORDER_NO);
+    }
+
+    private static void put(String key, String value) {
+        if (value != null && !value.isEmpty()) {
+            MDC.put(key, value);
+        }
+    }
+
+    private static String value(Map<String, String> pathVariables, HttpServletRequest request, String name) {
+        if (pathVariables != null && pathVariables.containsKey(name)) {
+            return pathVariables.get(name);
+        }
+        return request.getParameter(name);
+    }
+}
@@ -0,0 +1,57 @@
+package com.order.metrics;
+
+import com.order.common.Result;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Map;
+
+/**
+ * 记录响应体中的业务结果码，供接口指标打标签
+ * 接口统一返回HTTP 200，成败只体现在 Result.code；钱包接口返回的Map以 success 字段表示成败
+ */
+@ControllerAdvice
+public class ResultCodeAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String RESULT_CODE_ATTRIBUTE = ResultCodeAdvice.class.getName() + ".RESULT_CODE";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        Integer code = resultCode(body);
+        if (code != null && request instanceof ServletServerHttpRequest) {
+            ((ServletServerHttpRequest) request).getServletRequest().setAttribute(RESULT_CODE_ATTRIBUTE, code);
+        }
+        return body;
+    }
+
+    private static Integer resultCode(Object body) {
+        // 稀疏字段（SparseFieldsAdvice）会把响应体包装为 MappingJacksonValue
+        if (body instanceof MappingJacksonValue) {
+            body = ((MappingJacksonValue) body).getValue();
+        }
+        if (body instanceof Result) {
+            return ((Result<?>) body).getCode();
+        }
+        if (body instanceof Map) {
+            Object success = ((Map<?, ?>) body).get("success");
+            if (success instanceof Boolean) {
+                return (Boolean) success ? 200 : 500;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.order.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 为 http.server.requests 指标补充标签：
+ * handler（控制器类.方法）与 result_code（业务结果码，无统一结果体时为 none）
+ */
+@Component
+public class ResultCodeTagsContributor implements WebMvcTagsContributor {
+
+    private static final Tag HANDLER_NONE = Tag.of("handler", "none");
+    private static final Tag RESULT_CODE_NONE = Tag.of("result_code", "none");
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response,
+                                 Object handler, Throwable exception) {
+        Tag handlerTag = HANDLER_NONE;
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod method = (HandlerMethod) handler;
+            handlerTag = Tag.of("handler", method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+        }
+        Object code = request.getAttribute(ResultCodeAdvice.RESULT_CODE_ATTRIBUTE);
+        Tag resultTag = code != null ? Tag.of("result_code", code.toString()) : RESULT_CODE_NONE;
+        return Tags.of(handlerTag, resultTag);
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.empty();
+    }
+}
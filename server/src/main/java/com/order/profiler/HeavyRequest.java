@@ -0,0 +1,49 @@
+package com.order.profiler;
+
+import java.time.LocalDateTime;
+
+/**
+ * SQL语句数超过阈值的请求
+ */
+public class HeavyRequest {
+
+    private final LocalDateTime time;
+    private final String request;
+    private final int queryCount;
+    private final long queryMillis;
+    private final String mostRepeatedSql;
+    private final int mostRepeatedCount;
+
+    HeavyRequest(QueryStats stats) {
+        this.time = LocalDateTime.now();
+        this.request = stats.getLabel();
+        this.queryCount = stats.getCount();
+        this.queryMillis = stats.getElapsedMillis();
+        this.mostRepeatedSql = stats.getMostRepeatedSql();
+        this.mostRepeatedCount = stats.getMostRepeatedCount();
+    }
+
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    public String getRequest() {
+        return request;
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public long getQueryMillis() {
+        return queryMillis;
+    }
+
+    public String getMostRepeatedSql() {
+        return mostRepeatedSql;
+    }
+
+    public int getMostRepeatedCount() {
+        return mostRepeatedCount;
+    }
+}
@@ -0,0 +1,57 @@
+package com.order.profiler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 单个请求（或一段测试代码）内的SQL统计：语句数、JDBC耗时、每条SQL的执行次数
+ * 只在所属线程内读写
+ */
+public class QueryStats {
+
+    private final String label;
+    private final Map<String, Integer> countsBySql = new HashMap<>();
+    private int count;
+    private long elapsedMillis;
+
+    QueryStats(String label) {
+        this.label = label;
+    }
+
+    void record(String sql, long elapsedMillis) {
+        this.count++;
+        this.elapsedMillis += elapsedMillis;
+        countsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /** 执行的SQL语句数（与数据库的交互次数），一次批量执行计为1 */
+    public int getCount() {
+        return count;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /** 执行次数最多的SQL，N+1 查询通常就是它 */
+    public String getMostRepeatedSql() {
+        String sql = null;
+        int max = 0;
+        for (Map.Entry<String, Integer> entry : countsBySql.entrySet()) {
+            if (entry.getValue() > max) {
+                max = entry.getValue();
+                sql = entry.getKey();
+            }
+        }
+        return sql;
+    }
+
+    public int getMostRepeatedCount() {
+        String sql = getMostRepeatedSql();
+        return sql == null ? 0 : countsBySql.get(sql);
+    }
+}
@@ -0,0 +1,50 @@
+package com.order.profiler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 定长环形缓冲区，写满后覆盖最旧的记录
+ * 写入只有一次CAS自增和一次数组写，不加锁，可在SQL执行路径上调用
+ */
+public class RingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLong cursor = new AtomicLong();
+
+    public RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("容量必须大于0");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(T item) {
+        long index = cursor.getAndIncrement();
+        slots.set((int) (index % slots.length()), item);
+    }
+
+    /**
+     * 当前内容快照，最新的在前
+     */
+    public List<T> snapshot() {
+        long end = cursor.get();
+        long start = Math.max(0, end - slots.length());
+        List<T> items = new ArrayList<>((int) (end - start));
+        for (long i = end - 1; i >= start; i--) {
+            T item = slots.get((int) (i % slots.length()));
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.order.profiler;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 慢SQL记录
+ */
+public class SlowQuery {
+
+    private final LocalDateTime time;
+    private final String request;
+    private final String dataSource;
+    private final long elapsedMillis;
+    private final String sql;
+    private final List<List<String>> parameters;
+    private final boolean success;
+
+    SlowQuery(String request, String dataSource, long elapsedMillis, String sql,
+              List<List<String>> parameters, boolean success) {
+        this.time = LocalDateTime.now();
+        this.request = request;
+        this.dataSource = dataSource;
+        this.elapsedMillis = elapsedMillis;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.success = success;
+    }
+
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    /** 发起该SQL的请求，非请求线程（定时任务、分片查询线程池）为空 */
+    public String getRequest() {
+        return request;
+    }
+
+    public String getDataSource() {
+        return dataSource;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /** 绑定参数，批量语句每批一组 */
+    public List<List<String>> getParameters() {
+        return parameters;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+}
@@ -0,0 +1,36 @@
+package com.order.profiler;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL分析管理端点 /actuator/sqlprofile
+ * GET 查看慢SQL与SQL语句过多的请求，DELETE 清空记录
+ * 慢SQL含绑定参数（可能包含手机号、地址等），只应暴露在管理网络
+ */
+@Endpoint(id = "sqlprofile")
+public class SqlProfileEndpoint {
+
+    private final SqlProfiler profiler;
+
+    public SqlProfileEndpoint(SqlProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> profile() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("slowQueries", profiler.getSlowQueries());
+        result.put("heavyRequests", profiler.getHeavyRequests());
+        return result;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        profiler.clear();
+    }
+}
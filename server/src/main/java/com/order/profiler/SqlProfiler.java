@@ -0,0 +1,137 @@
+package com.order.profiler;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * SQL执行分析器，挂在数据源代理上，替代生产环境的 show-sql：
+ * 1. 按线程统计当前请求执行的语句数与耗时，语句数超过阈值的请求记入环形缓冲区并打印告警
+ * 2. 超过耗时阈值的语句连同绑定参数记入环形缓冲区，由 /actuator/sqlprofile 查看
+ * 统计按线程归属：分片查询线程池、定时任务中执行的SQL不计入发起它的请求，慢SQL仍会记录
+ */
+public class SqlProfiler implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlProfiler.class);
+
+    // 慢SQL最多保留的参数组数（批量语句）与单个参数值的最大长度
+    private static final int MAX_PARAMETER_SETS = 10;
+    private static final int MAX_PARAMETER_LENGTH = 200;
+
+    private final ThreadLocal<QueryStats> current = new ThreadLocal<>();
+    private final long slowQueryMillis;
+    private final int requestQueryThreshold;
+    private final RingBuffer<SlowQuery> slowQueries;
+    private final RingBuffer<HeavyRequest> heavyRequests;
+
+    public SqlProfiler(long slowQueryMillis, int requestQueryThreshold, int bufferSize) {
+        this.slowQueryMillis = slowQueryMillis;
+        this.requestQueryThreshold = requestQueryThreshold;
+        this.slowQueries = new RingBuffer<>(bufferSize);
+        this.heavyRequests = new RingBuffer<>(bufferSize);
+    }
+
+    /**
+     * 开始统计当前线程执行的SQL
+     * @param label 请求描述，如 "GET /order/user/1"
+     */
+    public QueryStats start(String label) {
+        QueryStats stats = new QueryStats(label);
+        current.set(stats);
+        return stats;
+    }
+
+    /**
+     * 结束当前线程的统计；语句数超过阈值时记为重查询请求
+     */
+    public QueryStats stop() {
+        QueryStats stats = current.get();
+        current.remove();
+        if (stats != null && stats.getCount() > requestQueryThreshold) {
+            heavyRequests.add(new HeavyRequest(stats));
+            log.warn("请求SQL语句过多: {} 共{}条/{}ms，重复最多的语句执行{}次: {}",
+                    stats.getLabel(), stats.getCount(), stats.getElapsedMillis(),
+                    stats.getMostRepeatedCount(), stats.getMostRepeatedSql());
+        }
+        return stats;
+    }
+
+    /** 当前线程正在进行的统计，未开始时为 null */
+    public QueryStats current() {
+        return current.get();
+    }
+
+    public List<SlowQuery> getSlowQueries() {
+        return slowQueries.snapshot();
+    }
+
+    public List<HeavyRequest> getHeavyRequests() {
+        return heavyRequests.snapshot();
+    }
+
+    public void clear() {
+        slowQueries.clear();
+        heavyRequests.clear();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.size() == 1
+                ? queryInfoList.get(0).getQuery()
+                : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        long elapsed = execInfo.getElapsedTime();
+
+        QueryStats stats = current.get();
+        if (stats != null) {
+            stats.record(sql, elapsed);
+        }
+        if (elapsed >= slowQueryMillis) {
+            slowQueries.add(new SlowQuery(stats != null ? stats.getLabel() : null, execInfo.getDataSourceName(),
+                    elapsed, sql, parameters(queryInfoList), execInfo.isSuccess()));
+        }
+    }
+
+    private static List<List<String>> parameters(List<QueryInfo> queryInfoList) {
+        List<List<String>> result = new ArrayList<>();
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (List<ParameterSetOperation> operations : queryInfo.getParametersList()) {
+                if (result.size() >= MAX_PARAMETER_SETS) {
+                    return result;
+                }
+                result.add(parameterSet(operations));
+            }
+        }
+        return result;
+    }
+
+    private static List<String> parameterSet(List<ParameterSetOperation> operations) {
+        if (operations.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // setXxx(index, value)，按参数位置排序
+        List<ParameterSetOperation> sorted = new ArrayList<>(operations);
+        sorted.sort(Comparator.comparing(operation -> String.valueOf(operation.getArgs()[0]),
+                Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder())));
+        List<String> values = new ArrayList<>(sorted.size());
+        for (ParameterSetOperation operation : sorted) {
+            Object[] args = operation.getArgs();
+            String value = ParameterSetOperation.isSetNullParameterOperation(operation) || args.length < 2
+                    ? "NULL" : String.valueOf(args[1]);
+            values.add(value.length() > MAX_PARAMETER_LENGTH ? value.substring(0, MAX_PARAMETER_LENGTH) + "..." : value);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,31 @@
+package com.order.profiler;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * 为容器中的数据源套上 datasource-proxy 代理，SQL执行结果交给 SqlProfiler
+ */
+public class SqlProfilingDataSourcePostProcessor implements BeanPostProcessor {
+
+    // 延迟获取，避免分析器被提前实例化而错过其他后置处理器
+    private final ObjectProvider<SqlProfiler> profiler;
+
+    public SqlProfilingDataSourcePostProcessor(ObjectProvider<SqlProfiler> profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(beanName, (DataSource) bean)
+                    .listener(profiler.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
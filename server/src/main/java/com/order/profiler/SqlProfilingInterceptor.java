@@ -0,0 +1,29 @@
+package com.order.profiler;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 请求级SQL统计拦截器：进入控制器前开始统计，请求完成（含响应序列化时的延迟加载）后结束
+ */
+public class SqlProfilingInterceptor implements HandlerInterceptor {
+
+    private final SqlProfiler profiler;
+
+    public SqlProfilingInterceptor(SqlProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        profiler.start(request.getMethod() + " " + request.getRequestURI());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        profiler.stop();
+    }
+}
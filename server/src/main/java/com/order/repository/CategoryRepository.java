@@ -3,8 +3,10 @@ package com.order.repository;
 import com.order.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 @Repository
@@ -13,5 +15,6 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findByStatus(Integer status);
     
     @Query("SELECT c FROM Category c WHERE c.status = 1 ORDER BY c.sortOrder ASC, c.id ASC")
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Category> findAvailableCategories();
 }
\ No newline at end of file
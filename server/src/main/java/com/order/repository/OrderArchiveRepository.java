@@ -0,0 +1,19 @@
+package com.order.repository;
+
+import com.order.entity.OrderArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 归档订单Repository
+ */
+@Repository
+public interface OrderArchiveRepository extends JpaRepository<OrderArchive, Long> {
+
+    List<OrderArchive> findByUserIdOrderByCreatedTimeDesc(Long userId);
+
+    Optional<OrderArchive> findByOrderNo(String orderNo);
+}
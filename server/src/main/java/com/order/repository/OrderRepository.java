@@ -0,0 +1,103 @@
+package com.order.repository;
+
+import com.order.entity.Order;
+import com.order.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long> {
+    
+    List<Order> findByUserIdOrderByCreatedTimeDesc(Long userId);
+    
+    Optional<Order> findByOrderNo(String orderNo);
+
+    
+    @Query("SELECT o FROM Order o ORDER BY o.createdTime DESC")
+    List<Order> findAllOrders();
+    
+    @Query("SELECT o FROM Order o WHERE o.status = :status ORDER BY o.createdTime DESC")
+    List<Order> findByStatusOrderByCreatedTimeDesc(@Param("status") OrderStatus status);
+
+    /**
+     * 以下带订单项的查询用于跨分片查询，结果在分片事务外序列化，需一次加载订单项
+     */
+    @EntityGraph(attributePaths = "orderItems")
+    @Query("SELECT DISTINCT o FROM Order o ORDER BY o.createdTime DESC, o.id DESC")
+    List<Order> findAllWithItems();
+
+    @EntityGraph(attributePaths = "orderItems")
+    @Query("SELECT DISTINCT o FROM Order o WHERE o.status = :status ORDER BY o.createdTime DESC, o.id DESC")
+    List<Order> findByStatusWithItems(@Param("status") OrderStatus status);
+
+    @EntityGraph(attributePaths = "orderItems")
+    @Query("SELECT DISTINCT o FROM Order o WHERE o.userId = :userId ORDER BY o.createdTime DESC, o.id DESC")
+    List<Order> findByUserIdWithItems(@Param("userId") Long userId);
+
+    @EntityGraph(attributePaths = "orderItems")
+    @Query("SELECT o FROM Order o WHERE o.orderNo = :orderNo")
+    Optional<Order> findWithItemsByOrderNo(@Param("orderNo") String orderNo);
+
+    @EntityGraph(attributePaths = "orderItems")
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findWithItemsById(@Param("id") Long id);
+
+    /**
+     * 按创建时间区间流式读取订单（财务导出），游标分批抓取，调用方需在只读事务内消费并关闭
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT o FROM Order o WHERE o.createdTime >= :start AND o.createdTime < :end " +
+            "AND (:status IS NULL OR o.status = :status) ORDER BY o.createdTime ASC, o.id ASC")
+    Stream<Order> streamForExport(@Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end,
+                                  @Param("status") OrderStatus status);
+
+    /**
+     * 查找可归档的订单ID（终态且创建时间早于指定时间）
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.createdTime < :before ORDER BY o.id ASC")
+    List<Long> findArchivableIds(@Param("statuses") Collection<OrderStatus> statuses,
+                                 @Param("before") LocalDateTime before,
+                                 Pageable pageable);
+
+    /**
+     * 根据ID批量查找订单并同时加载订单项
+     */
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.id IN :ids")
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 根据订单ID批量删除订单项
+     */
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.order.id IN :orderIds")
+    int deleteItemsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * 根据ID批量删除订单
+     */
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
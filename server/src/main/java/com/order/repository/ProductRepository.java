@@ -2,11 +2,15 @@ package com.order.repository;
 
 import com.order.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -23,4 +27,23 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     
     @Query("SELECT p FROM Product p WHERE p.name LIKE %:name% AND p.status = 1 ORDER BY p.sortOrder ASC, p.id DESC")
     List<Product> searchProducts(@Param("name") String name);
-}
\ No newline at end of file
+    
+    /**
+     * 按ID查询商品，不读二级缓存（JPQL查询总是访问数据库），库存校验和扣减使用
+     */
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForStock(@Param("id") Long id);
+    
+    /**
+     * 按ID批量查询商品，不读二级缓存，下单扣减、取消恢复库存使用
+     */
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids")
+    List<Product> findAllByIdForStock(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 按ID批量查询并锁定商品行，下单扣减、取消恢复库存使用；按ID顺序加锁，避免并发下单互相死锁
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+}
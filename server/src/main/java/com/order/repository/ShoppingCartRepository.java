@@ -16,9 +16,19 @@ public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long
     
     ShoppingCart findByUserIdAndProductId(Long userId, Long productId);
     
-    void deleteByUserIdAndProductId(Long userId, Long productId);
+    /**
+     * 删除购物车中的单个商品，一条DELETE语句完成（派生删除方法会先查询再逐条删除）
+     */
+    @Modifying
+    @Query("DELETE FROM ShoppingCart sc WHERE sc.userId = :userId AND sc.productId = :productId")
+    int deleteByUserIdAndProductId(@Param("userId") Long userId, @Param("productId") Long productId);
     
-    void deleteByUserId(Long userId);
+    /**
+     * 清空用户购物车，无论商品数量多少都只执行一条DELETE语句
+     */
+    @Modifying
+    @Query("DELETE FROM ShoppingCart sc WHERE sc.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
     
     @Modifying
     @Query("UPDATE ShoppingCart sc SET sc.quantity = :quantity WHERE sc.userId = :userId AND sc.productId = :productId")
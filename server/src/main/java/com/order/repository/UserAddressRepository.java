@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,4 +50,11 @@ public interface UserAddressRepository extends JpaRepository<UserAddress, Long>
     @Modifying
     @Query("DELETE FROM UserAddress ua WHERE ua.userId = :userId")
     int deleteByUserId(@Param("userId") Long userId);
+    
+    /**
+     * 批量删除用户的指定地址，一条DELETE语句完成
+     */
+    @Modifying
+    @Query("DELETE FROM UserAddress ua WHERE ua.userId = :userId AND ua.id IN :addressIds")
+    int deleteByUserIdAndIdIn(@Param("userId") Long userId, @Param("addressIds") Collection<Long> addressIds);
 }
\ No newline at end of file
@@ -22,8 +22,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     /**
      * 更新用户的默认收货地址ID
+     * 地址ID由号段预分配，新地址在flush时才插入，先flush以满足外键约束
      */
-    @Modifying
+    @Modifying(flushAutomatically = true)
     @Query("UPDATE User u SET u.defaultAddressId = :addressId WHERE u.id = :userId")
     void updateDefaultAddressId(@Param("userId") Long userId, @Param("addressId") Long addressId);
 }
\ No newline at end of file
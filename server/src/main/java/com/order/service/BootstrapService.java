@@ -0,0 +1,110 @@
+package com.order.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.order.entity.Category;
+import com.order.entity.Product;
+import com.order.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 首页聚合数据：分类、商品（所有用户相同，短时缓存）以及用户信息、购物车、钱包余额
+ * 各项查询在 bootstrapExecutor 上并行执行，每项各自一个短事务
+ */
+@Service
+public class BootstrapService {
+
+    private static final String CATALOG = "catalog";
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    @Qualifier("bootstrapExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    // 并发请求在缓存过期时只有一个去加载，其余等待同一结果
+    private final Cache<String, Map<String, Object>> catalogCache;
+
+    public BootstrapService(@Value("${order.bootstrap.catalog-ttl-ms:5000}") long catalogTtlMillis) {
+        this.catalogCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(catalogTtlMillis))
+                .maximumSize(1)
+                .build();
+    }
+
+    /**
+     * 首页数据，userId为null时只返回分类和商品
+     */
+    public Map<String, Object> bootstrap(Long userId) {
+        CompletableFuture<User> user = null;
+        CompletableFuture<Map<Long, Integer>> cart = null;
+        CompletableFuture<BigDecimal> balance = null;
+        if (userId != null) {
+            user = CompletableFuture.supplyAsync(() -> userService.findById(userId).orElse(null), executor);
+            cart = CompletableFuture.supplyAsync(() -> shoppingCartService.getCartQuantities(userId), executor);
+            balance = CompletableFuture.supplyAsync(() -> walletService.getBalance(userId), executor);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>(catalog());
+        if (userId != null) {
+            Map<Long, Integer> quantities = join(cart);
+            result.put("user", join(user));
+            result.put("cart", quantities);
+            result.put("cartCount", quantities.values().stream().mapToInt(Integer::intValue).sum());
+            result.put("balance", join(balance));
+        }
+        return result;
+    }
+
+    private Map<String, Object> catalog() {
+        return catalogCache.get(CATALOG, key -> {
+            CompletableFuture<List<Category>> categories =
+                    CompletableFuture.supplyAsync(categoryService::getAllCategories, executor);
+            CompletableFuture<List<Product>> products =
+                    CompletableFuture.supplyAsync(productService::getAllProducts, executor);
+            Map<String, Object> catalog = new LinkedHashMap<>();
+            catalog.put("categories", join(categories));
+            catalog.put("products", join(products));
+            return catalog;
+        });
+    }
+
+    /**
+     * 等待并行查询结果，查询抛出的异常原样抛出
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
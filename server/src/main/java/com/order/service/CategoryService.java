@@ -1,22 +1,33 @@
 package com.order.service;
 
+import com.order.coalescing.Coalesced;
+import com.order.datasource.Workload;
+import com.order.datasource.WorkloadPool;
 import com.order.entity.Category;
 import com.order.repository.CategoryRepository;
+import com.order.sharding.DefaultShard;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
+@WorkloadPool(Workload.CATALOG)
+@DefaultShard
 public class CategoryService {
     
     @Autowired
     private CategoryRepository categoryRepository;
     
+    @Coalesced(allowStale = true)
+    @Transactional(readOnly = true)
     public List<Category> getAllCategories() {
         return categoryRepository.findAvailableCategories();
     }
     
+    @Coalesced(allowStale = true)
+    @Transactional(readOnly = true)
     public Category getCategoryById(Long id) {
         return categoryRepository.findById(id).orElse(null);
     }
@@ -0,0 +1,75 @@
+package com.order.service;
+
+import com.order.common.Money;
+import com.order.delivery.DeliveryZoneGrid;
+import com.order.delivery.DeliveryZoneLoader;
+import com.order.entity.Order;
+import com.order.entity.UserAddress;
+import com.order.exception.BusinessException;
+import com.order.exception.ErrorCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * 配送费计算服务
+ * 按收货地址坐标所在配送区域计费，区域与费用见配送区域规则（delivery-zones.json），查表计算，不做距离计算
+ */
+@Service
+public class DeliveryFeeService {
+
+    @Autowired
+    private DeliveryZoneLoader deliveryZoneLoader;
+
+    /**
+     * 计算配送费
+     * @param order 订单对象
+     * @param address 已保存的收货地址，没有坐标时收取默认配送费
+     * @return 配送费
+     * @throws BusinessException 收货地址超出配送范围
+     */
+    public Money calculateDeliveryFee(Order order, UserAddress address) {
+        // 同一次计算使用同一版本的规则
+        DeliveryZoneGrid grid = deliveryZoneLoader.getGrid();
+        Money deliveryFee = grid.getDefaultFee();
+
+        // 有坐标时按配送区域计费，超出范围的地址即使满额也不能下单
+        if (address.getLatitude() != null && address.getLongitude() != null) {
+            int zone = grid.zoneAt(address.getLatitude(), address.getLongitude());
+            if (zone == DeliveryZoneGrid.NO_ZONE) {
+                throw new BusinessException(ErrorCode.OUT_OF_DELIVERY_RANGE, "收货地址超出配送范围");
+            }
+            deliveryFee = grid.fee(zone);
+        }
+
+        // 如果订单金额满免配送费门槛，免配送费
+        if (order.getTotalAmount().compareTo(grid.getFreeDeliveryThreshold()) >= 0) {
+            return Money.ZERO;
+        }
+        return deliveryFee;
+    }
+
+    /**
+     * 检查是否免配送费
+     * @param orderAmount 订单金额
+     * @return 是否免配送费
+     */
+    public boolean isFreeDelivery(Money orderAmount) {
+        return orderAmount.compareTo(getFreeDeliveryThreshold()) >= 0;
+    }
+
+    /**
+     * 获取免配送费门槛
+     * @return 免配送费门槛金额
+     */
+    public Money getFreeDeliveryThreshold() {
+        return deliveryZoneLoader.getGrid().getFreeDeliveryThreshold();
+    }
+
+    /**
+     * 获取基础配送费（收货地址没有坐标时的配送费）
+     * @return 基础配送费
+     */
+    public Money getBaseDeliveryFee() {
+        return deliveryZoneLoader.getGrid().getDefaultFee();
+    }
+}
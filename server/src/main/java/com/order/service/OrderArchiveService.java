@@ -0,0 +1,248 @@
+package com.order.service;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.order.common.Money;
+import com.order.datasource.Workload;
+import com.order.datasource.WorkloadPool;
+import com.order.entity.Order;
+import com.order.entity.OrderArchive;
+import com.order.entity.OrderItem;
+import com.order.enums.OrderStatus;
+import com.order.enums.PaymentStatus;
+import com.order.repository.OrderArchiveRepository;
+import com.order.repository.OrderRepository;
+import com.order.sharding.ShardedOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 订单归档服务
+ * 定期将终态（已完成/已取消/已拒绝）且超过保留天数的订单分批迁移到归档表，保持热表足够小
+ */
+@Service
+public class OrderArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveService.class);
+
+    // 可归档的订单终态
+    private static final List<OrderStatus> TERMINAL_STATUSES = Collections.unmodifiableList(Arrays.asList(
+            OrderStatus.COMPLETED,
+            OrderStatus.CANCELLED,
+            OrderStatus.REJECTED));
+
+    @Value("${order.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${order.archive.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${order.archive.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Autowired
+    private ShardedOrderRepository shardedOrderRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderArchiveService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 是否开启订单归档（order.archive.enabled）
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 定时归档任务
+     */
+    @WorkloadPool(Workload.REPORTING)
+    @Scheduled(cron = "${order.archive.cron:0 30 3 * * ?}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveTerminalOrders();
+        }
+    }
+
+    /**
+     * 归档终态订单，分片部署时逐个分片归档（归档表与订单位于同一分片）
+     * @return 归档的订单数量
+     */
+    @WorkloadPool(Workload.REPORTING)
+    public int archiveTerminalOrders() {
+        AtomicInteger total = new AtomicInteger();
+        shardedOrderRepository.forEachShard(() -> total.addAndGet(archiveCurrentShard()));
+        return total.get();
+    }
+
+    /**
+     * 归档当前分片的终态订单，每批一个独立事务，避免长事务和大批量锁
+     */
+    private int archiveCurrentShard() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        while (true) {
+            Integer archived = transactionTemplate.execute(status -> archiveBatch(before));
+            total += archived;
+            if (archived < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("订单归档完成，共归档 {} 个订单（{} 之前）", total, before);
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime before) {
+        List<Long> ids = orderRepository.findArchivableIds(TERMINAL_STATUSES, before, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        List<Order> orders = orderRepository.findWithItemsByIdIn(ids);
+        for (Order order : orders) {
+            // ID沿用原订单，直接persist避免merge前的逐行查询
+            entityManager.persist(toArchive(order));
+        }
+        entityManager.flush();
+
+        orderRepository.deleteItemsByOrderIdIn(ids);
+        orderRepository.deleteByIdIn(ids);
+        entityManager.clear();
+        return ids.size();
+    }
+
+    /**
+     * 根据用户ID查找归档订单
+     */
+    public List<Order> findByUserId(Long userId) {
+        List<OrderArchive> archives = orderArchiveRepository.findByUserIdOrderByCreatedTimeDesc(userId);
+        List<Order> orders = new ArrayList<>(archives.size());
+        for (OrderArchive archive : archives) {
+            orders.add(toOrder(archive));
+        }
+        return orders;
+    }
+
+    /**
+     * 根据订单号查找归档订单
+     */
+    public Order findByOrderNo(String orderNo) {
+        return orderArchiveRepository.findByOrderNo(orderNo).map(this::toOrder).orElse(null);
+    }
+
+    /**
+     * 根据ID查找归档订单
+     */
+    public Order findById(Long orderId) {
+        return orderArchiveRepository.findById(orderId).map(this::toOrder).orElse(null);
+    }
+
+    private OrderArchive toArchive(Order order) {
+        OrderArchive archive = new OrderArchive();
+        archive.setId(order.getId());
+        archive.setOrderNo(order.getOrderNo());
+        archive.setUserId(order.getUserId());
+        // 归档表为冷数据，金额和状态仍以 DECIMAL 和代码字符串存储
+        archive.setTotalAmount(decimal(order.getTotalAmount()));
+        archive.setDiscountAmount(decimal(order.getDiscountAmount()));
+        archive.setActualAmount(decimal(order.getActualAmount()));
+        archive.setDeliveryFee(decimal(order.getDeliveryFee()));
+        archive.setStatus(order.getStatus().getCode());
+        archive.setPaymentStatus(order.getPaymentStatus().getCode());
+        archive.setDeliveryAddress(order.getDeliveryAddress());
+        archive.setContactName(order.getContactName());
+        archive.setContactPhone(order.getContactPhone());
+        archive.setRemark(order.getRemark());
+        archive.setCreatedTime(order.getCreatedTime());
+        archive.setUpdatedTime(order.getUpdatedTime());
+
+        JSONArray items = new JSONArray();
+        if (order.getOrderItems() != null) {
+            for (OrderItem orderItem : order.getOrderItems()) {
+                JSONObject item = new JSONObject(true);
+                item.put("id", orderItem.getId());
+                item.put("productId", orderItem.getProductId());
+                item.put("productName", orderItem.getProductName());
+                item.put("productPrice", decimal(orderItem.getProductPrice()));
+                item.put("quantity", orderItem.getQuantity());
+                item.put("subtotal", decimal(orderItem.getSubtotal()));
+                item.put("image", orderItem.getImage());
+                items.add(item);
+            }
+        }
+        archive.setItems(items.toJSONString());
+        return archive;
+    }
+
+    private Order toOrder(OrderArchive archive) {
+        Order order = new Order();
+        order.setId(archive.getId());
+        order.setOrderNo(archive.getOrderNo());
+        order.setUserId(archive.getUserId());
+        order.setTotalAmount(money(archive.getTotalAmount()));
+        order.setDiscountAmount(money(archive.getDiscountAmount()));
+        order.setActualAmount(money(archive.getActualAmount()));
+        order.setDeliveryFee(money(archive.getDeliveryFee()));
+        order.setStatus(OrderStatus.fromCode(archive.getStatus()));
+        order.setPaymentStatus(PaymentStatus.fromCode(archive.getPaymentStatus()));
+        order.setDeliveryAddress(archive.getDeliveryAddress());
+        order.setContactName(archive.getContactName());
+        order.setContactPhone(archive.getContactPhone());
+        order.setRemark(archive.getRemark());
+        order.setCreatedTime(archive.getCreatedTime());
+        order.setUpdatedTime(archive.getUpdatedTime());
+
+        List<OrderItem> orderItems = new ArrayList<>();
+        JSONArray items = archive.getItems() != null ? JSON.parseArray(archive.getItems()) : new JSONArray();
+        for (int i = 0; i < items.size(); i++) {
+            JSONObject item = items.getJSONObject(i);
+            OrderItem orderItem = new OrderItem(order, item.getLong("productId"), item.getString("productName"),
+                    money(item.getBigDecimal("productPrice")), item.getInteger("quantity"), money(item.getBigDecimal("subtotal")));
+            orderItem.setId(item.getLong("id"));
+            orderItem.setImage(item.getString("image"));
+            orderItems.add(orderItem);
+        }
+        order.setOrderItems(orderItems);
+        return order;
+    }
+
+    private static BigDecimal decimal(Money value) {
+        return value != null ? value.toBigDecimal() : null;
+    }
+
+    private static Money money(BigDecimal value) {
+        return value != null ? Money.of(value) : null;
+    }
+}
@@ -0,0 +1,251 @@
+package com.order.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.common.Money;
+import com.order.datasource.Workload;
+import com.order.datasource.WorkloadPool;
+import com.order.entity.Order;
+import com.order.enums.OrderStatus;
+import com.order.repository.OrderRepository;
+import com.order.sharding.OrderShardRouter;
+import com.order.sharding.ShardContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 订单导出服务（财务对账）
+ * 通过只读游标逐行读取订单并直接写入输出流，内存占用与导出的订单数量无关
+ * 多分片模式下依次导出每个分片，各分片内按创建时间排序
+ */
+@Service
+@WorkloadPool(Workload.REPORTING)
+public class OrderExportService {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    // 每写出多少行刷新一次输出流
+    private static final int FLUSH_INTERVAL = 500;
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String CSV_HEADER = "订单号,用户ID,订单状态,支付状态,商品金额,优惠金额,配送费,实付金额,"
+            + "联系人,联系电话,配送地址,备注,创建时间";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderShardRouter orderShardRouter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate shardReadTemplate;
+
+    public OrderExportService(PlatformTransactionManager transactionManager) {
+        // 每个分片在独立的只读事务中读取，事务开始前已切换分片上下文
+        this.shardReadTemplate = new TransactionTemplate(transactionManager);
+        this.shardReadTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardReadTemplate.setReadOnly(true);
+    }
+
+    /**
+     * 是否支持的导出格式
+     */
+    public boolean isSupportedFormat(String format) {
+        return FORMAT_CSV.equals(format) || FORMAT_NDJSON.equals(format);
+    }
+
+    /**
+     * 导出订单
+     * @param start 开始时间（含）
+     * @param end 结束时间（不含）
+     * @param status 订单状态，为null时导出全部状态
+     * @param format 导出格式：csv 或 ndjson
+     * @param out 输出流，由调用方负责关闭
+     * @return 导出的订单数量
+     */
+    public long exportOrders(LocalDateTime start, LocalDateTime end, OrderStatus status,
+                             String format, OutputStream out) throws IOException {
+        if (!isSupportedFormat(format)) {
+            throw new IllegalArgumentException("不支持的导出格式：" + format);
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            JsonGenerator generator = null;
+            if (FORMAT_CSV.equals(format)) {
+                writeCsvHeader(writer);
+            } else {
+                generator = objectMapper.getFactory().createGenerator(writer);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // 每行一个JSON对象，行分隔由换行符负责
+                generator.setRootValueSeparator(null);
+            }
+
+            long count = 0;
+            for (int shard = 0; shard < orderShardRouter.getShardCount(); shard++) {
+                count = exportShard(shard, start, end, status, writer, generator, count);
+            }
+            if (generator != null) {
+                generator.close();
+            }
+            return count;
+        } finally {
+            writer.flush();
+        }
+    }
+
+    /**
+     * 在指定分片上流式导出，返回累计导出数量
+     */
+    private long exportShard(int shard, LocalDateTime start, LocalDateTime end, OrderStatus status,
+                             Writer writer, JsonGenerator generator, long count) throws IOException {
+        try {
+            return ShardContext.callOn(shard, () -> shardReadTemplate.execute(transaction -> {
+                long total = count;
+                try (Stream<Order> orders = orderRepository.streamForExport(start, end, status)) {
+                    Iterator<Order> iterator = orders.iterator();
+                    while (iterator.hasNext()) {
+                        Order order = iterator.next();
+                        if (generator == null) {
+                            writeCsvRow(order, writer);
+                        } else {
+                            writeNdjsonRow(order, generator, writer);
+                        }
+                        total = afterRow(order, writer, total);
+                    }
+                    return total;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeCsvHeader(Writer writer) throws IOException {
+        // 写入BOM，便于Excel正确识别UTF-8中文
+        writer.write('\uFEFF');
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+    }
+
+    private static void writeCsvRow(Order order, Writer writer) throws IOException {
+        writer.write(csv(order.getOrderNo()));
+        writer.write(',');
+        writer.write(String.valueOf(order.getUserId()));
+        writer.write(',');
+        writer.write(csv(order.getStatus().getCode()));
+        writer.write(',');
+        writer.write(csv(order.getPaymentStatus().getCode()));
+        writer.write(',');
+        writer.write(amount(order.getTotalAmount()));
+        writer.write(',');
+        writer.write(amount(order.getDiscountAmount()));
+        writer.write(',');
+        writer.write(amount(order.getDeliveryFee()));
+        writer.write(',');
+        writer.write(amount(order.getActualAmount()));
+        writer.write(',');
+        writer.write(csv(order.getContactName()));
+        writer.write(',');
+        writer.write(csv(order.getContactPhone()));
+        writer.write(',');
+        writer.write(csv(order.getDeliveryAddress()));
+        writer.write(',');
+        writer.write(csv(order.getRemark()));
+        writer.write(',');
+        writer.write(time(order.getCreatedTime()));
+        writer.write('\n');
+    }
+
+    private static void writeNdjsonRow(Order order, JsonGenerator generator, Writer writer) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("orderNo", order.getOrderNo());
+        generator.writeNumberField("userId", order.getUserId());
+        generator.writeStringField("status", order.getStatus().getCode());
+        generator.writeStringField("paymentStatus", order.getPaymentStatus().getCode());
+        generator.writeNumberField("totalAmount", decimal(order.getTotalAmount()));
+        generator.writeNumberField("discountAmount", decimal(order.getDiscountAmount()));
+        generator.writeNumberField("deliveryFee", decimal(order.getDeliveryFee()));
+        generator.writeNumberField("actualAmount", decimal(order.getActualAmount()));
+        generator.writeStringField("contactName", order.getContactName());
+        generator.writeStringField("contactPhone", order.getContactPhone());
+        generator.writeStringField("deliveryAddress", order.getDeliveryAddress());
+        generator.writeStringField("remark", order.getRemark());
+        generator.writeStringField("createdTime", order.getCreatedTime() != null ? time(order.getCreatedTime()) : null);
+        generator.writeEndObject();
+        generator.flush();
+        writer.write('\n');
+    }
+
+    /**
+     * 每行写出后将订单移出持久化上下文，避免一级缓存随导出量增长
+     */
+    private long afterRow(Order order, Writer writer, long count) throws IOException {
+        entityManager.detach(order);
+        count++;
+        if (count % FLUSH_INTERVAL == 0) {
+            writer.flush();
+        }
+        return count;
+    }
+
+    private static String amount(Money value) {
+        return value != null ? value.toString() : "";
+    }
+
+    private static BigDecimal decimal(Money value) {
+        return value != null ? value.toBigDecimal() : null;
+    }
+
+    private static String time(LocalDateTime value) {
+        return value != null ? TIME_FORMATTER.format(value) : "";
+    }
+
+    /**
+     * CSV字段转义：包含逗号、引号或换行时用双引号包裹
+     */
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean needQuote = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needQuote = true;
+                break;
+            }
+        }
+        if (!needQuote) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,567 @@
+package com.order.service;
+
+import com.order.coalescing.Coalesced;
+import com.order.common.Money;
+import com.order.datasource.Workload;
+import com.order.datasource.WorkloadPool;
+import com.order.entity.Order;
+import com.order.entity.OrderItem;
+import com.order.entity.Product;
+import com.order.entity.ShoppingCart;
+import com.order.entity.UserAddress;
+import com.order.entity.Wallet;
+import com.order.enums.OrderStatus;
+import com.order.enums.PaymentStatus;
+import com.order.exception.BusinessException;
+import com.order.exception.ErrorCode;
+import com.order.exception.InsufficientBalanceException;
+import com.order.exception.NotFoundException;
+import com.order.exception.OrderStateException;
+import com.order.id.OrderNoGenerator;
+import com.order.logging.LogContextInterceptor;
+import com.order.repository.OrderRepository;
+import com.order.repository.ShoppingCartRepository;
+import com.order.repository.UserAddressRepository;
+import com.order.repository.WalletRepository;
+import com.order.sharding.KWayMerger;
+import com.order.sharding.OrderShardRouter;
+import com.order.sharding.ShardedOrderRepository;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 订单Service类
+ */
+@Service
+@WorkloadPool(Workload.TRANSACTIONAL)
+public class OrderService {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private UserAddressRepository userAddressRepository;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private DeliveryFeeService deliveryFeeService;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private ShardedOrderRepository shardedOrderRepository;
+
+    @Autowired
+    private OrderShardRouter orderShardRouter;
+
+    @Autowired
+    private OrderNoGenerator orderNoGenerator;
+
+    /**
+     * 根据用户ID查找订单（包含已归档的历史订单）
+     */
+    @Transactional(readOnly = true)
+    public List<Order> findByUserId(Long userId) {
+        List<Order> orders = shardedOrderRepository.findByUserId(userId);
+        List<Order> archivedOrders = orderArchiveService.findByUserId(userId);
+        if (archivedOrders.isEmpty()) {
+            return orders;
+        }
+        return KWayMerger.merge(Arrays.asList(orders, archivedOrders), ShardedOrderRepository.CREATED_TIME_DESC);
+    }
+
+    /**
+     * 根据订单号查找订单，热表不存在时查找归档表
+     * 订单状态会变化，并发查询只共享进行中的加载，不返回过期结果
+     */
+    @Coalesced
+    public Order findByOrderNo(String orderNo) {
+        return shardedOrderRepository.findByOrderNo(orderNo)
+                .orElseGet(() -> orderArchiveService.findByOrderNo(orderNo));
+    }
+
+    /**
+     * 根据ID查找订单，热表不存在时查找归档表
+     */
+    public Order findById(Long orderId) {
+        return shardedOrderRepository.findById(orderId)
+                .orElseGet(() -> orderArchiveService.findById(orderId));
+    }
+
+    /**
+     * 根据状态查找订单
+     */
+    @WorkloadPool(Workload.REPORTING)
+    public List<Order> findByStatus(String status) {
+        return shardedOrderRepository.findByStatus(parseStatus(status));
+    }
+
+    /**
+     * 查找所有订单
+     */
+    @WorkloadPool(Workload.REPORTING)
+    @Transactional(readOnly = true)
+    public List<Order> findAllOrders() {
+        return shardedOrderRepository.findAllOrders();
+    }
+
+    /**
+     * 创建订单（从购物车），使用已保存的收货地址，按地址坐标所在配送区域计算配送费
+     * 地址没有坐标时收取默认配送费
+     */
+    @Transactional
+    public Order createOrderFromCart(Long userId, String remark, Long addressId) {
+        UserAddress address = userAddressRepository.findByUserIdAndId(userId, addressId)
+                .orElseThrow(() -> new NotFoundException("地址不存在"));
+
+        // 获取购物车商品
+        List<ShoppingCart> cartItems = shoppingCartRepository.findByUserId(userId);
+        if (cartItems.isEmpty()) {
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER, "购物车为空，无法下单");
+        }
+
+        // 创建订单
+        Order order = new Order();
+        order.setOrderNo(generateOrderNo(userId));
+        MDC.put(LogContextInterceptor.ORDER_NO, order.getOrderNo());
+        order.setUserId(userId);
+        order.setStatus(OrderStatus.PENDING);
+        order.setRemark(remark);
+        order.setDeliveryAddress(address.getDeliveryAddress());
+        order.setContactName(address.getContactName());
+        order.setContactPhone(address.getContactPhone());
+
+        Money totalAmount = Money.ZERO;
+        List<OrderItem> orderItems = new ArrayList<>();
+
+        // 扣减库存（商品不存在或库存不足时整体失败）
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (ShoppingCart cartItem : cartItems) {
+            quantities.merge(cartItem.getProductId(), cartItem.getQuantity(), Integer::sum);
+        }
+        Map<Long, Product> products = productService.deductStock(quantities);
+        if (orderShardRouter.isEnabled()) {
+            // 库存已在默认分片单独提交，订单事务回滚时归还
+            runAfterCompletion(false, () -> productService.restoreStock(quantities));
+        }
+
+        // 处理每个购物车商品
+        for (ShoppingCart cartItem : cartItems) {
+            Product product = products.get(cartItem.getProductId());
+
+            // 创建订单项
+            OrderItem orderItem = new OrderItem();
+            orderItem.setOrder(order);
+            orderItem.setProductId(product.getId());
+            orderItem.setProductName(product.getName());
+            orderItem.setProductPrice(product.getPrice());
+            orderItem.setQuantity(cartItem.getQuantity());
+            orderItem.setImage(product.getImageUrl());
+
+            // 计算小计
+            Money subtotal = product.getPrice().times(cartItem.getQuantity());
+            orderItem.setSubtotal(subtotal);
+
+            orderItems.add(orderItem);
+            totalAmount = totalAmount.plus(subtotal);
+        }
+
+        order.setTotalAmount(totalAmount);
+        
+        // 计算配送费
+        Money deliveryFee = deliveryFeeService.calculateDeliveryFee(order, address);
+        order.setDeliveryFee(deliveryFee);
+        
+        // 实际金额 = 商品总金额 + 配送费 - 折扣
+        Money actualAmount = totalAmount.plus(deliveryFee).minus(order.getDiscountAmount());
+        order.setActualAmount(actualAmount);
+
+        // 先保存订单以获取ID
+        Order savedOrder = shardedOrderRepository.save(order);
+
+        // 设置订单项的订单关联并保存
+        for (OrderItem orderItem : orderItems) {
+            orderItem.setOrder(savedOrder);
+        }
+        savedOrder.setOrderItems(orderItems);
+
+        // 清空购物车
+        shoppingCartRepository.deleteByUserId(userId);
+
+        return savedOrder;
+    }
+
+    /**
+     * 支付订单
+     */
+    @Transactional
+    public Order payOrder(Long orderId) {
+        Order order = loadOrder(orderId);
+
+        if (order.getStatus() != OrderStatus.PENDING) {
+            throw new OrderStateException("订单状态不正确，无法支付");
+        }
+
+        // 检查钱包余额是否充足（钱包仍以BigDecimal记账）
+        BigDecimal actualAmount = order.getActualAmount().toBigDecimal();
+        if (!walletService.hasEnoughBalance(order.getUserId(), actualAmount)) {
+            throw new InsufficientBalanceException("钱包余额不足，当前余额：" + walletService.getBalance(order.getUserId()) + "元，需要：" + order.getActualAmount() + "元");
+        }
+
+        // 使用钱包余额支付
+        boolean paymentSuccess = walletService.consume(order.getUserId(), actualAmount);
+        if (!paymentSuccess) {
+            throw new BusinessException(ErrorCode.PAYMENT_FAILED, "支付失败，请检查钱包余额");
+        }
+
+        // 更新订单状态为已支付
+        order.setStatus(OrderStatus.PAID);
+        order.setPaymentStatus(PaymentStatus.PAID);
+
+        return orderRepository.save(order);
+    }
+
+    /**
+     * 更新订单状态
+     */
+    @Transactional
+    public Order updateOrderStatus(Long orderId, String status) {
+        Order order = loadOrder(orderId);
+
+        OrderStatus newStatus = parseStatus(status);
+        order.setStatus(newStatus);
+        
+        // 如果是取消订单，恢复库存
+        if (newStatus == OrderStatus.CANCELLED) {
+            restoreStock(order);
+        }
+
+        return orderRepository.save(order);
+    }
+
+    /**
+     * 取消订单
+     */
+    @Transactional
+    public void cancelOrder(Long orderId) {
+        updateOrderStatus(orderId, OrderStatus.CANCELLED.getCode());
+    }
+
+    /**
+     * 完成订单
+     */
+    // 删除重复的completeOrder方法，使用下面返回Order的新版本
+
+    /**
+     * 解析接口传入的订单状态代码
+     */
+    private OrderStatus parseStatus(String status) {
+        try {
+            return OrderStatus.fromCode(status);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER, "未知的订单状态：" + status);
+        }
+    }
+
+    /**
+     * 加载待处理的订单，并将订单号放入MDC，后续日志可按订单号检索
+     */
+    private Order loadOrder(Long orderId) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new NotFoundException("订单不存在"));
+        MDC.put(LogContextInterceptor.ORDER_NO, order.getOrderNo());
+        return order;
+    }
+
+    /**
+     * 生成订单号，订单号中包含用户所在分片
+     */
+    private String generateOrderNo(Long userId) {
+        return orderNoGenerator.next(orderShardRouter.shardForUser(userId));
+    }
+
+    /**
+     * 恢复库存
+     */
+    private void restoreStock(Order order) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (OrderItem orderItem : order.getOrderItems()) {
+            quantities.merge(orderItem.getProductId(), orderItem.getQuantity(), Integer::sum);
+        }
+        if (orderShardRouter.isEnabled()) {
+            // 库存在默认分片单独提交，订单状态提交后再归还，避免订单回滚后库存多出
+            runAfterCompletion(true, () -> productService.restoreStock(quantities));
+        } else {
+            productService.restoreStock(quantities);
+        }
+    }
+
+    /**
+     * 在当前订单事务提交（committed=true）或回滚（committed=false）后执行
+     * 商品库存位于默认分片，与订单所在分片不在同一事务中，由此保证两边最终一致
+     */
+    private static void runAfterCompletion(boolean committed, Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == (committed ? STATUS_COMMITTED : STATUS_ROLLED_BACK)) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * 根据状态查找订单（带参数）
+     */
+    @WorkloadPool(Workload.REPORTING)
+    public List<Order> findByStatusOrderByCreatedTimeDesc(String status) {
+        if (status == null || status.isEmpty()) {
+            return shardedOrderRepository.findByStatus(OrderStatus.PENDING);
+        }
+        return shardedOrderRepository.findByStatus(parseStatus(status));
+    }
+
+    /**
+     * 用户取消订单
+     */
+    @Transactional
+    public Order cancelOrderByUser(Long orderId, Long userId) {
+        Order order = loadOrder(orderId);
+
+        // 验证订单是否属于当前用户
+        if (!order.getUserId().equals(userId)) {
+            throw new BusinessException(ErrorCode.FORBIDDEN, "无权限操作此订单");
+        }
+
+        // 检查订单状态是否可以取消
+        OrderStatus currentStatus = order.getStatus();
+        if (currentStatus != OrderStatus.PENDING && currentStatus != OrderStatus.CONFIRMED) {
+            throw new OrderStateException("当前订单状态不允许取消");
+        }
+
+        // 如果已支付，需要退款
+        if (order.getPaymentStatus() == PaymentStatus.PAID) {
+            // 退款到钱包
+            Wallet wallet = walletService.recharge(order.getUserId(), order.getActualAmount().toBigDecimal());
+            if (wallet == null) {
+                throw new BusinessException(ErrorCode.PAYMENT_FAILED, "退款失败，请联系客服");
+            }
+            order.setPaymentStatus(PaymentStatus.REFUNDED);
+        }
+
+        // 更新订单状态为已取消
+        order.setStatus(OrderStatus.CANCELLED);
+        
+        // 恢复商品库存
+        restoreStock(order);
+
+        return orderRepository.save(order);
+    }
+
+    /**
+     * 商家确认订单
+     */
+    @Transactional
+    public Order confirmOrder(Long orderId) {
+        Order order = loadOrder(orderId);
+
+        OrderStatus currentStatus = order.getStatus();
+        if (currentStatus != OrderStatus.PENDING && currentStatus != OrderStatus.PAID) {
+            throw new OrderStateException("只有待处理或已支付的订单才能确认");
+        }
+
+        // 检查支付状态，只有已支付的订单才能确认
+        if (order.getPaymentStatus() != PaymentStatus.PAID) {
+            throw new OrderStateException("订单未支付，无法确认接单");
+        }
+
+        order.setStatus(OrderStatus.CONFIRMED);
+        return orderRepository.save(order);
+    }
+
+    /**
+     * 商家拒绝订单
+     */
+    @Transactional
+    public Order rejectOrder(Long orderId, String reason) {
+        Order order = loadOrder(orderId);
+
+        // 如果已支付，需要退款
+        if (order.getPaymentStatus() == PaymentStatus.PAID) {
+            // 退款到钱包
+            Wallet wallet = walletService.recharge(order.getUserId(), order.getActualAmount().toBigDecimal());
+            if (wallet == null) {
+                throw new BusinessException(ErrorCode.PAYMENT_FAILED, "退款失败，请联系客服");
+            }
+            order.setPaymentStatus(PaymentStatus.REFUNDED);
+        }
+
+        // 更新订单状态为已拒绝
+        order.setStatus(OrderStatus.REJECTED);
+        if (reason != null && !reason.trim().isEmpty()) {
+            order.setRemark("拒绝原因：" + reason);
+        }
+
+        // 恢复商品库存
+        restoreStock(order);
+
+        return orderRepository.save(order);
+    }
+
+    /**
+     * 订单开始配送
+     */
+    @Transactional
+    public Order startDelivery(Long orderId) {
+        Order order = loadOrder(orderId);
+
+        OrderStatus currentStatus = order.getStatus();
+        if (currentStatus != OrderStatus.CONFIRMED && currentStatus != OrderStatus.PREPARING) {
+            throw new OrderStateException("只有已确认或准备中的订单才能开始配送");
+        }
+
+        order.setStatus(OrderStatus.DELIVERING);
+        return orderRepository.save(order);
+    }
+
+    /**
+     * 订单送达
+     */
+    @Transactional
+    public Order deliverOrder(Long orderId) {
+        Order order = loadOrder(orderId);
+
+        OrderStatus currentStatus = order.getStatus();
+        if (currentStatus != OrderStatus.DELIVERING) {
+            throw new OrderStateException("只有配送中的订单才能标记为已送达");
+        }
+
+        order.setStatus(OrderStatus.DELIVERED);
+        return orderRepository.save(order);
+    }
+
+    /**
+     * 完成订单（用户确认收货后）
+     */
+    @Transactional
+    public Order completeOrder(Long orderId) {
+        Order order = loadOrder(orderId);
+
+        OrderStatus currentStatus = order.getStatus();
+        if (currentStatus != OrderStatus.DELIVERED) {
+            throw new OrderStateException("只有已送达的订单才能完成");
+        }
+
+        order.setStatus(OrderStatus.COMPLETED);
+        return orderRepository.save(order);
+    }
+
+    /**
+     * 将订单商品重新加入购物车
+     */
+    @Transactional
+    public int addOrderItemsToCart(Order order, Long userId) {
+        int addedCount = 0;
+        
+        // 清空用户现有购物车（可选，根据业务需求）
+        // shoppingCartRepository.deleteByUserId(userId);
+
+        // 一次加载购物车，避免逐项查询触发自动flush打断批量插入
+        Map<Long, ShoppingCart> cartByProductId = new HashMap<>();
+        for (ShoppingCart cartItem : shoppingCartRepository.findByUserId(userId)) {
+            cartByProductId.put(cartItem.getProductId(), cartItem);
+        }
+        List<ShoppingCart> changed = new ArrayList<>();
+        List<Long> productIds = new ArrayList<>();
+        for (OrderItem orderItem : order.getOrderItems()) {
+            productIds.add(orderItem.getProductId());
+        }
+        Map<Long, Product> products = productService.getProductsForStock(productIds);
+        
+        for (OrderItem orderItem : order.getOrderItems()) {
+            // 检查商品是否还存在且可用
+            Product product = products.get(orderItem.getProductId());
+            if (product == null || product.getStatus() != 1) {
+                continue; // 跳过不存在或已下架的商品
+            }
+            
+            // 检查库存
+            if (product.getStock() < orderItem.getQuantity()) {
+                continue; // 跳过库存不足的商品
+            }
+            
+            // 检查购物车中是否已有该商品
+            ShoppingCart existingCartItem = cartByProductId.get(orderItem.getProductId());
+            
+            if (existingCartItem != null) {
+                // 更新现有购物车项的数量
+                int newQuantity = existingCartItem.getQuantity() + orderItem.getQuantity();
+                existingCartItem.setQuantity(newQuantity);
+                changed.add(existingCartItem);
+            } else {
+                // 创建新的购物车项
+                ShoppingCart cartItem = new ShoppingCart();
+                cartItem.setUserId(userId);
+                cartItem.setProductId(orderItem.getProductId());
+                cartItem.setQuantity(orderItem.getQuantity());
+                cartByProductId.put(cartItem.getProductId(), cartItem);
+                changed.add(cartItem);
+            }
+            
+            addedCount++;
+        }
+
+        shoppingCartRepository.saveAll(changed);
+        
+        return addedCount;
+    }
+
+    /**
+     * 获取商家待处理订单列表
+     */
+    @WorkloadPool(Workload.REPORTING)
+    public List<Order> getPendingOrdersForMerchant() {
+        return shardedOrderRepository.findByStatus(OrderStatus.PENDING);
+    }
+
+    /**
+     * 获取商家所有订单列表
+     */
+    @WorkloadPool(Workload.REPORTING)
+    public List<Order> getAllOrdersForMerchant() {
+        return shardedOrderRepository.findAllOrders();
+    }
+
+    public DeliveryFeeService getDeliveryFeeService() {
+        return deliveryFeeService;
+    }
+
+    public WalletService getWalletService() {
+        return walletService;
+    }
+}
\ No newline at end of file
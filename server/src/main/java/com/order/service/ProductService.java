@@ -0,0 +1,173 @@
+package com.order.service;
+
+import com.order.coalescing.Coalesced;
+import com.order.datasource.Workload;
+import com.order.datasource.WorkloadPool;
+import com.order.entity.Product;
+import com.order.exception.NotFoundException;
+import com.order.exception.OutOfStockException;
+import com.order.repository.ProductRepository;
+import com.order.sharding.DefaultShard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@WorkloadPool(Workload.CATALOG)
+@DefaultShard
+public class ProductService {
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Coalesced(allowStale = true)
+    @Transactional(readOnly = true)
+    public List<Product> getAllProducts() {
+        return productRepository.findAvailableProducts();
+    }
+    
+    @Coalesced(allowStale = true)
+    @Transactional(readOnly = true)
+    public List<Product> getProductsByCategory(Long categoryId) {
+        return productRepository.findAvailableProductsByCategory(categoryId);
+    }
+    
+    @Coalesced(allowStale = true)
+    @Transactional(readOnly = true)
+    public Product getProductById(Long id) {
+        return productRepository.findById(id).orElse(null);
+    }
+    
+    /**
+     * 按ID批量获取商品，按请求顺序返回（重复ID只返回一次，不存在的ID忽略）
+     * 二级缓存中已有的商品直接取缓存，其余商品用一条IN查询加载
+     */
+    @Coalesced(allowStale = true)
+    @Transactional(readOnly = true)
+    public List<Product> getProductsByIds(List<Long> ids) {
+        Cache cache = entityManagerFactory.getCache();
+        Map<Long, Product> products = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (cache.contains(Product.class, id)) {
+                productRepository.findById(id).ifPresent(product -> products.put(id, product));
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Product product : productRepository.findAllById(missing)) {
+                products.put(product.getId(), product);
+            }
+        }
+        
+        List<Product> result = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Product product = products.get(id);
+            if (product != null) {
+                result.add(product);
+            }
+        }
+        return result;
+    }
+    
+    @Coalesced
+    @Transactional(readOnly = true)
+    public List<Product> searchProducts(String keyword) {
+        return productRepository.searchProducts(keyword);
+    }
+    
+    public Product saveProduct(Product product) {
+        return productRepository.save(product);
+    }
+    
+    public void deleteProduct(Long id) {
+        productRepository.deleteById(id);
+    }
+    
+    /**
+     * 库存校验绕过二级缓存，读取数据库中的最新库存
+     */
+    @Transactional(readOnly = true)
+    public boolean checkStock(Long productId, Integer quantity) {
+        Product product = productRepository.findByIdForStock(productId).orElse(null);
+        return product != null && product.getStock() >= quantity;
+    }
+    
+    public void reduceStock(Long productId, Integer quantity) {
+        Product product = productRepository.findByIdForStock(productId).orElse(null);
+        if (product != null && product.getStock() >= quantity) {
+            product.setStock(product.getStock() - quantity);
+            product.setSales(product.getSales() + quantity);
+            productRepository.save(product);
+        }
+    }
+    
+    /**
+     * 按ID批量读取最新库存（不走二级缓存），商品不存在时不包含在结果中
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Product> getProductsForStock(Collection<Long> productIds) {
+        Map<Long, Product> products = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return products;
+        }
+        for (Product product : productRepository.findAllByIdForStock(productIds)) {
+            products.put(product.getId(), product);
+        }
+        return products;
+    }
+    
+    /**
+     * 下单扣减库存，锁定商品行后校验，任一商品不存在或库存不足时整体失败
+     * @param quantities 商品ID -> 购买数量
+     * @return 商品ID -> 扣减后的商品
+     */
+    @Transactional
+    public Map<Long, Product> deductStock(Map<Long, Integer> quantities) {
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllByIdForUpdate(quantities.keySet())) {
+            products.put(product.getId(), product);
+        }
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product == null) {
+                throw new NotFoundException("商品不存在");
+            }
+            if (product.getStock() < entry.getValue()) {
+                throw new OutOfStockException("商品 " + product.getName() + " 库存不足");
+            }
+            product.setStock(product.getStock() - entry.getValue());
+        }
+        productRepository.saveAll(products.values());
+        return products;
+    }
+    
+    /**
+     * 归还库存（取消、拒绝订单或下单失败），已删除的商品忽略
+     * @param quantities 商品ID -> 归还数量
+     */
+    @Transactional
+    public void restoreStock(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        List<Product> products = productRepository.findAllByIdForUpdate(quantities.keySet());
+        for (Product product : products) {
+            product.setStock(product.getStock() + quantities.get(product.getId()));
+        }
+        productRepository.saveAll(products);
+    }
+}
@@ -1,18 +1,27 @@
 package com.order.service;
 
+import com.order.common.Money;
+import com.order.datasource.Workload;
+import com.order.datasource.WorkloadPool;
 import com.order.entity.Product;
 import com.order.entity.ShoppingCart;
+import com.order.exception.NotFoundException;
+import com.order.exception.OutOfStockException;
 import com.order.repository.ProductRepository;
 import com.order.repository.ShoppingCartRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
+@WorkloadPool(Workload.TRANSACTIONAL)
 public class ShoppingCartService {
     
     @Autowired
@@ -23,9 +32,20 @@ public class ShoppingCartService {
     
     public List<ShoppingCart> getCartByUserId(Long userId) {
         List<ShoppingCart> cartItems = shoppingCartRepository.findByUserId(userId);
-        // 为每个购物车项设置商品信息
+        if (cartItems.isEmpty()) {
+            return cartItems;
+        }
+        // 一次批量获取所有商品信息
+        List<Long> productIds = new ArrayList<>();
+        for (ShoppingCart item : cartItems) {
+            productIds.add(item.getProductId());
+        }
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productService.getProductsByIds(productIds)) {
+            products.put(product.getId(), product);
+        }
         for (ShoppingCart item : cartItems) {
-            Product product = productService.getProductById(item.getProductId());
+            Product product = products.get(item.getProductId());
             if (product != null) {
                 item.setProduct(product);
             }
@@ -38,11 +58,11 @@ public class ShoppingCartService {
         // 检查商品是否存在且有库存
         Product product = productService.getProductById(productId);
         if (product == null || product.getStatus() != 1) {
-            throw new RuntimeException("商品不存在或已下架");
+            throw new NotFoundException("商品不存在或已下架");
         }
         
         if (!productService.checkStock(productId, quantity)) {
-            throw new RuntimeException("商品库存不足");
+            throw new OutOfStockException("商品库存不足");
         }
         
         // 查找是否已在购物车中
@@ -56,7 +76,7 @@ public class ShoppingCartService {
             int newQuantity = cartItem.getQuantity() + quantity;
             
             if (!productService.checkStock(productId, newQuantity)) {
-                throw new RuntimeException("商品库存不足");
+                throw new OutOfStockException("商品库存不足");
             }
             
             cartItem.setQuantity(newQuantity);
@@ -77,7 +97,7 @@ public class ShoppingCartService {
         
         // 检查库存
         if (!productService.checkStock(productId, quantity)) {
-            throw new RuntimeException("商品库存不足");
+            throw new OutOfStockException("商品库存不足");
         }
         
         ShoppingCart cartItem = shoppingCartRepository.findByUserIdAndProductId(userId, productId);
@@ -85,7 +105,7 @@ public class ShoppingCartService {
             cartItem.setQuantity(quantity);
             return shoppingCartRepository.save(cartItem);
         }
-        throw new RuntimeException("购物车中不存在该商品");
+        throw new NotFoundException("购物车中不存在该商品");
     }
     
     @Transactional
@@ -98,19 +118,30 @@ public class ShoppingCartService {
         shoppingCartRepository.deleteByUserId(userId);
     }
     
-    public BigDecimal getCartTotal(Long userId) {
+    public Money getCartTotal(Long userId) {
         List<ShoppingCart> cartItems = getCartByUserId(userId);
-        BigDecimal total = BigDecimal.ZERO;
+        Money total = Money.ZERO;
         
         for (ShoppingCart item : cartItems) {
             if (item.getProduct() != null) {
-                total = total.add(item.getProduct().getPrice().multiply(new BigDecimal(item.getQuantity())));
+                total = total.plus(item.getProduct().getPrice().times(item.getQuantity()));
             }
         }
         
         return total;
     }
     
+    /**
+     * 购物车中各商品的数量（商品ID -> 数量），不加载商品信息
+     */
+    public Map<Long, Integer> getCartQuantities(Long userId) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (ShoppingCart item : shoppingCartRepository.findByUserId(userId)) {
+            quantities.put(item.getProductId(), item.getQuantity());
+        }
+        return quantities;
+    }
+    
     public int getCartItemCount(Long userId) {
         List<ShoppingCart> cartItems = shoppingCartRepository.findByUserId(userId);
         return cartItems.stream().mapToInt(ShoppingCart::getQuantity).sum();
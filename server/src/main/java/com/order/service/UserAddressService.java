@@ -0,0 +1,337 @@
+package com.order.service;
+
+import com.order.delivery.GeoPoint;
+import com.order.delivery.Geocoder;
+import com.order.entity.UserAddress;
+import com.order.exception.NotFoundException;
+import com.order.repository.UserAddressRepository;
+import com.order.sharding.OrderShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 用户收货地址服务
+ */
+@Service
+public class UserAddressService {
+    
+    @Autowired
+    private UserAddressRepository userAddressRepository;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private OrderShardRouter orderShardRouter;
+    
+    // 未配置地理编码服务时，只使用客户端提交的坐标
+    @Autowired(required = false)
+    private Geocoder geocoder;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    private final TransactionTemplate readOnlyTemplate;
+    
+    public UserAddressService(PlatformTransactionManager transactionManager) {
+        // 修改地址时先在事务外完成地理编码，再用编程式事务写库
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+    }
+    
+    /**
+     * 获取用户的所有收货地址
+     */
+    @Transactional(readOnly = true)
+    public List<UserAddress> getUserAddresses(Long userId) {
+        return userAddressRepository.findByUserIdOrderByIsDefaultDescCreateTimeDesc(userId);
+    }
+    
+    /**
+     * 获取用户的默认收货地址
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserAddress> getDefaultAddress(Long userId) {
+        return userAddressRepository.findByUserIdAndIsDefaultTrue(userId);
+    }
+    
+    /**
+     * 添加收货地址
+     */
+    @Transactional
+    public UserAddress addAddress(UserAddress address) {
+        // 连接在首条SQL时才获取，先编码可避免外部调用期间占用连接
+        locate(address);
+        
+        // 如果设置为默认地址，先将其他地址设为非默认
+        if (Boolean.TRUE.equals(address.getIsDefault())) {
+            userAddressRepository.setAllAddressesNonDefault(address.getUserId());
+        }
+        
+        // 如果是第一个地址，自动设为默认
+        long addressCount = userAddressRepository.countByUserId(address.getUserId());
+        if (addressCount == 0) {
+            address.setIsDefault(true);
+        }
+        
+        UserAddress savedAddress = userAddressRepository.save(address);
+        
+        // 如果是默认地址，更新用户表的默认地址ID
+        if (Boolean.TRUE.equals(savedAddress.getIsDefault())) {
+            updateDefaultAddressId(address.getUserId(), savedAddress.getId());
+        }
+        
+        return savedAddress;
+    }
+    
+    /**
+     * 更新收货地址
+     * 地理编码是外部HTTP调用，在事务开始前完成，编码期间不占用数据库连接
+     */
+    public UserAddress updateAddress(Long userId, Long addressId, UserAddress addressDetails) {
+        GeoPoint point = geocodeIfMoved(userId, addressId, addressDetails.getDeliveryAddress(),
+                addressDetails.getLatitude(), addressDetails.getLongitude());
+        return transactionTemplate.execute(status -> {
+            Optional<UserAddress> optionalAddress = userAddressRepository.findByUserIdAndId(userId, addressId);
+            if (!optionalAddress.isPresent()) {
+                throw new NotFoundException("地址不存在");
+            }
+            
+            UserAddress address = optionalAddress.get();
+            boolean moved = !Objects.equals(address.getDeliveryAddress(), addressDetails.getDeliveryAddress());
+            address.setDeliveryAddress(addressDetails.getDeliveryAddress());
+            address.setContactName(addressDetails.getContactName());
+            address.setContactPhone(addressDetails.getContactPhone());
+            address.setAddressTag(addressDetails.getAddressTag());
+            relocate(address, moved, addressDetails.getLatitude(), addressDetails.getLongitude(), point);
+            
+            // 如果设置为默认地址，先将其他地址设为非默认
+            if (Boolean.TRUE.equals(addressDetails.getIsDefault()) && !Boolean.TRUE.equals(address.getIsDefault())) {
+                userAddressRepository.setAllAddressesNonDefault(userId);
+                address.setIsDefault(true);
+                updateDefaultAddressId(userId, addressId);
+            }
+            
+            return userAddressRepository.save(address);
+        });
+    }
+    
+    /**
+     * 删除收货地址
+     */
+    @Transactional
+    public void deleteAddress(Long userId, Long addressId) {
+        Optional<UserAddress> optionalAddress = userAddressRepository.findByUserIdAndId(userId, addressId);
+        if (!optionalAddress.isPresent()) {
+            throw new NotFoundException("地址不存在");
+        }
+        
+        UserAddress address = optionalAddress.get();
+        boolean wasDefault = Boolean.TRUE.equals(address.getIsDefault());
+        if (wasDefault) {
+            // 先解除用户表对该地址的引用，再删除地址
+            updateDefaultAddressId(userId, null);
+        }
+        userAddressRepository.deleteById(addressId);
+        
+        // 如果删除的是默认地址，需要重新设置默认地址
+        if (wasDefault) {
+            resetDefaultAddress(userId);
+        }
+    }
+    
+    /**
+     * 批量删除收货地址，所有地址用一条DELETE语句删除，语句数与地址数量无关
+     * 任一地址不存在时整体回滚
+     */
+    @Transactional
+    public void batchDeleteAddresses(Long userId, Collection<Long> addressIds) {
+        Set<Long> ids = new HashSet<>(addressIds);
+        Optional<UserAddress> defaultAddress = userAddressRepository.findByUserIdAndIsDefaultTrue(userId);
+        boolean deletesDefault = defaultAddress.isPresent() && ids.contains(defaultAddress.get().getId());
+        if (deletesDefault) {
+            // 先解除用户表对默认地址的引用，再删除地址
+            updateDefaultAddressId(userId, null);
+        }
+        
+        int deleted = userAddressRepository.deleteByUserIdAndIdIn(userId, ids);
+        if (deleted != ids.size()) {
+            throw new NotFoundException("地址不存在");
+        }
+        
+        // 如果删除了默认地址，需要重新设置默认地址
+        if (deletesDefault) {
+            resetDefaultAddress(userId);
+        }
+    }
+    
+    /**
+     * 默认地址被删除后，将剩余地址中最新的一个设为默认
+     */
+    private void resetDefaultAddress(Long userId) {
+        List<UserAddress> remainingAddresses = userAddressRepository.findByUserIdOrderByIsDefaultDescCreateTimeDesc(userId);
+        if (!remainingAddresses.isEmpty()) {
+            UserAddress newDefaultAddress = remainingAddresses.get(0);
+            newDefaultAddress.setIsDefault(true);
+            userAddressRepository.save(newDefaultAddress);
+            updateDefaultAddressId(userId, newDefaultAddress.getId());
+        } else {
+            // 没有其他地址了，清空用户的默认地址ID
+            updateDefaultAddressId(userId, null);
+        }
+    }
+    
+    /**
+     * 设置默认地址
+     */
+    @Transactional
+    public void setDefaultAddress(Long userId, Long addressId) {
+        Optional<UserAddress> optionalAddress = userAddressRepository.findByUserIdAndId(userId, addressId);
+        if (!optionalAddress.isPresent()) {
+            throw new NotFoundException("地址不存在");
+        }
+        
+        // 将所有地址设为非默认
+        userAddressRepository.setAllAddressesNonDefault(userId);
+        
+        // 设置指定地址为默认
+        UserAddress address = optionalAddress.get();
+        address.setIsDefault(true);
+        userAddressRepository.save(address);
+        
+        // 更新用户表的默认地址ID
+        updateDefaultAddressId(userId, addressId);
+    }
+    
+    /**
+     * 部分更新收货地址，地理编码同样在事务开始前完成
+     */
+    public UserAddress patchAddress(Long userId, Long addressId, Map<String, Object> updates) {
+        Double latitude = coordinate(updates.get("latitude"));
+        Double longitude = coordinate(updates.get("longitude"));
+        GeoPoint point = updates.containsKey("deliveryAddress")
+                ? geocodeIfMoved(userId, addressId, (String) updates.get("deliveryAddress"), latitude, longitude)
+                : null;
+        return transactionTemplate.execute(status -> {
+            Optional<UserAddress> optionalAddress = userAddressRepository.findByUserIdAndId(userId, addressId);
+            if (!optionalAddress.isPresent()) {
+                throw new NotFoundException("地址不存在");
+            }
+            
+            UserAddress address = optionalAddress.get();
+            
+            // 部分更新字段
+            boolean moved = false;
+            if (updates.containsKey("deliveryAddress")) {
+                moved = !Objects.equals(address.getDeliveryAddress(), updates.get("deliveryAddress"));
+                address.setDeliveryAddress((String) updates.get("deliveryAddress"));
+            }
+            if (updates.containsKey("contactName")) {
+                address.setContactName((String) updates.get("contactName"));
+            }
+            if (updates.containsKey("contactPhone")) {
+                address.setContactPhone((String) updates.get("contactPhone"));
+            }
+            if (updates.containsKey("addressTag")) {
+                address.setAddressTag((String) updates.get("addressTag"));
+            }
+            relocate(address, moved, latitude, longitude, point);
+            if (updates.containsKey("isDefault")) {
+                Boolean isDefault = (Boolean) updates.get("isDefault");
+                // 如果设置为默认地址，先将其他地址设为非默认
+                if (Boolean.TRUE.equals(isDefault) && !Boolean.TRUE.equals(address.getIsDefault())) {
+                    userAddressRepository.setAllAddressesNonDefault(userId);
+                    address.setIsDefault(true);
+                    updateDefaultAddressId(userId, addressId);
+                }
+            }
+            
+            return userAddressRepository.save(address);
+        });
+    }
+    
+    /**
+     * 更新用户表的默认地址ID
+     * 多分片模式下用户表位于默认分片，与地址不在同一事务中：地址事务提交后再更新，回滚时不留下指向不存在地址的引用
+     */
+    private void updateDefaultAddressId(Long userId, Long addressId) {
+        if (!orderShardRouter.isEnabled()) {
+            userService.updateDefaultAddressId(userId, addressId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userService.updateDefaultAddressId(userId, addressId);
+            }
+        });
+    }
+    
+    /**
+     * 地址未带坐标时按地址文本地理编码一次，坐标随地址保存，下单计算配送费时不再编码
+     */
+    private void locate(UserAddress address) {
+        if (geocoder == null || address.getDeliveryAddress() == null
+                || (address.getLatitude() != null && address.getLongitude() != null)) {
+            return;
+        }
+        GeoPoint point = geocoder.geocode(address.getDeliveryAddress());
+        if (point != null) {
+            address.setLatitude(point.getLatitude());
+            address.setLongitude(point.getLongitude());
+        }
+    }
+    
+    /**
+     * 修改地址且未提交坐标时，按新地址文本编码
+     * 只在短暂的只读事务中读取原地址文本，编码本身不在事务中；地址文本未变化时不编码
+     */
+    private GeoPoint geocodeIfMoved(Long userId, Long addressId, String deliveryAddress, Double latitude, Double longitude) {
+        if (geocoder == null || deliveryAddress == null || (latitude != null && longitude != null)) {
+            return null;
+        }
+        Optional<String> current = readOnlyTemplate.execute(status ->
+                userAddressRepository.findByUserIdAndId(userId, addressId).map(UserAddress::getDeliveryAddress));
+        if (!current.isPresent() || deliveryAddress.equals(current.get())) {
+            return null;
+        }
+        return geocoder.geocode(deliveryAddress);
+    }
+    
+    /**
+     * 更新地址时优先使用提交的坐标；只改了地址文本时旧坐标作废，改用事务前按新文本编码的结果
+     */
+    private static void relocate(UserAddress address, boolean moved, Double latitude, Double longitude, GeoPoint point) {
+        if (latitude != null && longitude != null) {
+            address.setLatitude(latitude);
+            address.setLongitude(longitude);
+        } else if (moved) {
+            address.setLatitude(point != null ? point.getLatitude() : null);
+            address.setLongitude(point != null ? point.getLongitude() : null);
+        }
+    }
+    
+    private static Double coordinate(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
+    }
+    
+    /**
+     * 获取单个地址详情
+     */
+    public Optional<UserAddress> getAddress(Long userId, Long addressId) {
+        return userAddressRepository.findByUserIdAndId(userId, addressId);
+    }
+}
\ No newline at end of file
@@ -1,16 +1,22 @@
 package com.order.service;
 
 import com.order.entity.User;
+import com.order.exception.BusinessException;
+import com.order.exception.ErrorCode;
 import com.order.repository.UserRepository;
+import com.order.sharding.DefaultShard;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 /**
  * 用户Service类
+ * 用户表只保存在默认分片，注册和按ID查询都不依赖用户ID哈希
  */
 @Service
+@DefaultShard
 public class UserService {
 
     @Autowired
@@ -44,6 +50,14 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    /**
+     * 更新用户的默认地址ID
+     */
+    @Transactional
+    public void updateDefaultAddressId(Long userId, Long addressId) {
+        userRepository.updateDefaultAddressId(userId, addressId);
+    }
+
     /**
      * 检查用户名是否存在
      */
@@ -64,12 +78,12 @@ public class UserService {
     public User register(String username, String phone, String password) {
         // 检查用户名是否已存在
         if (existsByUsername(username)) {
-            throw new RuntimeException("用户名已存在");
+            throw new BusinessException(ErrorCode.DUPLICATE, "用户名已存在");
         }
 
         // 检查手机号是否已存在
         if (existsByPhone(phone)) {
-            throw new RuntimeException("手机号已存在");
+            throw new BusinessException(ErrorCode.DUPLICATE, "手机号已存在");
         }
 
         User user = new User();
@@ -91,15 +105,15 @@ public class UserService {
         }
 
         if (user == null) {
-            throw new RuntimeException("用户不存在");
+            throw new BusinessException(ErrorCode.AUTH_FAILED, "用户不存在");
         }
 
         if (!password.equals(user.getPassword())) { // 实际项目中应该使用加密比较
-            throw new RuntimeException("密码错误");
+            throw new BusinessException(ErrorCode.AUTH_FAILED, "密码错误");
         }
 
         if (!Integer.valueOf(1).equals(user.getStatus())) {
-            throw new RuntimeException("账户已被禁用");
+            throw new BusinessException(ErrorCode.AUTH_FAILED, "账户已被禁用");
         }
 
         return user;
@@ -1,6 +1,10 @@
 package com.order.service;
 
+import com.order.datasource.Workload;
+import com.order.datasource.WorkloadPool;
 import com.order.entity.Wallet;
+import com.order.exception.BusinessException;
+import com.order.exception.ErrorCode;
 import com.order.repository.WalletRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -11,6 +15,7 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Service
+@WorkloadPool(Workload.TRANSACTIONAL)
 @Transactional
 public class WalletService {
     
@@ -36,12 +41,12 @@ public class WalletService {
      */
     public Wallet recharge(Long userId, BigDecimal amount) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("充值金额必须大于0");
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER, "充值金额必须大于0");
         }
         
         // 模拟充值限制：单次充值不超过1000元
         if (amount.compareTo(new BigDecimal("1000")) > 0) {
-            throw new IllegalArgumentException("单次充值金额不能超过1000元");
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER, "单次充值金额不能超过1000元");
         }
         
         Wallet wallet = getUserWallet(userId);
@@ -54,7 +59,7 @@ public class WalletService {
      */
     public boolean consume(Long userId, BigDecimal amount) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("消费金额必须大于0");
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER, "消费金额必须大于0");
         }
         
         Wallet wallet = getUserWallet(userId);
@@ -114,7 +119,7 @@ public class WalletService {
             BigDecimal rechargeAmount = new BigDecimal(amount);
             return recharge(userId, rechargeAmount);
         } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("无效的充值金额");
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER, "无效的充值金额");
         }
     }
     
@@ -0,0 +1,17 @@
+package com.order.sharding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明服务访问只保存在默认分片的数据（商品目录、用户），可标注在类上作为该类所有方法的默认值
+ * 多分片模式下方法在默认分片的独立事务中执行（见 DefaultShardAspect），单库模式下无影响
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DefaultShard {
+}
@@ -0,0 +1,56 @@
+package com.order.sharding;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+/**
+ * 将 @DefaultShard 方法固定到默认分片
+ * 调用方可能已在用户所在分片的事务中（下单、取消订单），因此总是切换分片后开启独立事务，
+ * 方法上的 @Transactional 加入该事务；优先级高于事务切面，保证获取连接时分片已经确定
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DefaultShardAspect {
+
+    private final PlatformTransactionManager transactionManager;
+
+    public DefaultShardAspect(PlatformTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    @Around("@within(com.order.sharding.DefaultShard) || @annotation(com.order.sharding.DefaultShard)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(signature.getMethod(), Transactional.class);
+        DefaultTransactionDefinition definition =
+                new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        definition.setReadOnly(transactional != null && transactional.readOnly());
+
+        Integer previous = ShardContext.current();
+        ShardContext.set(OrderShardRouter.DEFAULT_SHARD);
+        try {
+            TransactionStatus status = transactionManager.getTransaction(definition);
+            Object result;
+            try {
+                result = joinPoint.proceed();
+            } catch (Throwable e) {
+                transactionManager.rollback(status);
+                throw e;
+            }
+            transactionManager.commit(status);
+            return result;
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+}
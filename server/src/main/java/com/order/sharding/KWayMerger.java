@@ -0,0 +1,49 @@
+package com.order.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 多路归并：将多个已按同一比较器排好序的列表合并为一个有序列表
+ */
+public final class KWayMerger {
+
+    private KWayMerger() {}
+
+    public static <T> List<T> merge(List<List<T>> sortedLists, Comparator<? super T> comparator) {
+        int total = 0;
+        List<List<T>> nonEmpty = new ArrayList<>(sortedLists.size());
+        for (List<T> list : sortedLists) {
+            if (list != null && !list.isEmpty()) {
+                nonEmpty.add(list);
+                total += list.size();
+            }
+        }
+        if (nonEmpty.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (nonEmpty.size() == 1) {
+            return new ArrayList<>(nonEmpty.get(0));
+        }
+
+        // 堆中保存 [列表下标, 元素下标]
+        PriorityQueue<int[]> heap = new PriorityQueue<>(nonEmpty.size(),
+                (a, b) -> comparator.compare(nonEmpty.get(a[0]).get(a[1]), nonEmpty.get(b[0]).get(b[1])));
+        for (int i = 0; i < nonEmpty.size(); i++) {
+            heap.add(new int[]{i, 0});
+        }
+
+        List<T> merged = new ArrayList<>(total);
+        while (!heap.isEmpty()) {
+            int[] cursor = heap.poll();
+            List<T> list = nonEmpty.get(cursor[0]);
+            merged.add(list.get(cursor[1]));
+            if (++cursor[1] < list.size()) {
+                heap.add(cursor);
+            }
+        }
+        return merged;
+    }
+}
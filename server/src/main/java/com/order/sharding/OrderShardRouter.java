@@ -0,0 +1,91 @@
+package com.order.sharding;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 订单分片路由规则
+ * 按用户ID哈希分片，同一用户的购物车、钱包、地址、订单位于同一分片；
+ * 订单号中编码分片号，订单ID依赖各分片 auto_increment_increment=分片数、auto_increment_offset=分片号+1 保证全局唯一且可反推分片
+ */
+@Component
+public class OrderShardRouter {
+
+    public static final int DEFAULT_SHARD = 0;
+
+    // 订单号格式：ORD + 13位毫秒时间戳 + 2位分片号 + 节点号与序列号，见 OrderNoGenerator
+    private static final int ORDER_NO_SHARD_OFFSET = 16;
+
+    private final boolean enabled;
+    private final int shardCount;
+
+    public OrderShardRouter(@Value("${order.sharding.enabled:false}") boolean enabled,
+                            @Value("${order.sharding.urls:}") List<String> urls) {
+        this.enabled = enabled && urls.size() > 1;
+        this.shardCount = this.enabled ? urls.size() : 1;
+        if (shardCount > 100) {
+            throw new IllegalArgumentException("分片数量不能超过100");
+        }
+    }
+
+    /**
+     * 是否启用多分片
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * 用户所在分片
+     */
+    public int shardForUser(Long userId) {
+        if (!enabled || userId == null) {
+            return DEFAULT_SHARD;
+        }
+        // 乘以黄金分割常数打散连续的用户ID
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(hash ^ (hash >>> 32), (long) shardCount);
+    }
+
+    /**
+     * 订单ID所在分片
+     */
+    public int shardForOrderId(Long orderId) {
+        if (!enabled || orderId == null || orderId <= 0) {
+            return DEFAULT_SHARD;
+        }
+        return (int) ((orderId - 1) % shardCount);
+    }
+
+    /**
+     * 从订单号中解析分片，无法解析（如历史订单号）时返回null
+     */
+    public Integer shardForOrderNo(String orderNo) {
+        if (!enabled) {
+            return DEFAULT_SHARD;
+        }
+        if (orderNo == null || orderNo.length() < ORDER_NO_SHARD_OFFSET + 2) {
+            return null;
+        }
+        char high = orderNo.charAt(ORDER_NO_SHARD_OFFSET);
+        char low = orderNo.charAt(ORDER_NO_SHARD_OFFSET + 1);
+        if (!Character.isDigit(high) || !Character.isDigit(low)) {
+            return null;
+        }
+        int shard = (high - '0') * 10 + (low - '0');
+        return shard < shardCount ? shard : null;
+    }
+
+    /**
+     * 订单号中的分片标记（2位数字）
+     */
+    public String orderNoShardTag(int shard) {
+        return shard < 10 ? "0" + shard : String.valueOf(shard);
+    }
+}
@@ -0,0 +1,46 @@
+package com.order.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * 当前线程的分片上下文
+ * 必须在事务获取数据库连接之前设置，连接一旦获取便固定在对应分片上
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {}
+
+    /**
+     * 当前分片，未设置时返回null
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 在指定分片上执行，执行完毕后恢复原有上下文
+     */
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            set(previous);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.order.sharding;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
+/**
+ * 请求分片路由拦截器
+ * 在控制器和事务开始之前，根据请求中的 userId / orderNo / orderId 确定本次请求所在分片
+ */
+public class ShardRoutingInterceptor implements HandlerInterceptor {
+
+    private final OrderShardRouter router;
+
+    public ShardRoutingInterceptor(OrderShardRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+
+        Long userId = parseLong(value(pathVariables, request, "userId"));
+        if (userId != null) {
+            ShardContext.set(router.shardForUser(userId));
+            return true;
+        }
+
+        String orderNo = value(pathVariables, request, "orderNo");
+        if (orderNo != null) {
+            ShardContext.set(router.shardForOrderNo(orderNo));
+            return true;
+        }
+
+        Long orderId = parseLong(value(pathVariables, request, "orderId"));
+        if (orderId != null) {
+            ShardContext.set(router.shardForOrderId(orderId));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ShardContext.clear();
+    }
+
+    private static String value(Map<String, String> pathVariables, HttpServletRequest request, String name) {
+        if (pathVariables != null && pathVariables.containsKey(name)) {
+            return pathVariables.get(name);
+        }
+        return request.getParameter(name);
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
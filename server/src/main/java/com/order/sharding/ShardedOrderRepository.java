@@ -0,0 +1,217 @@
+package com.order.sharding;
+
+import com.order.entity.Order;
+import com.order.enums.OrderStatus;
+import com.order.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 订单分片访问层
+ * 单库模式直接委托给OrderRepository；多分片模式下点查按用户ID/订单号/订单ID路由到单个分片，
+ * 列表查询并行扫描所有分片后按创建时间多路归并
+ */
+@Component
+public class ShardedOrderRepository {
+
+    // 订单列表统一排序：创建时间倒序，相同时按ID倒序
+    public static final Comparator<Order> CREATED_TIME_DESC = Comparator
+            .comparing(Order::getCreatedTime, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(Order::getId, Comparator.nullsFirst(Comparator.<Long>naturalOrder()))
+            .reversed();
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final OrderShardRouter router;
+    private final TransactionTemplate shardReadTemplate;
+    private final ExecutorService scatterExecutor;
+
+    public ShardedOrderRepository(OrderShardRouter router, PlatformTransactionManager transactionManager) {
+        this.router = router;
+        this.shardReadTemplate = new TransactionTemplate(transactionManager);
+        this.shardReadTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardReadTemplate.setReadOnly(true);
+        if (router.isEnabled()) {
+            AtomicInteger counter = new AtomicInteger();
+            this.scatterExecutor = Executors.newFixedThreadPool(router.getShardCount(), runnable -> {
+                Thread thread = new Thread(runnable, "order-shard-scatter-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.scatterExecutor = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 保存订单，需在用户所在分片的事务内调用
+     */
+    public Order save(Order order) {
+        if (router.isEnabled() && TransactionSynchronizationManager.isActualTransactionActive()) {
+            int expected = router.shardForUser(order.getUserId());
+            Integer current = ShardContext.current();
+            if (current == null || current != expected) {
+                throw new IllegalStateException("订单分片路由不一致：用户 " + order.getUserId()
+                        + " 属于分片 " + expected + "，当前事务分片 " + current);
+            }
+        }
+        return orderRepository.save(order);
+    }
+
+    /**
+     * 根据用户ID查找订单（单分片）
+     */
+    public List<Order> findByUserId(Long userId) {
+        if (!router.isEnabled()) {
+            return orderRepository.findByUserIdOrderByCreatedTimeDesc(userId);
+        }
+        return readOnShard(router.shardForUser(userId), repository -> repository.findByUserIdWithItems(userId));
+    }
+
+    /**
+     * 根据订单号查找订单（含订单项），优先按订单号中的分片号点查，未命中时扫描其余分片（兼容历史订单号）
+     */
+    public Optional<Order> findByOrderNo(String orderNo) {
+        if (!router.isEnabled()) {
+            return orderRepository.findWithItemsByOrderNo(orderNo);
+        }
+        Integer shard = router.shardForOrderNo(orderNo);
+        if (shard != null) {
+            Optional<Order> order = readOnShard(shard, repository -> repository.findWithItemsByOrderNo(orderNo));
+            if (order.isPresent()) {
+                return order;
+            }
+        }
+        return findFirst(shard, repository -> repository.findWithItemsByOrderNo(orderNo));
+    }
+
+    /**
+     * 根据订单ID查找订单，按ID反推分片，未命中时扫描其余分片
+     */
+    public Optional<Order> findById(Long orderId) {
+        if (!router.isEnabled()) {
+            return orderRepository.findById(orderId);
+        }
+        int shard = router.shardForOrderId(orderId);
+        Optional<Order> order = readOnShard(shard, repository -> repository.findWithItemsById(orderId));
+        if (order.isPresent()) {
+            return order;
+        }
+        return findFirst(shard, repository -> repository.findWithItemsById(orderId));
+    }
+
+    /**
+     * 查找所有订单（跨分片归并）
+     */
+    public List<Order> findAllOrders() {
+        if (!router.isEnabled()) {
+            return orderRepository.findAllOrders();
+        }
+        return scatterGather(OrderRepository::findAllWithItems);
+    }
+
+    /**
+     * 根据状态查找订单（跨分片归并）
+     */
+    public List<Order> findByStatus(OrderStatus status) {
+        if (!router.isEnabled()) {
+            return orderRepository.findByStatusOrderByCreatedTimeDesc(status);
+        }
+        return scatterGather(repository -> repository.findByStatusWithItems(status));
+    }
+
+    /**
+     * 在每个分片上依次执行操作（如归档任务），操作需自行开启事务
+     */
+    public void forEachShard(Runnable action) {
+        if (!router.isEnabled()) {
+            action.run();
+            return;
+        }
+        for (int shard = 0; shard < router.getShardCount(); shard++) {
+            int target = shard;
+            join(CompletableFuture.runAsync(() -> ShardContext.callOn(target, () -> {
+                action.run();
+                return null;
+            }), scatterExecutor));
+        }
+    }
+
+    /**
+     * 在指定分片的独立只读事务中执行查询
+     * 查询固定在分片线程池中执行：请求线程上的EntityManager（open-in-view）在外层事务内会一直持有已获取的连接，不能跨分片复用
+     */
+    private <T> T readOnShard(int shard, Function<OrderRepository, T> query) {
+        return join(submit(shard, query));
+    }
+
+    private <T> CompletableFuture<T> submit(int shard, Function<OrderRepository, T> query) {
+        return CompletableFuture.supplyAsync(() -> ShardContext.callOn(shard,
+                () -> shardReadTemplate.execute(status -> query.apply(orderRepository))), scatterExecutor);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private Optional<Order> findFirst(Integer skipShard, Function<OrderRepository, Optional<Order>> query) {
+        for (int shard = 0; shard < router.getShardCount(); shard++) {
+            if (skipShard != null && shard == skipShard) {
+                continue;
+            }
+            Optional<Order> order = readOnShard(shard, query);
+            if (order.isPresent()) {
+                return order;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 并行查询所有分片，再按创建时间倒序多路归并
+     */
+    private List<Order> scatterGather(Function<OrderRepository, List<Order>> query) {
+        List<CompletableFuture<List<Order>>> futures = new ArrayList<>(router.getShardCount());
+        for (int shard = 0; shard < router.getShardCount(); shard++) {
+            futures.add(submit(shard, query));
+        }
+
+        List<List<Order>> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<List<Order>> future : futures) {
+            results.add(join(future));
+        }
+        return KWayMerger.merge(results, CREATED_TIME_DESC);
+    }
+}
@@ -94,14 +94,15 @@ CREATE TABLE IF NOT EXISTS orders (
     total_amount DECIMAL(10,2) NOT NULL COMMENT '订单总金额',
     discount_amount DECIMAL(10,2) DEFAULT 0 COMMENT '优惠金额',
     actual_amount DECIMAL(10,2) NOT NULL COMMENT '实付金额',
-    status VARCHAR(20) DEFAULT 'pending' COMMENT '订单状态：pending-待付款，paid-已付款，preparing-准备中，delivering-配送中，completed-已完成，cancelled-已取消',
-    payment_status VARCHAR(20) DEFAULT 'unpaid' COMMENT '支付状态：unpaid-未支付，paid-已支付，refunded-已退款',
+    status_code TINYINT DEFAULT 0 COMMENT '订单状态：0-待处理，1-已支付，2-已确认，3-已拒绝，4-准备中，5-配送中，6-已送达，7-已取消，8-已完成（见 OrderStatus）',
+    payment_status_code TINYINT DEFAULT 0 COMMENT '支付状态：0-未支付，1-已支付，2-已退款，3-部分退款（见 PaymentStatus）',
     delivery_address TEXT COMMENT '配送地址',
     contact_name VARCHAR(50) COMMENT '联系人姓名',
     contact_phone VARCHAR(20) COMMENT '联系人电话',
     remark VARCHAR(255) COMMENT '订单备注',
     created_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     updated_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    KEY idx_orders_status_time (status_code, created_time),
     FOREIGN KEY (user_id) REFERENCES users(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='订单表';
 
@@ -120,6 +121,41 @@ CREATE TABLE IF NOT EXISTS order_items (
     FOREIGN KEY (product_id) REFERENCES products(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='订单明细表';
 
+-- 订单归档表（终态历史订单，订单项以JSON存于同一行，压缩行格式）
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id BIGINT PRIMARY KEY COMMENT '原订单ID',
+    order_no VARCHAR(50) NOT NULL UNIQUE COMMENT '订单号',
+    user_id BIGINT NOT NULL COMMENT '用户ID',
+    total_amount DECIMAL(10,2) NOT NULL COMMENT '订单总金额',
+    discount_amount DECIMAL(10,2) DEFAULT 0 COMMENT '优惠金额',
+    actual_amount DECIMAL(10,2) NOT NULL COMMENT '实付金额',
+    delivery_fee DECIMAL(10,2) DEFAULT 0 COMMENT '配送费',
+    status VARCHAR(20) COMMENT '订单状态',
+    payment_status VARCHAR(20) COMMENT '支付状态',
+    delivery_address TEXT COMMENT '配送地址',
+    contact_name VARCHAR(50) COMMENT '联系人姓名',
+    contact_phone VARCHAR(20) COMMENT '联系人电话',
+    remark VARCHAR(255) COMMENT '订单备注',
+    items TEXT COMMENT '订单项JSON',
+    created_time TIMESTAMP NULL COMMENT '创建时间',
+    updated_time TIMESTAMP NULL COMMENT '更新时间',
+    archived_time TIMESTAMP NULL COMMENT '归档时间',
+    KEY idx_orders_archive_user_time (user_id, created_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 ROW_FORMAT=COMPRESSED COMMENT='订单归档表';
+
+-- ID号段表（订单项、购物车、钱包、收货地址使用，每次取一段ID在内存中分配）
+-- 号段不存在时应用会从对应表当前最大ID之后自动初始化
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY COMMENT '号段名（表名）',
+    next_val BIGINT NOT NULL COMMENT '下一段起始ID'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='ID号段表';
+
+-- 复制心跳表（读写分离时应用每秒在主库写入当前时间，从库读到的值与当前时间之差即复制延迟）
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id INT NOT NULL PRIMARY KEY COMMENT '固定为1',
+    beat_time BIGINT NOT NULL COMMENT '主库写入时的毫秒时间戳'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='复制心跳表';
+
 -- 插入默认管理员账号
 INSERT IGNORE INTO admin_users (username, password, real_name, role) 
 VALUES ('admin', '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iAt6Z5EHsM8lE9lBOsl7iKTVEFDa', '系统管理员', 'admin');
@@ -0,0 +1,10 @@
+-- 订单状态迁移收尾（见 order-status-tinyint.sql），全部应用实例升级到使用 status_code 的版本后执行
+-- 分片部署时在每个分片上分别执行；旧列上的索引随列一起删除
+
+USE ordering_system;
+
+DROP TRIGGER IF EXISTS orders_status_sync_insert;
+DROP TRIGGER IF EXISTS orders_status_sync_update;
+
+-- INPLACE 重建表期间不阻塞读写（MySQL 8.0.29 起可改用 ALGORITHM=INSTANT）
+ALTER TABLE orders DROP COLUMN status, DROP COLUMN payment_status, ALGORITHM=INPLACE, LOCK=NONE;
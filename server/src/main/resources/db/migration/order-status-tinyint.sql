@@ -0,0 +1,96 @@
+-- 订单状态由VARCHAR迁移为TINYINT存储值（OrderStatus、PaymentStatus 的 value），在线执行，不锁表
+-- 分片部署时在每个分片上分别执行；MySQL 8.0
+-- 发布步骤：
+--   1. 发布新版本之前执行本脚本：新增列、安装同步触发器、分批回填存量订单、建立状态索引
+--   2. 滚动发布新版本。新旧版本实例并存期间，触发器在旧列 status/payment_status 与新列之间双向同步，
+--      旧版本实例写入的订单新版本能读到，反之亦然
+--   3. 全部实例升级后执行 order-status-tinyint-cleanup.sql 删除触发器和旧列
+-- 下面各处的状态映射必须与 OrderStatus、PaymentStatus 保持一致
+
+USE ordering_system;
+
+-- 1. 新增列（INSTANT，只改元数据）
+ALTER TABLE orders
+    ADD COLUMN status_code TINYINT NULL COMMENT '订单状态：0-待处理，1-已支付，2-已确认，3-已拒绝，4-准备中，5-配送中，6-已送达，7-已取消，8-已完成（见 OrderStatus）',
+    ADD COLUMN payment_status_code TINYINT NULL COMMENT '支付状态：0-未支付，1-已支付，2-已退款，3-部分退款（见 PaymentStatus）',
+    ALGORITHM=INSTANT;
+
+DELIMITER //
+
+-- 2. 兼容期双向同步：status_code 为空说明由旧版本写入，按旧列换算；否则由新版本写入，回写旧列
+DROP TRIGGER IF EXISTS orders_status_sync_insert//
+CREATE TRIGGER orders_status_sync_insert BEFORE INSERT ON orders FOR EACH ROW
+BEGIN
+    IF NEW.status_code IS NULL THEN
+        SET NEW.status_code = CASE NEW.status
+                WHEN 'pending' THEN 0 WHEN 'paid' THEN 1 WHEN 'confirmed' THEN 2
+                WHEN 'rejected' THEN 3 WHEN 'preparing' THEN 4 WHEN 'delivering' THEN 5
+                WHEN 'delivered' THEN 6 WHEN 'cancelled' THEN 7 WHEN 'completed' THEN 8 END,
+            NEW.payment_status_code = CASE NEW.payment_status
+                WHEN 'unpaid' THEN 0 WHEN 'paid' THEN 1 WHEN 'refunded' THEN 2 WHEN 'partial_refund' THEN 3 END;
+    ELSE
+        SET NEW.status = CASE NEW.status_code
+                WHEN 0 THEN 'pending' WHEN 1 THEN 'paid' WHEN 2 THEN 'confirmed'
+                WHEN 3 THEN 'rejected' WHEN 4 THEN 'preparing' WHEN 5 THEN 'delivering'
+                WHEN 6 THEN 'delivered' WHEN 7 THEN 'cancelled' WHEN 8 THEN 'completed' END,
+            NEW.payment_status = CASE NEW.payment_status_code
+                WHEN 0 THEN 'unpaid' WHEN 1 THEN 'paid' WHEN 2 THEN 'refunded' WHEN 3 THEN 'partial_refund' END;
+    END IF;
+END//
+
+-- 新列有变化说明由新版本（或回填）写入，回写旧列；只有旧列变化说明由旧版本写入，换算到新列
+DROP TRIGGER IF EXISTS orders_status_sync_update//
+CREATE TRIGGER orders_status_sync_update BEFORE UPDATE ON orders FOR EACH ROW
+BEGIN
+    IF NOT (NEW.status_code <=> OLD.status_code) OR NOT (NEW.payment_status_code <=> OLD.payment_status_code) THEN
+        SET NEW.status = CASE NEW.status_code
+                WHEN 0 THEN 'pending' WHEN 1 THEN 'paid' WHEN 2 THEN 'confirmed'
+                WHEN 3 THEN 'rejected' WHEN 4 THEN 'preparing' WHEN 5 THEN 'delivering'
+                WHEN 6 THEN 'delivered' WHEN 7 THEN 'cancelled' WHEN 8 THEN 'completed' END,
+            NEW.payment_status = CASE NEW.payment_status_code
+                WHEN 0 THEN 'unpaid' WHEN 1 THEN 'paid' WHEN 2 THEN 'refunded' WHEN 3 THEN 'partial_refund' END;
+    ELSEIF NOT (NEW.status <=> OLD.status) OR NOT (NEW.payment_status <=> OLD.payment_status) THEN
+        SET NEW.status_code = CASE NEW.status
+                WHEN 'pending' THEN 0 WHEN 'paid' THEN 1 WHEN 'confirmed' THEN 2
+                WHEN 'rejected' THEN 3 WHEN 'preparing' THEN 4 WHEN 'delivering' THEN 5
+                WHEN 'delivered' THEN 6 WHEN 'cancelled' THEN 7 WHEN 'completed' THEN 8 END,
+            NEW.payment_status_code = CASE NEW.payment_status
+                WHEN 'unpaid' THEN 0 WHEN 'paid' THEN 1 WHEN 'refunded' THEN 2 WHEN 'partial_refund' THEN 3 END;
+    END IF;
+END//
+
+-- 3. 按主键区间分批回填存量订单，每批一个事务，批间短暂停顿给线上写入和主从复制留出余量
+--    已回填的行 status_code 不为空，中断后可重新执行
+DROP PROCEDURE IF EXISTS backfill_order_status//
+CREATE PROCEDURE backfill_order_status(IN batch_size INT)
+BEGIN
+    DECLARE last_id BIGINT DEFAULT 0;
+    DECLARE max_id BIGINT;
+    SELECT COALESCE(MAX(id), 0) INTO max_id FROM orders;
+    WHILE last_id < max_id DO
+        UPDATE orders
+        SET status_code = CASE status
+                WHEN 'pending' THEN 0 WHEN 'paid' THEN 1 WHEN 'confirmed' THEN 2
+                WHEN 'rejected' THEN 3 WHEN 'preparing' THEN 4 WHEN 'delivering' THEN 5
+                WHEN 'delivered' THEN 6 WHEN 'cancelled' THEN 7 WHEN 'completed' THEN 8 END,
+            payment_status_code = CASE payment_status
+                WHEN 'unpaid' THEN 0 WHEN 'paid' THEN 1 WHEN 'refunded' THEN 2 WHEN 'partial_refund' THEN 3 END
+        WHERE id > last_id AND id <= last_id + batch_size AND status_code IS NULL;
+        COMMIT;
+        SET last_id = last_id + batch_size;
+        DO SLEEP(0.01);
+    END WHILE;
+END//
+
+DELIMITER ;
+
+CALL backfill_order_status(1000);
+DROP PROCEDURE backfill_order_status;
+
+-- 回填后应无结果；有结果说明存在映射之外的旧状态值，需先修正数据再发布新版本
+SELECT status, payment_status, COUNT(*) FROM orders
+WHERE status_code IS NULL OR payment_status_code IS NULL
+GROUP BY status, payment_status;
+
+-- 4. 状态索引建在回填之后，避免回填时逐行维护索引；INPLACE 建索引期间不阻塞读写
+ALTER TABLE orders ADD INDEX idx_orders_status_time (status_code, created_time), ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,9 @@
+-- 收货地址增加坐标列（配送区域计费），在线执行，不锁表；分片部署时在每个分片上分别执行；MySQL 8.0
+-- 存量地址坐标为空，下单时收取默认配送费，用户重新编辑地址（或配置地理编码服务后重新保存）即补全坐标
+
+USE ordering_system;
+
+ALTER TABLE user_address
+    ADD COLUMN latitude DOUBLE NULL COMMENT '纬度（与配送区域规则同一坐标系）',
+    ADD COLUMN longitude DOUBLE NULL COMMENT '经度',
+    ALGORITHM=INSTANT;
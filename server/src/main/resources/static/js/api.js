@@ -477,6 +477,22 @@ class ApiClient {
             this.get('/product/list', {}, { loadingMessage });
     }
 
+    /**
+     * 按ID批量获取商品（一次最多100个，按传入顺序返回）
+     */
+    async getProductsByIds(ids) {
+        return this.get('/product/batch', { ids: ids.join(',') });
+    }
+
+    /**
+     * 首页数据：分类、商品，登录用户另含用户信息、购物车和钱包余额
+     */
+    async getBootstrap(userId) {
+        return this.get(userId ? `/bootstrap/${userId}` : '/bootstrap', {}, {
+            loadingMessage: '加载中...'
+        });
+    }
+
     // ==================== 购物车相关API ====================
     
     /**
@@ -538,15 +554,15 @@ class ApiClient {
     
     /**
      * 创建订单（从购物车）
+     * 使用已保存的收货地址，按该地址所在配送区域计算配送费
      */
-    async createOrderFromCart(userId, remark = '', deliveryAddress = '', contactName = '', contactPhone = '') {
-        return this.postForm('/order/create', { 
+    async createOrderFromCart(userId, addressId, remark = '') {
+        const params = { 
             userId, 
-            remark, 
-            deliveryAddress, 
-            contactName, 
-            contactPhone 
-        }, {
+            addressId, 
+            remark 
+        };
+        return this.postForm('/order/create', params, {
             loadingMessage: '正在创建订单...'
         });
     }
@@ -882,6 +898,8 @@ api.product = {
     getCategories: () => api.getCategories(),
     getProductsByCategory: (categoryId) => api.getProductsByCategory(categoryId),
     getAllProducts: () => api.getAllProducts(),
+    getProductsByIds: (ids) => api.getProductsByIds(ids),
+    getBootstrap: (userId) => api.getBootstrap(userId),
     addProduct: (productData) => api.addProduct(productData),
     updateProduct: (productId, productData) => api.updateProduct(productId, productData),
     deleteProduct: (productId) => api.deleteProduct(productId)
@@ -905,8 +923,8 @@ api.cart = {
 };
 
 api.order = {
-    createOrderFromCart: (userId, remark, deliveryAddress, contactName, contactPhone) => 
-        api.createOrderFromCart(userId, remark, deliveryAddress, contactName, contactPhone),
+    createOrderFromCart: (userId, addressId, remark) => 
+        api.createOrderFromCart(userId, addressId, remark),
     payOrder: (orderId) => api.payOrder(orderId),
     getUserOrders: (userId) => api.getUserOrders(userId),
     getOrderDetail: (orderId) => api.getOrderDetail(orderId),
@@ -0,0 +1,107 @@
+package com.order.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(registry, 60_000, 100);
+    private final ExecutorService executor = Executors.newFixedThreadPool(16);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Object>> results = submit(16, () -> coalescer.execute("menu", "key", false, () -> {
+            loads.incrementAndGet();
+            release.await();
+            return "menu-v1";
+        }));
+        awaitWaiters("menu", 15);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertEquals("menu-v1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, count("menu", "executed"));
+        assertEquals(15, count("menu", "shared"));
+    }
+
+    @Test
+    void waitersGetStaleResultWhileReloading() throws Throwable {
+        assertEquals("menu-v1", coalescer.execute("menu", "key", true, () -> "menu-v1"));
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> reload = executor.submit(() -> {
+            try {
+                return coalescer.execute("menu", "key", true, () -> {
+                    started.countDown();
+                    release.await();
+                    return "menu-v2";
+                });
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        });
+        started.await();
+
+        assertEquals("menu-v1", coalescer.execute("menu", "key", true, () -> "unexpected"));
+        release.countDown();
+        assertEquals("menu-v2", reload.get(5, TimeUnit.SECONDS));
+        assertEquals(1, count("menu", "stale"));
+    }
+
+    @Test
+    void failuresArePropagatedAndNotRemembered() throws Throwable {
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("order", "ORD1", false, () -> {
+            throw new IllegalStateException("数据库不可用");
+        }));
+        assertEquals("ORD1", coalescer.execute("order", "ORD1", false, () -> "ORD1"));
+    }
+
+    private List<Future<Object>> submit(int callers, RequestCoalescer.Loader call) {
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> {
+                try {
+                    return call.load();
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+        }
+        return results;
+    }
+
+    private void awaitWaiters(String name, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (count(name, "shared") < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private long count(String name, String result) {
+        return (long) registry.counter("order.coalescing.loads", "name", name, "result", result).count();
+    }
+}
@@ -0,0 +1,36 @@
+package com.order.common;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTests {
+
+    @Test
+    void exactArithmeticInCents() {
+        Money price = Money.of("9.90");
+        assertEquals(Money.of("29.70"), price.times(3));
+        assertEquals(Money.of("0.30"), Money.of("0.10").plus(Money.of("0.20")));
+        assertEquals(Money.of("-0.10"), Money.of("0.10").minus(Money.of("0.20")));
+        // 与原 new BigDecimal(distance).multiply(2.00).setScale(2, HALF_UP) 结果一致
+        assertEquals(Money.of("7.40"), Money.of("2.00").times(3.7));
+        assertEquals(Money.of("0.03"), Money.of("0.05").times(0.5));
+        assertEquals(Money.of("1.24"), Money.of("1.235"));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE).times(2.0));
+    }
+
+    @Test
+    void serializesAsTwoDecimalNumber() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        assertEquals("12.50", objectMapper.writeValueAsString(Money.of("12.5")));
+        assertEquals(Money.of("12.50"), objectMapper.readValue("12.5", Money.class));
+        assertEquals(Money.of("0.07"), objectMapper.reader(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .forType(Money.class).readValue("0.07"));
+        assertEquals(new BigDecimal("12.50"), Money.ofCents(1250).toBigDecimal());
+    }
+}
@@ -0,0 +1,72 @@
+package com.order.config;
+
+import com.order.common.Money;
+import com.order.entity.Product;
+import com.order.profiler.QueryStats;
+import com.order.profiler.SqlProfiler;
+import com.order.repository.ProductRepository;
+import com.order.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class EntityCacheTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void productLookupsAreServedFromCacheAcrossTransactions() {
+        Long id = productRepository.save(new Product(1L, "缓存商品", "描述", Money.of("9.90"))).getId();
+        productService.getProductById(id);
+
+        QueryStats stats = sqlProfiler.start("cached");
+        try {
+            for (int i = 0; i < 5; i++) {
+                assertEquals("缓存商品", productService.getProductById(id).getName());
+            }
+        } finally {
+            sqlProfiler.stop();
+        }
+        assertEquals(0, stats.getCount());
+    }
+
+    @Test
+    void stockChecksBypassCache() {
+        Product product = new Product(1L, "库存商品", "描述", Money.of("9.90"));
+        product.setStock(5);
+        Long id = productRepository.save(product).getId();
+        productService.getProductById(id);
+
+        QueryStats stats = sqlProfiler.start("stock");
+        try {
+            assertTrue(productService.checkStock(id, 5));
+            assertFalse(productService.checkStock(id, 6));
+        } finally {
+            sqlProfiler.stop();
+        }
+        assertEquals(2, stats.getCount());
+    }
+
+    @Test
+    void regionsExposeEvictionMetrics() {
+        assertNotNull(meterRegistry.find("cache.evictions").tag("cache", "product").functionCounter());
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests").tag("region", "product").meter());
+    }
+}
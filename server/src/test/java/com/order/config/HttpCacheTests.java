@@ -0,0 +1,103 @@
+package com.order.config;
+
+import com.order.common.Money;
+import com.order.entity.Product;
+import com.order.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class HttpCacheTests {
+
+    private static final Pattern ASSET = Pattern.compile("src=\"(assets/api\\.[0-9a-f]{12}\\.js)\"");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void servesPrecompressedPagesThatRevalidate() throws IOException {
+        HttpURLConnection page = open("/index.html", "gzip, br");
+        assertEquals(200, page.getResponseCode());
+        assertEquals("br", page.getHeaderField("Content-Encoding"));
+        assertEquals("no-cache", page.getHeaderField("Cache-Control"));
+        assertTrue(page.getHeaderField("Vary").contains("Accept-Encoding"));
+
+        HttpURLConnection revisit = open("/index.html", "gzip");
+        revisit.setIfModifiedSince(page.getLastModified());
+        assertEquals(304, revisit.getResponseCode());
+    }
+
+    @Test
+    void servesHashedAssetsAsImmutable() throws IOException {
+        HttpURLConnection page = open("/index.html", "gzip");
+        String html = gunzip(page);
+        Matcher matcher = ASSET.matcher(html);
+        assertTrue(matcher.find(), "页面未引用哈希文件名的脚本");
+
+        HttpURLConnection asset = open("/" + matcher.group(1), "gzip");
+        assertEquals(200, asset.getResponseCode());
+        assertEquals("gzip", asset.getHeaderField("Content-Encoding"));
+        assertEquals("max-age=31536000, public, immutable", asset.getHeaderField("Cache-Control"));
+        assertTrue(gunzip(asset).contains("api"));
+    }
+
+    @Test
+    void compressesLargeJsonResponsesOnly() throws IOException {
+        for (int i = 0; i < 30; i++) {
+            productRepository.save(new Product(1L, "压缩测试商品" + i, "用于验证JSON响应压缩的商品描述", Money.of("12.50")));
+        }
+        HttpURLConnection large = open("/product/list", "gzip");
+        assertEquals("gzip", large.getHeaderField("Content-Encoding"));
+        assertTrue(gunzip(large).contains("压缩测试商品"));
+
+        HttpURLConnection small = open("/product/-1", "gzip");
+        assertEquals(200, small.getResponseCode());
+        assertNull(small.getHeaderField("Content-Encoding"));
+
+        HttpURLConnection revisit = open("/product/list", "gzip");
+        revisit.setRequestProperty("If-None-Match", large.getHeaderField("ETag"));
+        assertEquals(304, revisit.getResponseCode());
+    }
+
+    @Test
+    void addsEtagOnlyToCatalogEndpoints() throws IOException {
+        HttpURLConnection categories = open("/category/list", "identity");
+        assertEquals(200, categories.getResponseCode());
+        assertTrue(categories.getHeaderField("ETag").startsWith("W/"));
+
+        HttpURLConnection orders = open("/order/all", "identity");
+        assertEquals(200, orders.getResponseCode());
+        assertNull(orders.getHeaderField("ETag"));
+    }
+
+    private HttpURLConnection open(String path, String acceptEncoding) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + path).openConnection();
+        connection.setRequestProperty("Accept-Encoding", acceptEncoding);
+        return connection;
+    }
+
+    private static String gunzip(HttpURLConnection connection) throws IOException {
+        try (InputStream in = new GZIPInputStream(connection.getInputStream())) {
+            return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.order.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.order.common.Money;
+import com.order.common.Result;
+import com.order.common.SparseFieldsFilter;
+import com.order.entity.Order;
+import com.order.entity.OrderItem;
+import com.order.entity.Product;
+import com.order.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ResponseEncodingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void returnsOnlySelectedFields() throws Exception {
+        productRepository.save(new Product(1L, "字段测试商品", "列表页不需要的描述", Money.of("8.80")));
+
+        mockMvc.perform(get("/product/list").param("fields", "id, name,price"))
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.message").exists())
+                .andExpect(jsonPath("$.data[0].name").exists())
+                .andExpect(jsonPath("$.data[0].price").exists())
+                .andExpect(jsonPath("$.data[0].description").doesNotExist())
+                .andExpect(jsonPath("$.data[0].createdTime").doesNotExist());
+
+        mockMvc.perform(get("/product/list"))
+                .andExpect(jsonPath("$.data[0].description").exists());
+    }
+
+    @Test
+    void selectsNestedFieldsByPath() throws Exception {
+        Order order = new Order("ORD-FIELDS", 1L, Money.of("20.00"), Money.of("20.00"));
+        order.setOrderItems(Collections.singletonList(
+                new OrderItem(order, 1L, "嵌套字段商品", Money.of("10.00"), 2, Money.of("20.00"))));
+
+        JsonNode json = objectMapper.readTree(objectMapper
+                .writer(SparseFieldsFilter.provider("orderNo,orderItems.productName"))
+                .writeValueAsString(Result.success(Collections.singletonList(order))));
+        JsonNode first = json.get("data").get(0);
+        assertEquals(200, json.get("code").asInt());
+        assertEquals("ORD-FIELDS", first.get("orderNo").asText());
+        assertFalse(first.has("user"));
+        assertFalse(first.has("totalAmount"));
+        assertEquals("嵌套字段商品", first.get("orderItems").get(0).get("productName").asText());
+        assertFalse(first.get("orderItems").get(0).has("subtotal"));
+    }
+
+    @Test
+    void negotiatesBinaryEncodingsAndDefaultsToJson() throws Exception {
+        productRepository.save(new Product(1L, "编码测试商品", "描述", Money.of("6.60")));
+
+        JsonNode smile = new SmileMapper().readTree(fetch("application/x-jackson-smile"));
+        assertEquals(200, smile.get("code").asInt());
+        assertTrue(smile.get("data").get(0).has("name"));
+        assertFalse(smile.get("data").get(0).has("description"));
+
+        JsonNode cbor = new CBORMapper().readTree(fetch("application/cbor"));
+        assertTrue(cbor.get("data").get(0).has("name"));
+        assertFalse(cbor.get("data").get(0).has("description"));
+
+        mockMvc.perform(get("/product/list").accept(MediaType.ALL))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    private byte[] fetch(String mediaType) throws Exception {
+        return mockMvc.perform(get("/product/list").param("fields", "name")
+                        .accept(MediaType.parseMediaType(mediaType)))
+                .andExpect(content().contentType(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
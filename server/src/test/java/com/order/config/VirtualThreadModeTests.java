@@ -0,0 +1,40 @@
+package com.order.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "order.web.execution-mode=virtual")
+@Import(VirtualThreadModeTests.ThreadController.class)
+@EnabledIf("virtualThreadsSupported")
+class VirtualThreadModeTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    static boolean virtualThreadsSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    @Test
+    void handlesRequestsOnVirtualThreads() {
+        assertEquals("true", restTemplate.getForObject("/test/virtual-thread", String.class));
+    }
+
+    @RestController
+    static class ThreadController {
+
+        @GetMapping("/test/virtual-thread")
+        public String isVirtual() throws ReflectiveOperationException {
+            return String.valueOf(Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.order.datasource;
+
+import com.order.entity.Product;
+import com.order.service.ProductService;
+import com.order.service.WalletService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "order.replica.urls=" + ReplicaRoutingTests.REPLICA_URL,
+        // 心跳由测试手动触发
+        "order.replica.heartbeat-ms=3600000"})
+class ReplicaRoutingTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;"
+            + "INIT=RUNSCRIPT FROM 'classpath:db/replica-schema.sql'";
+
+    private static final String REPLICA_PRODUCT = "仅存在于从库的商品";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        replica.update("DELETE FROM products");
+        replica.update("INSERT INTO products (category_id, name, price, status, sort_order) VALUES (1, ?, 9.90, 1, 0)",
+                REPLICA_PRODUCT);
+        replicaBeat(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadConsistencyContext.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertTrue(productNames().contains(REPLICA_PRODUCT));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        replicaBeat(60_000);
+        assertFalse(productNames().contains(REPLICA_PRODUCT));
+
+        replicaBeat(0);
+        assertTrue(productNames().contains(REPLICA_PRODUCT));
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimary() {
+        ReadConsistencyContext.begin(4201L);
+        walletService.recharge(4201L, new BigDecimal("10.00"));
+        assertFalse(productNames().contains(REPLICA_PRODUCT));
+
+        // 同一用户的后续请求在粘滞期内仍走主库，其他用户不受影响
+        ReadConsistencyContext.begin(4201L);
+        assertFalse(productNames().contains(REPLICA_PRODUCT));
+        ReadConsistencyContext.begin(4202L);
+        assertTrue(productNames().contains(REPLICA_PRODUCT));
+    }
+
+    /**
+     * 模拟从库心跳落后 lagMillis 毫秒，并立即测量一次延迟
+     */
+    private void replicaBeat(long lagMillis) {
+        replica.update("DELETE FROM replication_heartbeat");
+        replica.update("INSERT INTO replication_heartbeat (id, beat_time) VALUES (1, ?)",
+                System.currentTimeMillis() - lagMillis);
+        replicaLagMonitor.check();
+    }
+
+    private List<String> productNames() {
+        return productService.getAllProducts().stream().map(Product::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,67 @@
+package com.order.datasource;
+
+import com.order.service.OrderService;
+import com.order.service.ProductService;
+import com.order.service.WalletService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class WorkloadPoolTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void routesServiceMethodsToDeclaredPools() {
+        long catalog = acquired(Workload.CATALOG);
+        long transactional = acquired(Workload.TRANSACTIONAL);
+        long reporting = acquired(Workload.REPORTING);
+
+        productService.getAllProducts();
+        assertEquals(catalog + 1, acquired(Workload.CATALOG));
+
+        orderService.getAllOrdersForMerchant();
+        assertEquals(reporting + 1, acquired(Workload.REPORTING));
+
+        walletService.recharge(9001L, new BigDecimal("10.00"));
+        assertTrue(acquired(Workload.TRANSACTIONAL) > transactional);
+        assertEquals(catalog + 1, acquired(Workload.CATALOG));
+        assertEquals(reporting + 1, acquired(Workload.REPORTING));
+        assertNull(WorkloadContext.current());
+    }
+
+    @Test
+    void exportsPoolSaturationGauges() {
+        for (Workload workload : Workload.values()) {
+            String pool = workload.getPoolName();
+            assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", pool).gauge());
+            assertNotNull(meterRegistry.find("hikaricp.connections.idle").tag("pool", pool).gauge());
+            assertNotNull(meterRegistry.find("hikaricp.connections.pending").tag("pool", pool).gauge());
+        }
+    }
+
+    private long acquired(Workload workload) {
+        Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", workload.getPoolName()).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
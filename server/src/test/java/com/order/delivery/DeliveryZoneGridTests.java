@@ -0,0 +1,88 @@
+package com.order.delivery;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.common.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeliveryZoneGridTests {
+
+    private static final String RULES = "{\"origin\": {\"latitude\": 31.2304, \"longitude\": 121.4737},"
+            + "\"cellMeters\": 50, \"defaultFee\": 5.00, \"freeDeliveryThreshold\": 100.00,"
+            + "\"bands\": [{\"maxKm\": 3, \"fee\": 5.00}, {\"maxKm\": 5, \"fee\": %s}],"
+            + "\"zones\": [{\"name\": \"东区\", \"fee\": 9.50, \"polygon\": [[31.20, 121.50], [31.20, 121.52], [31.22, 121.52], [31.22, 121.50]]},"
+            + "{\"name\": \"不配送\", \"polygon\": [[31.25, 121.44], [31.25, 121.45], [31.26, 121.45], [31.26, 121.44]]}]}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void gridMatchesDirectEvaluationAwayFromBoundaries() throws IOException {
+        DeliveryZoneRules rules = objectMapper.readValue(String.format(RULES, "7.00"), DeliveryZoneRules.class);
+        DeliveryZoneGrid grid = DeliveryZoneGrid.compile(rules, "test");
+        GeoPoint origin = rules.getOrigin();
+
+        Random random = new Random(7);
+        int mismatches = 0;
+        for (int i = 0; i < 20_000; i++) {
+            double latitude = origin.getLatitude() + (random.nextDouble() * 2 - 1) * 0.06;
+            double longitude = origin.getLongitude() + (random.nextDouble() * 2 - 1) * 0.07;
+            if (grid.zoneAt(latitude, longitude) != rules.resolve(latitude, longitude)) {
+                mismatches++;
+                // 只允许距分档边界半个网格对角线以内的点不一致
+                double km = origin.distanceMeters(latitude, longitude) / 1000;
+                double nearestEdge = Math.min(Math.abs(km - 3), Math.abs(km - 5));
+                boolean nearPolygon = latitude > 31.199 && latitude < 31.261 && longitude > 121.439 && longitude < 121.521;
+                assertTrue(nearestEdge < 0.036 || nearPolygon, latitude + "," + longitude);
+            }
+        }
+        assertTrue(mismatches < 200, "mismatches=" + mismatches);
+    }
+
+    @Test
+    void zonesOverrideBandsAndOutsideIsNotServed() throws IOException {
+        DeliveryZoneGrid grid = DeliveryZoneGrid.compile(
+                objectMapper.readValue(String.format(RULES, "7.00"), DeliveryZoneRules.class), "test");
+
+        assertEquals(Money.of("5.00"), grid.fee(grid.zoneAt(31.2310, 121.4740)));
+        assertEquals(Money.of("7.00"), grid.fee(grid.zoneAt(31.2304, 121.5150)));
+        int east = grid.zoneAt(31.21, 121.51);
+        assertEquals("东区", grid.zoneName(east));
+        assertEquals(Money.of("9.50"), grid.fee(east));
+        assertEquals(DeliveryZoneGrid.NO_ZONE, grid.zoneAt(31.255, 121.445));
+        assertEquals(DeliveryZoneGrid.NO_ZONE, grid.zoneAt(31.30, 121.4737));
+        assertEquals(DeliveryZoneGrid.NO_ZONE, grid.zoneAt(Double.NaN, 121.4737));
+    }
+
+    @Test
+    void reloadsModifiedRulesAndKeepsCurrentOnError(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("delivery-zones.json");
+        Files.write(file, String.format(RULES, "7.00").getBytes(StandardCharsets.UTF_8));
+        DeliveryZoneLoader loader = new DeliveryZoneLoader(new FileSystemResource(file), objectMapper);
+        int zone = loader.getGrid().zoneAt(31.2304, 121.5150);
+        assertEquals(Money.of("7.00"), loader.getGrid().fee(zone));
+
+        loader.reloadIfModified();
+        DeliveryZoneGrid unchanged = loader.getGrid();
+
+        Files.write(file, String.format(RULES, "8.00").getBytes(StandardCharsets.UTF_8));
+        file.toFile().setLastModified(file.toFile().lastModified() + 2000);
+        loader.reloadIfModified();
+        assertNotSame(unchanged, loader.getGrid());
+        assertEquals(Money.of("8.00"), loader.getGrid().fee(zone));
+
+        DeliveryZoneGrid current = loader.getGrid();
+        Files.write(file, String.format(RULES, "8.00").replace("maxKm\": 5", "maxKm\": 2").getBytes(StandardCharsets.UTF_8));
+        file.toFile().setLastModified(file.toFile().lastModified() + 4000);
+        loader.reloadIfModified();
+        assertSame(current, loader.getGrid());
+    }
+}
@@ -0,0 +1,65 @@
+package com.order.entity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.common.Money;
+import com.order.enums.OrderStatus;
+import com.order.enums.PaymentStatus;
+import com.order.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringBootTest
+class OrderStatusStorageTests {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void lookupsRoundTripEveryStatus() {
+        for (OrderStatus status : OrderStatus.values()) {
+            assertSame(status, OrderStatus.fromValue(status.getValue()));
+            assertSame(status, OrderStatus.fromCode(status.getCode()));
+        }
+        for (PaymentStatus status : PaymentStatus.values()) {
+            assertSame(status, PaymentStatus.fromValue(status.getValue()));
+            assertSame(status, PaymentStatus.fromCode(status.getCode()));
+        }
+    }
+
+    @Test
+    void storesTinyintAndSerializesCode() throws Exception {
+        Order order = new Order("ORD" + UUID.randomUUID(), 1L, Money.of("10.00"), Money.of("10.00"));
+        order.setDeliveryAddress("测试地址");
+        order.setContactName("张三");
+        order.setContactPhone("13800000000");
+        order.setStatus(OrderStatus.DELIVERING);
+        order.setPaymentStatus(PaymentStatus.PAID);
+        Long id = orderRepository.save(order).getId();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT status_code, payment_status_code FROM orders WHERE id = ?", id);
+        assertEquals(5, ((Number) row.get("status_code")).intValue());
+        assertEquals(1, ((Number) row.get("payment_status_code")).intValue());
+
+        Order loaded = orderRepository.findById(id).orElseThrow(IllegalStateException::new);
+        assertSame(OrderStatus.DELIVERING, loaded.getStatus());
+        assertSame(PaymentStatus.PAID, loaded.getPaymentStatus());
+        // 接口中仍使用状态代码
+        assertEquals("\"delivering\"", objectMapper.writeValueAsString(loaded.getStatus()));
+        assertSame(PaymentStatus.PAID, objectMapper.readValue("\"paid\"", PaymentStatus.class));
+    }
+}
@@ -0,0 +1,65 @@
+package com.order.exception;
+
+import com.order.common.Money;
+import com.order.entity.Product;
+import com.order.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GlobalExceptionHandlerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void businessExceptionsCarryNoStackTrace() {
+        assertEquals(0, new OutOfStockException("商品库存不足").getStackTrace().length);
+    }
+
+    @Test
+    void mapsBusinessExceptionsToErrorCodes() throws Exception {
+        Product soldOut = new Product(1L, "售罄商品", "描述", Money.of("9.90"));
+        soldOut.setStock(0);
+        Long productId = productRepository.save(soldOut).getId();
+
+        mockMvc.perform(post("/cart/add").param("userId", "1").param("productId", productId.toString())
+                        .param("quantity", "1"))
+                                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(ErrorCode.OUT_OF_STOCK.getCode()))
+                .andExpect(jsonPath("$.message").value("商品库存不足"));
+
+        mockMvc.perform(post("/wallet/recharge").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": 1, \"amount\": 5000}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.code").value(ErrorCode.INVALID_PARAMETER.getCode()))
+                .andExpect(jsonPath("$.message").value("单次充值金额不能超过1000元"));
+    }
+
+    @Test
+    void prefixesUnexpectedErrorsAndLeavesRequestErrorsToSpring() throws Exception {
+        mockMvc.perform(post("/wallet/recharge").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": 1, \"amount\": \"abc\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(500))
+                .andExpect(jsonPath("$.message", startsWith("充值失败：")));
+
+        mockMvc.perform(post("/cart/add").param("userId", "1"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,79 @@
+package com.order.id;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdBlockAllocatorTests {
+
+    private static final String URL = "jdbc:h2:mem:id_allocator;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private IdBlockAllocator allocator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS id_sequences");
+            statement.execute("DROP TABLE IF EXISTS legacy_rows");
+            statement.execute("CREATE TABLE legacy_rows (id BIGINT PRIMARY KEY)");
+            statement.execute("INSERT INTO legacy_rows (id) VALUES (41)");
+        }
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(URL);
+        properties.setUsername("sa");
+        properties.setPassword("");
+        allocator = new IdBlockAllocator(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        allocator.close();
+    }
+
+    @Test
+    void continuesAfterExistingRows() {
+        assertEquals(42, allocator.next("legacy_rows", 10));
+        assertEquals(43, allocator.next("legacy_rows", 10));
+    }
+
+    @Test
+    void uniqueAcrossThreadsAndBlocks() throws Exception {
+        int threads = 8;
+        int perThread = 2_000;
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        assertTrue(seen.add(allocator.next("legacy_rows", 7)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threads * perThread, seen.size());
+    }
+}
@@ -0,0 +1,73 @@
+package com.order.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderNoGeneratorTests {
+
+    @Test
+    void encodesShardAndNode() {
+        OrderNoGenerator generator = new OrderNoGenerator(42);
+        String orderNo = generator.next(7);
+
+        assertEquals(25, orderNo.length());
+        assertTrue(orderNo.startsWith(OrderNoGenerator.PREFIX));
+        assertEquals("07", orderNo.substring(16, 18));
+        assertEquals("042", orderNo.substring(18, 21));
+    }
+
+    @Test
+    void monotonicWithinNode() {
+        OrderNoGenerator generator = new OrderNoGenerator(1);
+        String previous = generator.next(0);
+        // 超过单毫秒序列上限，覆盖借用下一毫秒的分支
+        for (int i = 0; i < 50_000; i++) {
+            String next = generator.next(0);
+            assertTrue(next.compareTo(previous) > 0, previous + " >= " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void noCollisionAcrossThreads() throws Exception {
+        OrderNoGenerator generator = new OrderNoGenerator(3);
+        int threads = 16;
+        int perThread = 20_000;
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int shard = t % 4;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        // 去掉分片号后比较：不同分片之间也不应出现相同的时间+节点+序列组合
+                        String orderNo = generator.next(shard);
+                        assertTrue(seen.add(orderNo.substring(0, 16) + orderNo.substring(18)), orderNo);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threads * perThread, seen.size());
+    }
+}
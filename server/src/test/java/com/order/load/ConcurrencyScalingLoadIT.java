@@ -0,0 +1,141 @@
+package com.order.load;
+
+import com.order.common.Money;
+import com.order.entity.Product;
+import com.order.entity.User;
+import com.order.entity.UserAddress;
+import com.order.repository.ProductRepository;
+import com.order.repository.UserAddressRepository;
+import com.order.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.order.load.LoadClient.form;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 并发连接扩展性压测（mvn verify -Pload -Dit.test=ConcurrencyScalingLoadIT [-Dorder.web.execution-mode=virtual]）
+ * 封闭模型：N个客户端各自循环"发请求-等响应"，依次在各并发级别下压测商品列表与下单，
+ * 对比 platform（Tomcat线程池）与 virtual（虚拟线程，需JDK 21+）两种执行模式下吞吐和延迟随并发数的变化。
+ * 结果按 模式/场景/并发数 写入 target/load-report/scaling-{mode}
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ConcurrencyScalingLoadIT {
+
+    private static final int PRODUCT_COUNT = 20;
+
+    // 每个客户端使用独立用户，避免购物车互相干扰
+    private final AtomicLong nextUser = new AtomicLong();
+    private final List<Long> productIds = new ArrayList<>();
+    private LoadClient client;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${order.web.execution-mode}")
+    private String executionMode;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserAddressRepository userAddressRepository;
+
+    @Test
+    void concurrencyScaling() throws Exception {
+        String[] levels = System.getProperty("load.concurrency-levels", "50,200,800").split(",");
+        int seconds = Integer.getInteger("load.scaling-seconds", 10);
+        int warmupSeconds = Integer.getInteger("load.warmup-seconds", 5);
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+        File reportDir = new File(System.getProperty("load.report-dir", "target/load-report"), "scaling-" + executionMode);
+
+        client = new LoadClient(port);
+        seed();
+
+        StringBuilder summary = new StringBuilder();
+        for (String level : levels) {
+            int concurrency = Integer.parseInt(level.trim());
+            for (String scenario : new String[]{"product-list", "order-create"}) {
+                LoadRecorder recorder = new LoadRecorder();
+                run(recorder, scenario, concurrency, warmupSeconds, seconds);
+                summary.append(String.format("== mode=%s scenario=%s concurrency=%d ==%n", executionMode, scenario, concurrency))
+                        .append(recorder.report(new File(reportDir, scenario + "-c" + concurrency)));
+
+                long requests = recorder.totalRequests();
+                assertTrue(requests > 0, "压测期间没有完成任何请求");
+                double errorRate = (double) recorder.totalErrors() / requests;
+                assertTrue(errorRate <= maxErrorRate, String.format("%s 并发%d 错误率 %.2f%% 超过阈值 %.2f%%",
+                        scenario, concurrency, errorRate * 100, maxErrorRate * 100));
+            }
+        }
+        System.out.println(summary);
+    }
+
+    private void seed() {
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = new Product(1L, "压测商品" + i, "压测商品", Money.of("12.50"));
+            product.setStock(Integer.MAX_VALUE);
+            productIds.add(productRepository.save(product).getId());
+        }
+    }
+
+    /**
+     * 启动 concurrency 个客户端循环压测，预热期结束后开始计入结果
+     */
+    private void run(LoadRecorder recorder, String scenario, int concurrency, int warmupSeconds, int seconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds + seconds);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            UserAddress address = "product-list".equals(scenario) ? null : newCustomer();
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    if ("product-list".equals(scenario)) {
+                        client.call(recorder, "GET", "/product/list", "/product/list", null, System.nanoTime());
+                    } else {
+                        checkout(recorder, address);
+                    }
+                }
+            });
+        }
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        recorder.startRecording();
+        TimeUnit.SECONDS.sleep(seconds);
+        recorder.stopRecording();
+        clients.shutdown();
+        clients.awaitTermination(60, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 新建一个带收货地址的用户（下单只接受已保存的地址）
+     */
+    private UserAddress newCustomer() {
+        long n = nextUser.incrementAndGet();
+        User user = userRepository.save(new User("scaling_" + n, "password", "scaling" + n));
+        return userAddressRepository.save(new UserAddress(user.getId(), "压测地址", "压测用户", "13800000000"));
+    }
+
+    private void checkout(LoadRecorder recorder, UserAddress address) {
+        Long productId = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+        if (client.call(recorder, "POST", "/cart/add", "/cart/add",
+                form("userId", address.getUserId(), "productId", productId, "quantity", 1), System.nanoTime()) != null) {
+            client.call(recorder, "POST", "/order/create", "/order/create",
+                    form("userId", address.getUserId(), "addressId", address.getId()), System.nanoTime());
+        }
+    }
+}
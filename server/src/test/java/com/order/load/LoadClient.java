@@ -0,0 +1,91 @@
+package com.order.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 压测HTTP客户端：发起请求并把结果计入 LoadRecorder
+ */
+class LoadClient {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int port;
+
+    LoadClient(int port) {
+        this.port = port;
+    }
+
+    /**
+     * 发起请求并记录结果，HTTP状态非2xx或 Result.code != 200 均计为错误
+     * @return 成功时返回 Result.data，失败返回null
+     */
+    JsonNode call(LoadRecorder recorder, String method, String path, String endpoint, String form, long intendedStart) {
+        boolean success = false;
+        JsonNode data = null;
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + path).openConnection();
+            connection.setRequestMethod(method);
+            connection.setConnectTimeout(5000);
+            connection.setReadTimeout(30000);
+            if (form != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(form.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int status = connection.getResponseCode();
+            InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            byte[] body = readFully(in);
+            if (status < 300) {
+                JsonNode result = objectMapper.readTree(body);
+                success = result.path("code").asInt() == 200;
+                data = result.path("data");
+            }
+        } catch (IOException e) {
+            success = false;
+        }
+        recorder.record(method + " " + endpoint, intendedStart, success);
+        return success ? data : null;
+    }
+
+    static String form(Object... pairs) {
+        StringBuilder form = new StringBuilder();
+        try {
+            for (int i = 0; i < pairs.length; i += 2) {
+                if (form.length() > 0) {
+                    form.append('&');
+                }
+                form.append(pairs[i]).append('=').append(URLEncoder.encode(String.valueOf(pairs[i + 1]), "UTF-8"));
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return form.toString();
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        if (in == null) {
+            return new byte[0];
+        }
+        try (InputStream input = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}
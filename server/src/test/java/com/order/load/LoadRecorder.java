@@ -0,0 +1,122 @@
+package com.order.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 压测结果记录：每个接口一份延迟直方图（微秒）及请求数、错误数
+ */
+class LoadRecorder {
+
+    // 可记录的最大延迟：1分钟
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    private volatile boolean recording;
+    private volatile long recordingStartNanos;
+    private volatile long recordingEndNanos;
+
+    /**
+     * 预热结束，清空已有数据后开始计入结果
+     */
+    void startRecording() {
+        endpoints.clear();
+        recordingStartNanos = System.nanoTime();
+        recording = true;
+    }
+
+    void stopRecording() {
+        recordingEndNanos = System.nanoTime();
+        recording = false;
+    }
+
+    /**
+     * @param endpoint 接口（方法 + 路径模板）
+     * @param intendedStartNanos 计划发出时间，排队等待也计入延迟，避免协调遗漏
+     */
+    void record(String endpoint, long intendedStartNanos, boolean success) {
+        if (!recording) {
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartNanos);
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+        stats.latency.recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS));
+        stats.requests.increment();
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    long totalRequests() {
+        long total = 0;
+        for (EndpointStats stats : endpoints.values()) {
+            total += stats.requests.sum();
+        }
+        return total;
+    }
+
+    long totalErrors() {
+        long total = 0;
+        for (EndpointStats stats : endpoints.values()) {
+            total += stats.errors.sum();
+        }
+        return total;
+    }
+
+    /**
+     * 输出汇总表，并为每个接口写出HdrHistogram百分位分布（毫秒）
+     */
+    String report(File reportDir) throws IOException {
+        double seconds = (recordingEndNanos - recordingStartNanos) / 1_000_000_000.0;
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%-34s %9s %9s %8s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "req/s", "errors", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+
+        if (!reportDir.isDirectory() && !reportDir.mkdirs()) {
+            throw new IOException("无法创建报告目录：" + reportDir);
+        }
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(endpoints).entrySet()) {
+            EndpointStats stats = entry.getValue();
+            Histogram histogram = stats.latency.copy();
+            long requests = stats.requests.sum();
+            long errors = stats.errors.sum();
+            summary.append(String.format("%-34s %9d %9.1f %7.2f%% %10.2f %10.2f %10.2f %10.2f%n",
+                    entry.getKey(), requests, requests / seconds, requests == 0 ? 0 : errors * 100.0 / requests,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue())));
+
+            String fileName = entry.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm";
+            try (PrintStream out = new PrintStream(new FileOutputStream(new File(reportDir, fileName)), false, "UTF-8")) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        summary.append(String.format("total: %d requests in %.1fs, %.1f req/s, %d errors%n",
+                totalRequests(), seconds, totalRequests() / seconds, totalErrors()));
+
+        try (PrintStream out = new PrintStream(new FileOutputStream(new File(reportDir, "summary.txt")), false, "UTF-8")) {
+            out.print(summary);
+        }
+        return summary.toString();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static class EndpointStats {
+        final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder requests = new LongAdder();
+        final LongAdder errors = new LongAdder();
+    }
+}
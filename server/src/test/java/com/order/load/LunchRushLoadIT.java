@@ -0,0 +1,205 @@
+package com.order.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.order.common.Money;
+import com.order.entity.Product;
+import com.order.entity.User;
+import com.order.entity.UserAddress;
+import com.order.entity.Wallet;
+import com.order.repository.ProductRepository;
+import com.order.repository.UserAddressRepository;
+import com.order.repository.UserRepository;
+import com.order.repository.WalletRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.order.load.LoadClient.form;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 午高峰压测（mvn verify -Pload）
+ * 开放模型：三类流量按固定到达率发起，互不等待，接口变慢时请求会排队而不是降低发压速度
+ * - 浏览：商品列表 + 分类列表
+ * - 下单：加购物车 2-3 件、修改数量、提交订单、钱包支付
+ * - 商家：接单、开始配送、送达（处理已支付订单）
+ * 延迟从计划发起时间算起，结果写入 target/load-report
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LunchRushLoadIT {
+
+    private static final int PRODUCT_COUNT = 20;
+
+    private final LoadRecorder recorder = new LoadRecorder();
+    private LoadClient client;
+
+    // 空闲用户池：同一用户同一时刻只有一个下单会话，避免购物车互相干扰
+    private final ConcurrentLinkedQueue<Long> idleUsers = new ConcurrentLinkedQueue<>();
+    private final BlockingQueue<Long> paidOrders = new LinkedBlockingQueue<>();
+    private final List<Long> productIds = new ArrayList<>();
+    // 用户ID -> 收货地址ID，压测开始前写入
+    private final Map<Long, Long> addressIds = new HashMap<>();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserAddressRepository userAddressRepository;
+
+    @Test
+    void lunchRush() throws Exception {
+        int durationSeconds = Integer.getInteger("load.duration-seconds", 30);
+        int warmupSeconds = Integer.getInteger("load.warmup-seconds", 5);
+        double browseRate = Double.parseDouble(System.getProperty("load.browse-rate", "50"));
+        double checkoutRate = Double.parseDouble(System.getProperty("load.checkout-rate", "10"));
+        double merchantRate = Double.parseDouble(System.getProperty("load.merchant-rate", "10"));
+        int users = Integer.getInteger("load.users", 500);
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+        File reportDir = new File(System.getProperty("load.report-dir", "target/load-report"));
+
+        client = new LoadClient(port);
+        seed(users);
+
+        ScheduledExecutorService arrivals = Executors.newScheduledThreadPool(3);
+        ExecutorService workers = Executors.newCachedThreadPool();
+        schedule(arrivals, workers, browseRate, this::browse);
+        schedule(arrivals, workers, checkoutRate, this::checkout);
+        schedule(arrivals, workers, merchantRate, this::fulfil);
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        recorder.startRecording();
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        arrivals.shutdownNow();
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+        recorder.stopRecording();
+
+        System.out.println(recorder.report(reportDir));
+
+        long requests = recorder.totalRequests();
+        assertTrue(requests > 0, "压测期间没有完成任何请求");
+        double errorRate = (double) recorder.totalErrors() / requests;
+        assertTrue(errorRate <= maxErrorRate, String.format("错误率 %.2f%% 超过阈值 %.2f%%",
+                errorRate * 100, maxErrorRate * 100));
+    }
+
+    private void seed(int users) {
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = new Product(1L, "压测商品" + i, "压测商品", Money.of("12.50"));
+            product.setStock(Integer.MAX_VALUE);
+            productIds.add(productRepository.save(product).getId());
+        }
+        List<Wallet> wallets = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            Long userId = userRepository.save(new User("rush_" + i, "password", "rush" + i)).getId();
+            UserAddress address = new UserAddress(userId, "压测地址", "压测用户", "13800000000");
+            addressIds.put(userId, userAddressRepository.save(address).getId());
+            Wallet wallet = new Wallet(userId);
+            wallet.setBalance(new BigDecimal("99999999.00"));
+            wallets.add(wallet);
+            idleUsers.add(userId);
+        }
+        walletRepository.saveAll(wallets);
+    }
+
+    /**
+     * 按到达率定时发起会话，会话在工作线程池中执行
+     */
+    private void schedule(ScheduledExecutorService arrivals, ExecutorService workers, double rate, Session session) {
+        if (rate <= 0) {
+            return;
+        }
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        arrivals.scheduleAtFixedRate(() -> {
+            long intendedStart = System.nanoTime();
+            workers.execute(() -> session.run(intendedStart));
+        }, 0, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void browse(long intendedStart) {
+        call("GET", "/product/list", "/product/list", null, intendedStart);
+        call("GET", "/category/list", "/category/list", null, System.nanoTime());
+    }
+
+    private void checkout(long intendedStart) {
+        Long userId = idleUsers.poll();
+        if (userId == null) {
+            recorder.record("checkout (no idle user)", intendedStart, false);
+            return;
+        }
+        try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int items = 2 + random.nextInt(2);
+            long start = intendedStart;
+            Long productId = null;
+            for (int i = 0; i < items; i++) {
+                productId = productIds.get(random.nextInt(productIds.size()));
+                if (call("POST", "/cart/add", "/cart/add",
+                        form("userId", userId, "productId", productId, "quantity", 1), start) == null) {
+                    return;
+                }
+                start = System.nanoTime();
+            }
+            call("POST", "/cart/update", "/cart/update",
+                    form("userId", userId, "productId", productId, "quantity", 2), System.nanoTime());
+
+            JsonNode order = call("POST", "/order/create", "/order/create",
+                    form("userId", userId, "addressId", addressIds.get(userId)), System.nanoTime());
+            if (order == null) {
+                return;
+            }
+            long orderId = order.path("id").asLong();
+            if (call("POST", "/order/" + orderId + "/pay", "/order/{orderId}/pay", null, System.nanoTime()) != null) {
+                paidOrders.add(orderId);
+            }
+        } finally {
+            idleUsers.add(userId);
+        }
+    }
+
+    private void fulfil(long intendedStart) {
+        Long orderId = paidOrders.poll();
+        if (orderId == null) {
+            return;
+        }
+        if (call("PUT", "/order/" + orderId + "/confirm", "/order/{orderId}/confirm", null, intendedStart) != null
+                && call("PUT", "/order/" + orderId + "/start-delivery", "/order/{orderId}/start-delivery",
+                null, System.nanoTime()) != null) {
+            call("PUT", "/order/" + orderId + "/deliver", "/order/{orderId}/deliver", null, System.nanoTime());
+        }
+    }
+
+    private JsonNode call(String method, String path, String endpoint, String form, long intendedStart) {
+        return client.call(recorder, method, path, endpoint, form, intendedStart);
+    }
+
+    @FunctionalInterface
+    private interface Session {
+        void run(long intendedStart);
+    }
+}
@@ -0,0 +1,157 @@
+package com.order.load;
+
+import com.order.common.Money;
+import com.order.entity.Product;
+import com.order.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 静态资源与JSON响应压缩、缓存效果测量（mvn verify -Pload -Dit.test=StaticAssetLoadIT）
+ * 每个资源分别以 identity（不压缩，即改造前）、gzip、br 请求 load.static-requests 次，
+ * 统计首字节时间、完整响应时间和传输字节数，并按 load.link-kbps 估算弱网下的传输时间；
+ * 另测再次访问：页面与JSON带条件请求（304），哈希脚本命中浏览器缓存无需请求。
+ * 结果写入 target/load-report/static/summary.txt
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StaticAssetLoadIT {
+
+    private static final Pattern ASSET = Pattern.compile("src=\"(assets/[^\"]+\\.js)\"");
+    private static final String[] ENCODINGS = {"identity", "gzip", "br"};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void compressionAndCaching() throws IOException {
+        int requests = Integer.getInteger("load.static-requests", 200);
+        int linkKbps = Integer.getInteger("load.link-kbps", 10_000);
+        File reportDir = new File(System.getProperty("load.report-dir", "target/load-report"), "static");
+
+        for (int i = 0; i < 50; i++) {
+            productRepository.save(new Product(1L, "压测商品" + i, "压测商品描述", Money.of("12.50")));
+        }
+        Matcher asset = ASSET.matcher(new String(gunzip(fetch("/index.html", "gzip", null).body), StandardCharsets.UTF_8));
+        assertTrue(asset.find(), "页面未引用哈希文件名的脚本");
+        String[] paths = {"/index.html", "/cart.html", "/orders.html", "/admin.html", "/" + asset.group(1), "/product/list"};
+
+        StringBuilder summary = new StringBuilder(String.format(
+                "%-34s %-9s %8s %10s %10s %14s%n", "resource", "encoding", "bytes", "ttfb_p50", "total_p50",
+                "transfer@" + linkKbps + "kbps"));
+        for (String path : paths) {
+            long identityBytes = 0;
+            for (String encoding : ENCODINGS) {
+                Sample sample = measure(path, encoding, null, requests);
+                if ("identity".equals(encoding)) {
+                    identityBytes = sample.bytes;
+                } else if (!path.startsWith("/product")) {
+                    assertTrue(sample.bytes < identityBytes, path + " 的 " + encoding + " 响应没有变小");
+                }
+                summary.append(sample.format(path, encoding, linkKbps));
+            }
+            Response first = fetch(path, "br", null);
+            if (path.startsWith("/assets/")) {
+                summary.append(String.format("%-34s %-9s %s%n", path, "revisit", first.cacheControl + "（不发请求）"));
+            } else {
+                summary.append(measure(path, "br", first.etag, requests).format(path, "revisit", linkKbps));
+            }
+        }
+
+        reportDir.mkdirs();
+        Files.write(new File(reportDir, "summary.txt").toPath(), summary.toString().getBytes(StandardCharsets.UTF_8));
+        System.out.println(summary);
+    }
+
+    private Sample measure(String path, String encoding, String etag, int requests) throws IOException {
+        for (int i = 0; i < Math.max(10, requests / 10); i++) {
+            fetch(path, encoding, etag);
+        }
+        long[] ttfb = new long[requests];
+        long[] total = new long[requests];
+        Sample sample = new Sample();
+        for (int i = 0; i < requests; i++) {
+            Response response = fetch(path, encoding, etag);
+            ttfb[i] = response.ttfbNanos;
+            total[i] = response.totalNanos;
+            sample.bytes = response.body.length;
+            sample.status = response.status;
+        }
+        sample.ttfbP50 = median(ttfb);
+        sample.totalP50 = median(total);
+        return sample;
+    }
+
+    private Response fetch(String path, String encoding, String etag) throws IOException {
+        long start = System.nanoTime();
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + path).openConnection();
+        connection.setRequestProperty("Accept-Encoding", encoding);
+        if (etag != null) {
+            connection.setRequestProperty("If-None-Match", etag);
+        }
+        Response response = new Response();
+        response.status = connection.getResponseCode();
+        // 响应头到达即视为首字节
+        response.ttfbNanos = System.nanoTime() - start;
+        response.etag = connection.getHeaderField("ETag");
+        response.cacheControl = connection.getHeaderField("Cache-Control");
+        try (InputStream in = response.status == 304 ? InputStream.nullInputStream() : connection.getInputStream()) {
+            response.body = in.readAllBytes();
+        }
+        response.totalNanos = System.nanoTime() - start;
+        return response;
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static class Response {
+        int status;
+        long ttfbNanos;
+        long totalNanos;
+        String etag;
+        String cacheControl;
+        byte[] body;
+    }
+
+    private static class Sample {
+        int status;
+        long bytes;
+        long ttfbP50;
+        long totalP50;
+
+        String format(String path, String encoding, int linkKbps) {
+            double transferMillis = bytes * 8.0 / linkKbps;
+            return String.format("%-34s %-9s %8d %8.3fms %8.3fms %12.1fms%s%n", path, encoding, bytes,
+                    ttfbP50 / 1e6, totalP50 / 1e6, transferMillis, status == 304 ? "  (304)" : "");
+        }
+    }
+}
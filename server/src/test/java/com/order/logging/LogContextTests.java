@@ -0,0 +1,73 @@
+package com.order.logging;
+
+import com.order.common.Money;
+import com.order.entity.Order;
+import com.order.enums.OrderStatus;
+import com.order.exception.OrderStateException;
+import com.order.repository.OrderRepository;
+import com.order.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class LogContextTests {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @AfterEach
+    void clear() {
+        MDC.clear();
+    }
+
+    @Test
+    void interceptorPutsOrderIdAndClearsItAfterCompletion() {
+        LogContextInterceptor interceptor = new LogContextInterceptor();
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/order/42/confirm");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Collections.singletonMap("orderId", "42"));
+        request.setParameter("userId", "7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        assertEquals("42", MDC.get(LogContextInterceptor.ORDER_ID));
+        assertEquals("7", MDC.get(LogContextInterceptor.USER_ID));
+        assertNull(MDC.get(LogContextInterceptor.ORDER_NO));
+
+        MDC.put(LogContextInterceptor.ORDER_NO, "ORDER-42");
+        interceptor.afterCompletion(request, response, null, null);
+        assertNull(MDC.get(LogContextInterceptor.ORDER_ID));
+        assertNull(MDC.get(LogContextInterceptor.USER_ID));
+        assertNull(MDC.get(LogContextInterceptor.ORDER_NO));
+    }
+
+    @Test
+    void orderServicePutsOrderNoOfLoadedOrder() {
+        String orderNo = "MDC" + UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        Order order = new Order(orderNo, 1L, Money.of("10.00"), Money.of("10.00"));
+        order.setStatus(OrderStatus.PENDING);
+        order.setDeliveryAddress("测试地址");
+        order.setContactName("张三");
+        order.setContactPhone("13800000000");
+        Long orderId = orderRepository.save(order).getId();
+
+        // 状态校验失败前订单号已放入MDC，错误日志可按订单号检索
+        assertThrows(OrderStateException.class, () -> orderService.startDelivery(orderId));
+        assertEquals(orderNo, MDC.get(LogContextInterceptor.ORDER_NO));
+    }
+}
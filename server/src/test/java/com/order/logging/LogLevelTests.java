@@ -0,0 +1,56 @@
+package com.order.logging;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "logging.level.com.order.service=DEBUG",
+        "management.endpoints.web.exposure.include=loggers"})
+@AutoConfigureMockMvc
+class LogLevelTests {
+
+    private static final String PACKAGE = "com.order.service";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void restore() throws Exception {
+        setLevel("DEBUG");
+    }
+
+    @Test
+    void usesAsyncLoggers() {
+        assertTrue(LogManager.getContext(false) instanceof AsyncLoggerContext);
+    }
+
+    @Test
+    void changesPackageLevelAtRuntime() throws Exception {
+        assertTrue(LoggerFactory.getLogger(PACKAGE + ".OrderService").isDebugEnabled());
+
+        setLevel("INFO");
+
+        assertFalse(LoggerFactory.getLogger(PACKAGE + ".OrderService").isDebugEnabled());
+        assertTrue(LoggerFactory.getLogger(PACKAGE + ".OrderService").isInfoEnabled());
+    }
+
+    private void setLevel(String level) throws Exception {
+        mockMvc.perform(post("/actuator/loggers/" + PACKAGE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"configuredLevel\":\"" + level + "\"}"))
+                .andExpect(status().isNoContent());
+    }
+}
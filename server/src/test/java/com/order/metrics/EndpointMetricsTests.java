@@ -0,0 +1,37 @@
+package com.order.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class EndpointMetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void tagsRequestsWithHandlerAndResultCode() throws Exception {
+        mockMvc.perform(get("/product/list")).andExpect(status().isOk());
+        mockMvc.perform(get("/order/orderNo/NOT_EXISTS")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("handler=\"ProductController.getAllProducts\""),
+                        containsString("result_code=\"200\""),
+                        containsString("handler=\"OrderController.getOrderByOrderNo\""),
+                        containsString("result_code=\"500\""))));
+    }
+}
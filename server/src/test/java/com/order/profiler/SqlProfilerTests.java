@@ -0,0 +1,82 @@
+package com.order.profiler;
+
+import com.order.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "order.sql-profiler.slow-query-ms=0",
+        "order.sql-profiler.request-query-threshold=0",
+        "management.endpoints.web.exposure.include=sqlprofile"})
+@AutoConfigureMockMvc
+class SqlProfilerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void clear() {
+        sqlProfiler.clear();
+    }
+
+    @Test
+    void recordsRequestStatementsAndBoundParameters() throws Exception {
+        mockMvc.perform(get("/order/orderNo/ORD_PROFILER")).andExpect(status().isOk());
+
+        HeavyRequest heavy = sqlProfiler.getHeavyRequests().get(0);
+        assertEquals("GET /order/orderNo/ORD_PROFILER", heavy.getRequest());
+        assertTrue(heavy.getQueryCount() > 0);
+
+        assertTrue(sqlProfiler.getSlowQueries().stream().anyMatch(query ->
+                "GET /order/orderNo/ORD_PROFILER".equals(query.getRequest())
+                        && query.getParameters().stream().anyMatch(set -> set.contains("ORD_PROFILER"))));
+
+        mockMvc.perform(get("/actuator/sqlprofile"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.heavyRequests[*].request", hasItem("GET /order/orderNo/ORD_PROFILER")));
+    }
+
+    @Test
+    void countsRepeatedStatements() {
+        QueryStats stats = sqlProfiler.start("test");
+        try {
+            productRepository.findById(-1L);
+            productRepository.findById(-2L);
+            productRepository.count();
+        } finally {
+            sqlProfiler.stop();
+        }
+        assertEquals(3, stats.getCount());
+        assertEquals(2, stats.getMostRepeatedCount());
+        assertNull(sqlProfiler.current());
+    }
+
+    @Test
+    void ringBufferKeepsNewestEntries() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i);
+        }
+        assertEquals(Arrays.asList(5, 4, 3), buffer.snapshot());
+    }
+}
@@ -0,0 +1,147 @@
+package com.order.service;
+
+import com.order.common.Money;
+import com.order.entity.Product;
+import com.order.entity.ShoppingCart;
+import com.order.entity.User;
+import com.order.entity.Wallet;
+import com.order.repository.ProductRepository;
+import com.order.repository.ShoppingCartRepository;
+import com.order.repository.UserRepository;
+import com.order.repository.WalletRepository;
+import com.order.sharding.OrderShardRouter;
+import com.order.sharding.ShardContext;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.NestedTestConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@SpringBootTest(properties = "order.bootstrap.catalog-ttl-ms=60000")
+@AutoConfigureMockMvc
+class BootstrapTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BootstrapService bootstrapService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void returnsCatalogAndUserDataInOneResponse() throws Exception {
+        Long productId = productRepository.save(new Product(1L, "首页商品", "描述", Money.of("6.00"))).getId();
+        Long userId = userRepository.save(new User("bootstrap_user", "password", "13900001111")).getId();
+        shoppingCartRepository.save(new ShoppingCart(userId, productId, 3));
+
+        mockMvc.perform(get("/bootstrap/" + userId))
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.categories").isArray())
+                .andExpect(jsonPath("$.data.products").isArray())
+                .andExpect(jsonPath("$.data.user.username").value("bootstrap_user"))
+                .andExpect(jsonPath("$.data.cart['" + productId + "']").value(3))
+                .andExpect(jsonPath("$.data.cartCount").value(3))
+                .andExpect(jsonPath("$.data.balance").value(0));
+
+        mockMvc.perform(get("/bootstrap"))
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.products").isArray())
+                .andExpect(jsonPath("$.data.user").doesNotExist());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void anonymousCatalogIsCached() throws Exception {
+        List<Product> before = (List<Product>) bootstrapService.bootstrap(null).get("products");
+        productRepository.save(new Product(1L, "缓存期内新增商品", "描述", Money.of("6.00")));
+
+        Map<String, Object> again = bootstrapService.bootstrap(null);
+        assertEquals(before, again.get("products"));
+        mockMvc.perform(get("/bootstrap"))
+                .andExpect(jsonPath("$.data.products[*].name", not(hasItem("缓存期内新增商品"))));
+    }
+
+    // 配置与 ShardedOrderRepositoryTests 相同，共用同一个应用上下文
+    @Nested
+    @NestedTestConfiguration(NestedTestConfiguration.EnclosingConfiguration.OVERRIDE)
+    @SpringBootTest(properties = {
+            "spring.datasource.url=jdbc:h2:mem:shard0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "order.sharding.enabled=true",
+            "order.sharding.urls=jdbc:h2:mem:shard0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1,"
+                    + "jdbc:h2:mem:shard1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "order.sharding.schema=classpath:db/shard-schema.sql",
+            "spring.jpa.hibernate.ddl-auto=none"
+    })
+    class Sharded {
+
+        @Autowired
+        private WebApplicationContext context;
+
+        @Autowired
+        private OrderShardRouter router;
+
+        @Autowired
+        private ProductRepository productRepository;
+
+        @Autowired
+        private ShoppingCartRepository shoppingCartRepository;
+
+        @Autowired
+        private UserService userService;
+
+        @Autowired
+        private WalletRepository walletRepository;
+
+        @Test
+        void readsUserDataFromTheUsersShard() throws Exception {
+            Long productId = ShardContext.callOn(OrderShardRouter.DEFAULT_SHARD,
+                    () -> productRepository.save(new Product(1L, "分片首页商品", "描述", Money.of("6.00"))).getId());
+            int shard = 1;
+            // 按注册接口的方式创建用户（保存在默认分片），直到购物车、钱包位于分片1
+            User user;
+            int n = 0;
+            do {
+                user = userService.register("bootstrap-shard-" + n, String.format("1370000%04d", n), "password");
+                n++;
+            } while (router.shardForUser(user.getId()) != shard);
+            Long userId = user.getId();
+            ShardContext.callOn(shard, () -> {
+                Wallet wallet = new Wallet(userId);
+                wallet.recharge(new BigDecimal("8.00"));
+                walletRepository.save(wallet);
+                return shoppingCartRepository.save(new ShoppingCart(userId, productId, 2));
+            });
+
+            MockMvcBuilders.webAppContextSetup(context).build()
+                    .perform(get("/bootstrap/" + userId))
+                    .andExpect(jsonPath("$.code").value(200))
+                    .andExpect(jsonPath("$.data.products[*].name", hasItem("分片首页商品")))
+                    .andExpect(jsonPath("$.data.user.id").value(userId))
+                    .andExpect(jsonPath("$.data.user.username").value(user.getUsername()))
+                    .andExpect(jsonPath("$.data.cart['" + productId + "']").value(2))
+                    .andExpect(jsonPath("$.data.balance").value(8.0));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.order.service;
+
+import com.order.entity.ShoppingCart;
+import com.order.entity.User;
+import com.order.entity.UserAddress;
+import com.order.profiler.QueryStats;
+import com.order.profiler.SqlProfiler;
+import com.order.repository.ShoppingCartRepository;
+import com.order.repository.UserAddressRepository;
+import com.order.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BulkDeleteTests {
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    @Autowired
+    private UserAddressService userAddressService;
+
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Autowired
+    private UserAddressRepository userAddressRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @Test
+    void clearCartIssuesOneStatementRegardlessOfSize() {
+        for (int size : new int[]{1, 30}) {
+            Long userId = createUser();
+            for (long productId = 1; productId <= size; productId++) {
+                shoppingCartRepository.save(new ShoppingCart(userId, productId, 1));
+            }
+
+            QueryStats stats = sqlProfiler.start("clearCart");
+            try {
+                shoppingCartService.clearCart(userId);
+            } finally {
+                sqlProfiler.stop();
+            }
+            assertEquals(1, stats.getCount());
+            assertTrue(shoppingCartRepository.findByUserId(userId).isEmpty());
+        }
+    }
+
+    @Test
+    void removeFromCartIssuesOneStatement() {
+        Long userId = createUser();
+        shoppingCartRepository.save(new ShoppingCart(userId, 1L, 1));
+        shoppingCartRepository.save(new ShoppingCart(userId, 2L, 1));
+
+        QueryStats stats = sqlProfiler.start("removeFromCart");
+        try {
+            shoppingCartService.removeFromCart(userId, 1L);
+        } finally {
+            sqlProfiler.stop();
+        }
+        assertEquals(1, stats.getCount());
+        assertEquals(1, shoppingCartRepository.findByUserId(userId).size());
+    }
+
+    @Test
+    void batchDeleteAddressesDoesNotScaleWithSize() {
+        int[] counts = new int[2];
+        int[] sizes = {2, 20};
+        for (int i = 0; i < sizes.length; i++) {
+            Long userId = createUser();
+            List<Long> addressIds = new ArrayList<>();
+            for (int j = 0; j < sizes[i]; j++) {
+                addressIds.add(userAddressRepository.save(new UserAddress(userId, "地址" + j, "张三", "13800000000")).getId());
+            }
+            // 保留一个地址，默认地址不在删除范围内
+            userAddressRepository.save(new UserAddress(userId, "保留地址", "张三", "13800000000"));
+
+            QueryStats stats = sqlProfiler.start("batchDeleteAddresses");
+            try {
+                userAddressService.batchDeleteAddresses(userId, addressIds);
+            } finally {
+                sqlProfiler.stop();
+            }
+            counts[i] = stats.getCount();
+            assertEquals(1, userAddressRepository.findByUserIdOrderByIsDefaultDescCreateTimeDesc(userId).size());
+        }
+        assertEquals(counts[0], counts[1]);
+    }
+
+    @Test
+    void batchDeleteAddressesReassignsDefaultAndRollsBackOnMissingAddress() {
+        Long userId = createUser();
+        UserAddress first = userAddressService.addAddress(new UserAddress(userId, "地址1", "张三", "13800000000"));
+        UserAddress second = userAddressService.addAddress(new UserAddress(userId, "地址2", "张三", "13800000000"));
+        UserAddress defaultAddress = userAddressRepository.findByUserIdAndIsDefaultTrue(userId).get();
+
+        assertThrows(RuntimeException.class, () ->
+                userAddressService.batchDeleteAddresses(userId, Arrays.asList(first.getId(), -1L)));
+        assertEquals(2, userAddressRepository.findByUserIdOrderByIsDefaultDescCreateTimeDesc(userId).size());
+
+        userAddressService.batchDeleteAddresses(userId, Arrays.asList(defaultAddress.getId()));
+        Long remainingId = defaultAddress.getId().equals(first.getId()) ? second.getId() : first.getId();
+        assertEquals(remainingId, userAddressRepository.findByUserIdAndIsDefaultTrue(userId).get().getId());
+        assertEquals(remainingId, userRepository.findById(userId).get().getDefaultAddressId());
+    }
+
+    private Long createUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User("bulk_" + suffix, "password", "138" + suffix)).getId();
+    }
+}
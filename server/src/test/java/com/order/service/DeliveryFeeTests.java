@@ -0,0 +1,146 @@
+package com.order.service;
+
+import com.order.common.Money;
+import com.order.delivery.GeoPoint;
+import com.order.delivery.Geocoder;
+import com.order.entity.Order;
+import com.order.entity.Product;
+import com.order.entity.ShoppingCart;
+import com.order.entity.User;
+import com.order.entity.UserAddress;
+import com.order.exception.BusinessException;
+import com.order.exception.ErrorCode;
+import com.order.repository.ProductRepository;
+import com.order.repository.ShoppingCartRepository;
+import com.order.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DeliveryFeeTests {
+
+    // 规则见 delivery-zones.json：门店 31.2304,121.4737，3公里内5元、3-5公里7元、5-8公里10元
+    private static final String NEAR = "近处地址";
+    private static final String FAR = "远处地址";
+
+    private static final AtomicInteger geocodeCalls = new AtomicInteger();
+    private static final AtomicInteger geocodeCallsInTransaction = new AtomicInteger();
+
+    @TestConfiguration
+    static class GeocoderConfig {
+        @Bean
+        Geocoder testGeocoder() {
+            return address -> {
+                geocodeCalls.incrementAndGet();
+                if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                    geocodeCallsInTransaction.incrementAndGet();
+                }
+                return NEAR.equals(address) ? new GeoPoint(31.2310, 121.4740) : null;
+            };
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserAddressService userAddressService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void pricesOrdersByAddressZone() {
+        Long userId = createUser();
+        UserAddress near = userAddressService.addAddress(new UserAddress(userId, NEAR, "张三", "13800000000"));
+        UserAddress middle = addAddress(userId, 31.2304, 121.5150);
+        UserAddress outside = addAddress(userId, 31.3200, 121.4737);
+
+        assertEquals(Money.of("5.00"), checkout(userId, near, "10.00").getDeliveryFee());
+        assertEquals(Money.of("7.00"), checkout(userId, middle, "10.00").getDeliveryFee());
+        assertEquals(Money.ZERO, checkout(userId, middle, "100.00").getDeliveryFee());
+        BusinessException e = assertThrows(BusinessException.class, () -> checkout(userId, outside, "100.00"));
+        assertEquals(ErrorCode.OUT_OF_DELIVERY_RANGE, e.getErrorCode());
+    }
+
+    @Test
+    void geocodesOnlyWhenAddressTextChanges() {
+        Long userId = createUser();
+        int before = geocodeCalls.get();
+        UserAddress address = userAddressService.addAddress(new UserAddress(userId, NEAR, "张三", "13800000000"));
+        assertEquals(31.2310, address.getLatitude());
+        assertEquals(before + 1, geocodeCalls.get());
+
+        checkout(userId, address, "10.00");
+        userAddressService.patchAddress(userId, address.getId(), Collections.singletonMap("contactName", "李四"));
+        assertEquals(before + 1, geocodeCalls.get());
+
+        int inTransaction = geocodeCallsInTransaction.get();
+        UserAddress moved = userAddressService.patchAddress(userId, address.getId(),
+                Collections.singletonMap("deliveryAddress", FAR));
+        assertEquals(before + 2, geocodeCalls.get());
+        // 修改地址时的编码在事务之外，外部调用期间不占用连接
+        assertEquals(inTransaction, geocodeCallsInTransaction.get());
+        assertNull(moved.getLatitude());
+        assertEquals(Money.of("5.00"), checkout(userId, moved, "10.00").getDeliveryFee());
+    }
+
+    @Test
+    void createRequiresSavedAddress() throws Exception {
+        Long userId = createUser();
+        Product product = new Product(1L, "配送费测试商品", "测试", Money.of("10.00"));
+        product.setStock(10);
+        shoppingCartRepository.save(new ShoppingCart(userId, productRepository.save(product).getId(), 1));
+
+        // 地址文本无法按配送区域计费，只接受已保存地址的ID
+        mockMvc.perform(post("/order/create").param("userId", String.valueOf(userId))
+                        .param("deliveryAddress", FAR).param("contactName", "张三").param("contactPhone", "13800000000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private UserAddress addAddress(Long userId, double latitude, double longitude) {
+        UserAddress address = new UserAddress(userId, "测试地址", "张三", "13800000000");
+        address.setLatitude(latitude);
+        address.setLongitude(longitude);
+        return userAddressService.addAddress(address);
+    }
+
+    private Order checkout(Long userId, UserAddress address, String price) {
+        Product product = new Product(1L, "配送费测试商品", "测试", Money.of(price));
+        product.setStock(10);
+        Long productId = productRepository.save(product).getId();
+        shoppingCartRepository.save(new ShoppingCart(userId, productId, 1));
+        return orderService.createOrderFromCart(userId, null, address.getId());
+    }
+
+    private Long createUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User("delivery_" + suffix, "password", "139" + suffix)).getId();
+    }
+}
@@ -0,0 +1,140 @@
+package com.order.service;
+
+import com.order.common.Money;
+import com.order.entity.Order;
+import com.order.entity.OrderItem;
+import com.order.enums.OrderStatus;
+import com.order.repository.OrderArchiveRepository;
+import com.order.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@SpringBootTest
+class OrderArchiveTests {
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Test
+    void movesOldTerminalOrdersWithItemsAndLeavesOthers() {
+        Long userId = 900_000L + (long) (Math.random() * 100_000);
+        LocalDateTime old = LocalDateTime.now().minusDays(200);
+        Order completed = save(userId, OrderStatus.COMPLETED, old, 2);
+        Order cancelled = save(userId, OrderStatus.CANCELLED, old.plusDays(1), 1);
+        Order rejected = save(userId, OrderStatus.REJECTED, old.plusDays(2), 1);
+        Order pending = save(userId, OrderStatus.PENDING, old, 1);
+        Order recent = save(userId, OrderStatus.COMPLETED, LocalDateTime.now().minusDays(1), 1);
+
+        assertTrue(orderArchiveService.archiveTerminalOrders() >= 3);
+
+        for (Order order : Arrays.asList(completed, cancelled, rejected)) {
+            assertFalse(orderRepository.findById(order.getId()).isPresent());
+            assertTrue(orderArchiveRepository.findById(order.getId()).isPresent());
+        }
+        assertEquals(0, itemCount(completed, cancelled, rejected));
+        assertTrue(orderRepository.findById(pending.getId()).isPresent());
+        assertTrue(orderRepository.findById(recent.getId()).isPresent());
+        assertFalse(orderArchiveRepository.findById(recent.getId()).isPresent());
+
+        // 再次执行没有可归档的订单
+        assertEquals(0, orderArchiveService.archiveTerminalOrders());
+    }
+
+    @Test
+    void lookupsFallBackToArchive() {
+        Long userId = 900_000L + (long) (Math.random() * 100_000);
+        LocalDateTime old = LocalDateTime.now().minusDays(200);
+        Order archived = save(userId, OrderStatus.COMPLETED, old, 2);
+        Order recent = save(userId, OrderStatus.PENDING, LocalDateTime.now().minusDays(1), 1);
+        orderArchiveService.archiveTerminalOrders();
+
+        Order byOrderNo = orderService.findByOrderNo(archived.getOrderNo());
+        assertEquals(archived.getId(), byOrderNo.getId());
+        assertEquals(OrderStatus.COMPLETED, byOrderNo.getStatus());
+        assertEquals(Money.of("21.00"), byOrderNo.getActualAmount());
+        assertEquals(2, byOrderNo.getOrderItems().size());
+        assertEquals(Money.of("5.00"), byOrderNo.getOrderItems().get(0).getProductPrice());
+
+        assertEquals(archived.getOrderNo(), orderService.findById(archived.getId()).getOrderNo());
+
+        // 热表与归档表合并，按创建时间倒序
+        List<String> history = orderService.findByUserId(userId).stream()
+                .map(Order::getOrderNo).collect(Collectors.toList());
+        assertEquals(Arrays.asList(recent.getOrderNo(), archived.getOrderNo()), history);
+    }
+
+    @Test
+    void archiveEndpointIsRejectedWhileArchivingIsDisabled() throws Exception {
+        Long userId = 900_000L + (long) (Math.random() * 100_000);
+        Order completed = save(userId, OrderStatus.COMPLETED, LocalDateTime.now().minusDays(200), 1);
+
+        // 测试配置沿用 order.archive.enabled=false
+        MockMvcBuilders.webAppContextSetup(context).build()
+                .perform(post("/order/merchant/archive"))
+                .andExpect(jsonPath("$.code").value(4030));
+
+        assertTrue(orderRepository.findById(completed.getId()).isPresent());
+        assertFalse(orderArchiveRepository.findById(completed.getId()).isPresent());
+    }
+
+    private Order save(Long userId, OrderStatus status, LocalDateTime createdTime, int itemCount) {
+        String orderNo = "ARC" + UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        Order order = new Order(orderNo, userId, Money.of("10.00").times(itemCount), Money.of("10.00").times(itemCount).plus(Money.of("1.00")));
+        order.setDeliveryFee(Money.of("1.00"));
+        order.setStatus(status);
+        order.setDeliveryAddress("归档测试地址");
+        order.setContactName("张三");
+        order.setContactPhone("13800000000");
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItem(order, (long) i + 1, "归档商品" + i, Money.of("5.00"), 2, Money.of("10.00")));
+        }
+        order.setOrderItems(items);
+        Order saved = orderRepository.save(order);
+        // 创建时间由 @PrePersist 写入当前时间，保存后改为指定时间
+        jdbcTemplate.update("UPDATE orders SET created_time = ? WHERE id = ?", Timestamp.valueOf(createdTime), saved.getId());
+        saved.setCreatedTime(createdTime);
+        return saved;
+    }
+
+    private int itemCount(Order... orders) {
+        int count = 0;
+        for (Order order : orders) {
+            count += jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items WHERE order_id = ?", Integer.class, order.getId());
+        }
+        return count;
+    }
+}
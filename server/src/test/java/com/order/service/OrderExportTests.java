@@ -0,0 +1,118 @@
+package com.order.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.common.Money;
+import com.order.entity.Order;
+import com.order.enums.OrderStatus;
+import com.order.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderExportTests {
+
+    // 导出区间使用其他测试不会产生订单的历史日期
+    private static final String START = "2001-03-01";
+    private static final String END = "2001-03-31";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String first;
+    private String last;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM orders WHERE created_time < ?", Timestamp.valueOf("2002-01-01 00:00:00"));
+        first = save(LocalDateTime.of(2001, 3, 1, 0, 0), OrderStatus.PENDING, "王五, 备注含逗号");
+        last = save(LocalDateTime.of(2001, 3, 31, 23, 59), OrderStatus.COMPLETED, null);
+        save(LocalDateTime.of(2001, 2, 28, 23, 59), OrderStatus.COMPLETED, null);
+        save(LocalDateTime.of(2001, 4, 1, 0, 0), OrderStatus.COMPLETED, null);
+    }
+
+    @Test
+    void exportsCsvWithinDateRangeInclusiveOfEndDate() throws Exception {
+        MvcResult result = mockMvc.perform(get("/order/export")
+                        .param("startDate", START).param("endDate", END))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=orders-20010301-20010331.csv"))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals('\uFEFF', lines[0].charAt(0));
+        assertEquals(first + ",1,pending,unpaid,10.00,0.00,5.00,15.00,\"王五, 备注含逗号\",13800000000,测试地址,,2001-03-01 00:00:00",
+                lines[1]);
+        assertEquals(last, lines[2].substring(0, lines[2].indexOf(',')));
+    }
+
+    @Test
+    void exportsNdjsonFilteredByStatus() throws Exception {
+        MvcResult result = mockMvc.perform(get("/order/export")
+                        .param("startDate", START).param("endDate", END)
+                        .param("status", "completed").param("format", "ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, lines.length);
+        JsonNode order = objectMapper.readTree(lines[0]);
+        assertEquals(last, order.get("orderNo").asText());
+        assertEquals("completed", order.get("status").asText());
+        assertTrue(lines[0].contains("\"actualAmount\":15.00"), lines[0]);
+        assertEquals("2001-03-31 23:59:00", order.get("createdTime").asText());
+    }
+
+    @Test
+    void rejectsUnknownFormatAndStatus() throws Exception {
+        mockMvc.perform(get("/order/export").param("startDate", START).param("endDate", END).param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/order/export").param("startDate", START).param("endDate", END).param("status", "lost"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/order/export").param("startDate", END).param("endDate", START))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String save(LocalDateTime createdTime, OrderStatus status, String contactName) {
+        String orderNo = "EXP" + UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        Order order = new Order(orderNo, 1L, Money.of("10.00"), Money.of("15.00"));
+        order.setDeliveryFee(Money.of("5.00"));
+        order.setStatus(status);
+        order.setDeliveryAddress("测试地址");
+        order.setContactName(contactName != null ? contactName : "张三");
+        order.setContactPhone("13800000000");
+        orderRepository.save(order);
+        // 创建时间由 @PrePersist 写入当前时间，保存后改为指定时间
+        jdbcTemplate.update("UPDATE orders SET created_time = ? WHERE order_no = ?", Timestamp.valueOf(createdTime), orderNo);
+        return orderNo;
+    }
+}
@@ -0,0 +1,86 @@
+package com.order.service;
+
+import com.order.common.Money;
+import com.order.entity.Product;
+import com.order.profiler.QueryStats;
+import com.order.profiler.SqlProfiler;
+import com.order.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductBatchTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @Test
+    void loadsMissesInOneQueryAndServesCachedEntriesWithoutDatabase() {
+        Long a = save("批量商品A");
+        Long b = save("批量商品B");
+        Long c = save("批量商品C");
+        entityManagerFactory.getCache().evict(Product.class);
+
+        List<Long> ids = Arrays.asList(c, a, -1L, b, a);
+        QueryStats cold = sqlProfiler.start("cold");
+        List<Product> first;
+        try {
+            first = productService.getProductsByIds(ids);
+        } finally {
+            sqlProfiler.stop();
+        }
+        assertEquals(Arrays.asList(c, a, b), first.stream().map(Product::getId).collect(Collectors.toList()));
+        assertEquals(1, cold.getCount());
+
+        QueryStats warm = sqlProfiler.start("warm");
+        try {
+            assertEquals(3, productService.getProductsByIds(Arrays.asList(b, c, a)).size());
+        } finally {
+            sqlProfiler.stop();
+        }
+        assertEquals(0, warm.getCount());
+    }
+
+    @Test
+    void batchEndpointPreservesOrderAndLimitsSize() throws Exception {
+        Long a = save("接口商品A");
+        Long b = save("接口商品B");
+        mockMvc.perform(get("/product/batch").param("ids", b + "," + a))
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data[*].name", contains("接口商品B", "接口商品A")));
+
+        String tooMany = Arrays.stream(new long[101]).mapToObj(i -> "1").collect(Collectors.joining(","));
+        mockMvc.perform(get("/product/batch").param("ids", tooMany))
+                .andExpect(jsonPath("$.code").value(500));
+    }
+
+    private Long save(String name) {
+        return productRepository.save(new Product(1L, name, "描述", Money.of("8.80"))).getId();
+    }
+}
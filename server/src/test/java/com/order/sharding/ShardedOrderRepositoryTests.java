@@ -0,0 +1,247 @@
+package com.order.sharding;
+
+import com.order.common.Money;
+import com.order.entity.Order;
+import com.order.entity.Product;
+import com.order.entity.ShoppingCart;
+import com.order.entity.User;
+import com.order.entity.UserAddress;
+import com.order.enums.OrderStatus;
+import com.order.exception.OutOfStockException;
+import com.order.repository.ShoppingCartRepository;
+import com.order.repository.UserAddressRepository;
+import com.order.service.OrderService;
+import com.order.service.ProductService;
+import com.order.service.UserAddressService;
+import com.order.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 与生产部署一致，spring.datasource 指向默认分片（ID号段表位于该库）
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "order.sharding.enabled=true",
+        "order.sharding.urls=jdbc:h2:mem:shard0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:shard1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "order.sharding.schema=classpath:db/shard-schema.sql",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+class ShardedOrderRepositoryTests {
+
+    @Autowired
+    private ShardedOrderRepository shardedOrderRepository;
+
+    @Autowired
+    private OrderShardRouter router;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Autowired
+    private UserAddressRepository userAddressRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserAddressService userAddressService;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private Long userOnShard0;
+    private Long userOnShard1;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (int shard = 0; shard < router.getShardCount(); shard++) {
+            int offset = shard + 1;
+            ShardContext.callOn(shard, () -> {
+                jdbcTemplate.update("DELETE FROM order_items");
+                jdbcTemplate.update("DELETE FROM orders");
+                jdbcTemplate.update("DELETE FROM shopping_cart");
+                // 相当于MySQL的 auto_increment_offset = 分片号 + 1
+                jdbcTemplate.execute("ALTER TABLE orders ALTER COLUMN id RESTART WITH " + offset);
+                return null;
+            });
+        }
+
+        for (long userId = 1; userOnShard0 == null || userOnShard1 == null; userId++) {
+            if (router.shardForUser(userId) == 0 && userOnShard0 == null) {
+                userOnShard0 = userId;
+            } else if (router.shardForUser(userId) == 1 && userOnShard1 == null) {
+                userOnShard1 = userId;
+            }
+        }
+    }
+
+    @Test
+    void routesOrdersByUserAndMergesAcrossShards() {
+        Order first = place(userOnShard0, "ORD1700000000000" + router.orderNoShardTag(0) + "AAAAAA");
+        Order second = place(userOnShard1, "ORD1700000000001" + router.orderNoShardTag(1) + "BBBBBB");
+        Order third = place(userOnShard1, "ORD1700000000002" + router.orderNoShardTag(1) + "CCCCCC");
+
+        assertEquals(0, router.shardForOrderId(first.getId()));
+        assertEquals(1, router.shardForOrderId(second.getId()));
+        assertEquals(1, router.shardForOrderId(third.getId()));
+
+        assertEquals(1, shardedOrderRepository.findByUserId(userOnShard0).size());
+        assertEquals(2, shardedOrderRepository.findByUserId(userOnShard1).size());
+
+        assertEquals(userOnShard1, shardedOrderRepository.findByOrderNo(second.getOrderNo()).get().getUserId());
+        assertEquals(third.getOrderNo(), shardedOrderRepository.findById(third.getId()).get().getOrderNo());
+        assertFalse(shardedOrderRepository.findById(99L).isPresent());
+
+        List<Order> all = shardedOrderRepository.findAllOrders();
+        assertEquals(3, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(ShardedOrderRepository.CREATED_TIME_DESC.compare(all.get(i - 1), all.get(i)) <= 0);
+        }
+        assertEquals(2, shardedOrderRepository.findByStatus(OrderStatus.PENDING).size());
+    }
+
+    @Test
+    void rejectsSaveOnWrongShard() {
+        Order order = newOrder(userOnShard0, "ORD1700000000003" + router.orderNoShardTag(0) + "DDDDDD");
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        assertThrows(IllegalStateException.class, () -> ShardContext.callOn(1,
+                () -> template.execute(status -> shardedOrderRepository.save(order))));
+    }
+
+    @Test
+    void checkoutOnEveryShardDeductsTheSameCatalogStock() {
+        Product product = new Product(1L, "分片库存商品", "描述", Money.of("8.00"));
+        product.setStock(10);
+        Long productId = productService.saveProduct(product).getId();
+
+        checkout(userOnShard0, productId, 2);
+        Order second = checkout(userOnShard1, productId, 3);
+        assertEquals(5, stockOnDefaultShard(productId));
+        assertEquals(0, ShardContext.callOn(1, () -> new JdbcTemplate(dataSource)
+                .queryForObject("SELECT COUNT(*) FROM products", Integer.class)), "默认分片之外的商品表应为空");
+
+        // 库存只有一份：分片1的用户不能超卖分片0用户已扣减的库存
+        assertThrows(OutOfStockException.class, () -> checkout(userOnShard1, productId, 6));
+        assertEquals(5, stockOnDefaultShard(productId));
+
+        ShardContext.callOn(1, () -> orderService.cancelOrderByUser(second.getId(), userOnShard1));
+        assertEquals(8, stockOnDefaultShard(productId));
+    }
+
+    @Test
+    void rechargeAndPayUseTheWalletOnTheUsersShard() throws Exception {
+        Product product = new Product(1L, "分片钱包商品", "描述", Money.of("8.00"));
+        product.setStock(10);
+        Long productId = productService.saveProduct(product).getId();
+        // 其他测试不会使用的分片1用户，钱包从零开始
+        long candidate = 10_000L;
+        while (router.shardForUser(candidate) != 1) {
+            candidate++;
+        }
+        Long userId = candidate;
+
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        mockMvc.perform(post("/wallet/recharge").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":" + userId + ",\"amount\":100}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        Order order = checkout(userId, productId, 2);
+        mockMvc.perform(post("/order/" + order.getId() + "/pay"))
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.status").value("paid"));
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        BigDecimal balance = ShardContext.callOn(1, () -> jdbcTemplate.queryForObject(
+                "SELECT balance FROM wallet WHERE user_id = ?", BigDecimal.class, userId));
+        assertEquals(0, new BigDecimal("100").subtract(order.getActualAmount().toBigDecimal()).compareTo(balance));
+        assertEquals(0, ShardContext.callOn(OrderShardRouter.DEFAULT_SHARD, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM wallet WHERE user_id = ?", Integer.class, userId)), "默认分片上不应有该用户的钱包");
+    }
+
+    @Test
+    void usersStayOnTheDefaultShardWhileAddressesFollowTheUser() {
+        // 注册不依赖用户ID哈希，直到得到一个地址等数据位于分片1的用户
+        User user;
+        int n = 0;
+        do {
+            user = userService.register("shard-user-" + n, String.format("1390000%04d", n), "123456");
+            n++;
+        } while (router.shardForUser(user.getId()) != 1);
+        Long userId = user.getId();
+
+        UserAddress address = ShardContext.callOn(1,
+                () -> userAddressService.addAddress(new UserAddress(userId, "分片地址", "张三", "13800000000")));
+
+        // 地址事务提交后，默认分片上的用户记录指向新地址
+        assertEquals(address.getId(), userService.findById(userId).get().getDefaultAddressId());
+        assertEquals(address.getId(), ShardContext.callOn(1, () -> userService.findById(userId)).get().getDefaultAddressId());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertEquals(0, ShardContext.callOn(1, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, userId)), "用户只应保存在默认分片");
+        assertEquals(1, ShardContext.callOn(1, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_address WHERE user_id = ?", Integer.class, userId)));
+    }
+
+    private Order checkout(Long userId, Long productId, int quantity) {
+        return ShardContext.callOn(router.shardForUser(userId), () -> {
+            shoppingCartRepository.save(new ShoppingCart(userId, productId, quantity));
+            UserAddress address = userAddressRepository.save(new UserAddress(userId, "测试地址", "张三", "13800000000"));
+            return orderService.createOrderFromCart(userId, null, address.getId());
+        });
+    }
+
+    private int stockOnDefaultShard(Long productId) {
+        return ShardContext.callOn(OrderShardRouter.DEFAULT_SHARD, () -> new JdbcTemplate(dataSource)
+                .queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, productId));
+    }
+
+    private Order place(Long userId, String orderNo) {
+        Order order = newOrder(userId, orderNo);
+        if (orderNo.endsWith("CCCCCC")) {
+            order.setStatus(OrderStatus.COMPLETED);
+        }
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        return ShardContext.callOn(router.shardForUser(userId),
+                () -> template.execute(status -> shardedOrderRepository.save(order)));
+    }
+
+    private static Order newOrder(Long userId, String orderNo) {
+        Order order = new Order(orderNo, userId, Money.of("10.00"), Money.of("10.00"));
+        order.setDeliveryAddress("测试地址");
+        order.setContactName("测试");
+        order.setContactPhone("13800000000");
+        return order;
+    }
+}
@@ -0,0 +1,21 @@
+-- 读写分离测试用从库建表脚本（测试中两个内嵌库之间没有复制，数据与心跳由测试直接写入）
+CREATE TABLE IF NOT EXISTS products (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    category_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    description TEXT,
+    price DECIMAL(10,2) NOT NULL,
+    original_price DECIMAL(10,2),
+    image_url VARCHAR(255),
+    stock INT DEFAULT 0,
+    sales INT DEFAULT 0,
+    sort_order INT DEFAULT 0,
+    status INT DEFAULT 1,
+    created_time TIMESTAMP,
+    updated_time TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id INT NOT NULL PRIMARY KEY,
+    beat_time BIGINT NOT NULL
+);
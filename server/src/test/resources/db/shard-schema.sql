@@ -0,0 +1,125 @@
+-- 分片测试建表脚本：订单ID步长等于分片数（2），各分片起始值在测试中调整
+CREATE TABLE IF NOT EXISTS orders (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 1 INCREMENT BY 2) PRIMARY KEY,
+    order_no VARCHAR(50) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL,
+    total_amount DECIMAL(10,2) NOT NULL,
+    discount_amount DECIMAL(10,2),
+    actual_amount DECIMAL(10,2) NOT NULL,
+    delivery_fee DECIMAL(10,2),
+    status_code TINYINT,
+    payment_status_code TINYINT,
+    delivery_address TEXT NOT NULL,
+    contact_name VARCHAR(50) NOT NULL,
+    contact_phone VARCHAR(20) NOT NULL,
+    remark VARCHAR(255),
+    created_time TIMESTAMP,
+    updated_time TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_orders_status_time ON orders (status_code, created_time);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(100) NOT NULL,
+    product_price DECIMAL(10,2) NOT NULL,
+    quantity INT NOT NULL,
+    subtotal DECIMAL(10,2) NOT NULL,
+    product_image VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id BIGINT PRIMARY KEY,
+    order_no VARCHAR(50) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL,
+    total_amount DECIMAL(10,2) NOT NULL,
+    discount_amount DECIMAL(10,2),
+    actual_amount DECIMAL(10,2) NOT NULL,
+    delivery_fee DECIMAL(10,2),
+    status VARCHAR(20),
+    payment_status VARCHAR(20),
+    delivery_address TEXT,
+    contact_name VARCHAR(50),
+    contact_phone VARCHAR(20),
+    remark VARCHAR(255),
+    items TEXT,
+    created_time TIMESTAMP,
+    updated_time TIMESTAMP,
+    archived_time TIMESTAMP
+);
+
+-- 商品、分类只在默认分片读写，其余分片的商品表保持为空
+CREATE TABLE IF NOT EXISTS categories (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(50) NOT NULL,
+    description VARCHAR(255),
+    sort_order INT,
+    status INT,
+    created_time TIMESTAMP,
+    updated_time TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    category_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    description TEXT,
+    price DECIMAL(10,2) NOT NULL,
+    original_price DECIMAL(10,2),
+    image_url VARCHAR(255),
+    stock INT NOT NULL,
+    sales INT NOT NULL,
+    sort_order INT,
+    status INT,
+    created_time TIMESTAMP,
+    updated_time TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS shopping_cart (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INT NOT NULL,
+    created_time TIMESTAMP,
+    updated_time TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS user_address (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    delivery_address TEXT NOT NULL,
+    contact_name VARCHAR(50) NOT NULL,
+    contact_phone VARCHAR(20) NOT NULL,
+    is_default BOOLEAN NOT NULL,
+    address_tag VARCHAR(20),
+    latitude DOUBLE,
+    longitude DOUBLE,
+    create_time TIMESTAMP NOT NULL,
+    update_time TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    phone VARCHAR(20) NOT NULL UNIQUE,
+    nickname VARCHAR(50),
+    avatar VARCHAR(255),
+    created_time TIMESTAMP,
+    updated_time TIMESTAMP,
+    status INT,
+    default_address_id BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS wallet (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    balance DECIMAL(10,2) NOT NULL,
+    frozen_balance DECIMAL(10,2) NOT NULL,
+    total_recharge DECIMAL(10,2) NOT NULL,
+    total_consumption DECIMAL(10,2) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,17 @@
+package com.order.storefront;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * 店面只读接口应用（WebFlux + R2DBC）
+ * 商品、分类、订单历史查询在等待数据库时不占用线程；下单、支付等写操作仍由主工程的Servlet栈处理
+ */
+@SpringBootApplication
+public class StorefrontApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(StorefrontApplication.class, args);
+    }
+
+}
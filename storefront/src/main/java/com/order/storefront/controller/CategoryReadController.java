@@ -0,0 +1,28 @@
+package com.order.storefront.controller;
+
+import com.order.common.Result;
+import com.order.entity.Category;
+import com.order.storefront.repository.CatalogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 分类只读接口，路径与响应格式同主工程 CategoryController
+ */
+@RestController
+@RequestMapping("/category")
+public class CategoryReadController {
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+
+    @GetMapping("/list")
+    public Mono<Result<List<Category>>> getAllCategories() {
+        return catalogRepository.findAvailableCategories().collectList().map(Result::success);
+    }
+}
@@ -0,0 +1,34 @@
+package com.order.storefront.controller;
+
+import com.order.common.Result;
+import com.order.entity.Order;
+import com.order.storefront.repository.OrderHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 订单历史只读接口，路径与响应格式同主工程 OrderController
+ */
+@RestController
+@RequestMapping("/order")
+public class OrderReadController {
+
+    @Autowired
+    private OrderHistoryRepository orderHistoryRepository;
+
+    /**
+     * 获取用户订单列表（含归档订单）
+     */
+    @GetMapping("/user/{userId}")
+    public Mono<Result<List<Order>>> getUserOrders(@PathVariable Long userId) {
+        return orderHistoryRepository.findByUserId(userId)
+                .map(Result::success)
+                .onErrorResume(e -> Mono.just(Result.error("获取订单列表失败：" + e.getMessage())));
+    }
+}
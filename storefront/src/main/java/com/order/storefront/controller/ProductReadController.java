@@ -0,0 +1,34 @@
+package com.order.storefront.controller;
+
+import com.order.common.Result;
+import com.order.entity.Product;
+import com.order.storefront.repository.CatalogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 商品只读接口，路径与响应格式同主工程 ProductController
+ */
+@RestController
+@RequestMapping("/product")
+public class ProductReadController {
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+
+    @GetMapping("/list")
+    public Mono<Result<List<Product>>> getAllProducts() {
+        return catalogRepository.findAvailableProducts().collectList().map(Result::success);
+    }
+
+    @GetMapping("/category/{categoryId}")
+    public Mono<Result<List<Product>>> getProductsByCategory(@PathVariable Long categoryId) {
+        return catalogRepository.findAvailableProductsByCategory(categoryId).collectList().map(Result::success);
+    }
+}
@@ -0,0 +1,88 @@
+package com.order.storefront.repository;
+
+import com.order.common.Money;
+import com.order.entity.Category;
+import com.order.entity.Product;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 商品、分类只读查询，SQL与主工程 ProductRepository、CategoryRepository 的查询保持一致
+ */
+@Repository
+public class CatalogRepository {
+
+    private static final String PRODUCT_COLUMNS = "SELECT id, category_id, name, description, price, original_price, "
+            + "image_url, stock, sales, sort_order, status, created_time, updated_time FROM products";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<Product> findAvailableProducts() {
+        return databaseClient.sql(PRODUCT_COLUMNS + " WHERE status = 1 ORDER BY sort_order ASC, id DESC")
+                .map((row, metadata) -> toProduct(row))
+                .all();
+    }
+
+    public Flux<Product> findAvailableProductsByCategory(Long categoryId) {
+        return databaseClient.sql(PRODUCT_COLUMNS
+                        + " WHERE category_id = :categoryId AND status = 1 ORDER BY sort_order ASC, id DESC")
+                .bind("categoryId", categoryId)
+                .map((row, metadata) -> toProduct(row))
+                .all();
+    }
+
+    public Flux<Category> findAvailableCategories() {
+        return databaseClient.sql("SELECT id, name, description, sort_order, status, created_time, updated_time "
+                        + "FROM categories WHERE status = 1 ORDER BY sort_order ASC, id ASC")
+                .map((row, metadata) -> toCategory(row))
+                .all();
+    }
+
+    private static Product toProduct(Row row) {
+        Product product = new Product();
+        product.setId(row.get("id", Long.class));
+        product.setCategoryId(row.get("category_id", Long.class));
+        product.setName(row.get("name", String.class));
+        product.setDescription(row.get("description", String.class));
+        product.setPrice(money(row, "price"));
+        product.setOriginalPrice(money(row, "original_price"));
+        product.setImageUrl(row.get("image_url", String.class));
+        product.setStock(intValue(row, "stock"));
+        product.setSales(intValue(row, "sales"));
+        product.setSortOrder(intValue(row, "sort_order"));
+        product.setStatus(intValue(row, "status"));
+        product.setCreatedTime(row.get("created_time", LocalDateTime.class));
+        product.setUpdatedTime(row.get("updated_time", LocalDateTime.class));
+        return product;
+    }
+
+    private static Category toCategory(Row row) {
+        Category category = new Category();
+        category.setId(row.get("id", Long.class));
+        category.setName(row.get("name", String.class));
+        category.setDescription(row.get("description", String.class));
+        category.setSortOrder(intValue(row, "sort_order"));
+        category.setStatus(intValue(row, "status"));
+        category.setCreatedTime(row.get("created_time", LocalDateTime.class));
+        category.setUpdatedTime(row.get("updated_time", LocalDateTime.class));
+        return category;
+    }
+
+    // status 为 TINYINT，驱动按 Byte 解码，统一按数值取出
+    private static Integer intValue(Row row, String column) {
+        Number value = (Number) row.get(column);
+        return value == null ? null : value.intValue();
+    }
+
+    private static Money money(Row row, String column) {
+        BigDecimal value = row.get(column, BigDecimal.class);
+        return value == null ? null : Money.of(value);
+    }
+}
@@ -0,0 +1,199 @@
+package com.order.storefront.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.common.Money;
+import com.order.entity.Order;
+import com.order.entity.OrderItem;
+import com.order.enums.OrderStatus;
+import com.order.enums.PaymentStatus;
+import com.order.sharding.KWayMerger;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户订单历史只读查询：热表订单 + 归档订单，按创建时间倒序合并，与主工程 OrderService.findByUserId 结果一致
+ * 订单项按订单ID一次批量查询，不逐单查询；仅支持单库部署，分片部署的订单历史仍由主工程提供
+ */
+@Repository
+public class OrderHistoryRepository {
+
+    // 与主工程 ShardedOrderRepository.CREATED_TIME_DESC 一致：创建时间倒序，相同时按ID倒序
+    private static final Comparator<Order> CREATED_TIME_DESC = Comparator
+            .comparing(Order::getCreatedTime, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(Order::getId, Comparator.nullsFirst(Comparator.<Long>naturalOrder()))
+            .reversed();
+
+    private static final String ORDER_COLUMNS = "id, order_no, user_id, total_amount, discount_amount, actual_amount, "
+            + "delivery_fee, delivery_address, contact_name, contact_phone, remark, created_time, updated_time";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public Mono<List<Order>> findByUserId(Long userId) {
+        Mono<List<Order>> orders = findActiveOrders(userId);
+        Mono<List<Order>> archivedOrders = findArchivedOrders(userId);
+        return Mono.zip(orders, archivedOrders)
+                .map(tuple -> {
+                    if (tuple.getT2().isEmpty()) {
+                        return tuple.getT1();
+                    }
+                    return KWayMerger.merge(Arrays.asList(tuple.getT1(), tuple.getT2()), CREATED_TIME_DESC);
+                });
+    }
+
+    private Mono<List<Order>> findActiveOrders(Long userId) {
+        return databaseClient.sql("SELECT " + ORDER_COLUMNS
+                        + ", status_code, payment_status_code FROM orders WHERE user_id = :userId ORDER BY created_time DESC")
+                .bind("userId", userId)
+                .map((row, metadata) -> toActiveOrder(row))
+                .all()
+                .collectList()
+                .flatMap(this::attachItems);
+    }
+
+    private Mono<List<Order>> attachItems(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return Mono.just(orders);
+        }
+        Map<Long, Order> ordersById = new LinkedHashMap<>();
+        for (Order order : orders) {
+            order.setOrderItems(new ArrayList<>());
+            ordersById.put(order.getId(), order);
+        }
+        return databaseClient.sql("SELECT id, order_id, product_id, product_name, product_price, quantity, subtotal, "
+                        + "product_image FROM order_items WHERE order_id IN (:orderIds) ORDER BY id ASC")
+                .bind("orderIds", new ArrayList<>(ordersById.keySet()))
+                .map((row, metadata) -> {
+                    OrderItem item = toOrderItem(row);
+                    Order order = ordersById.get(row.get("order_id", Long.class));
+                    item.setOrder(order);
+                    order.getOrderItems().add(item);
+                    return item;
+                })
+                .all()
+                .then(Mono.just(orders));
+    }
+
+    private Mono<List<Order>> findArchivedOrders(Long userId) {
+        return databaseClient.sql("SELECT " + ORDER_COLUMNS
+                        + ", status, payment_status, items FROM orders_archive WHERE user_id = :userId ORDER BY created_time DESC")
+                .bind("userId", userId)
+                .map((row, metadata) -> toArchivedOrder(row))
+                .all()
+                .collectList();
+    }
+
+    private static Order toOrder(Row row) {
+        Order order = new Order();
+        order.setId(row.get("id", Long.class));
+        order.setOrderNo(row.get("order_no", String.class));
+        order.setUserId(row.get("user_id", Long.class));
+        order.setTotalAmount(money(row, "total_amount"));
+        order.setDiscountAmount(money(row, "discount_amount"));
+        order.setActualAmount(money(row, "actual_amount"));
+        order.setDeliveryFee(money(row, "delivery_fee"));
+        order.setDeliveryAddress(row.get("delivery_address", String.class));
+        order.setContactName(row.get("contact_name", String.class));
+        order.setContactPhone(row.get("contact_phone", String.class));
+        order.setRemark(row.get("remark", String.class));
+        order.setCreatedTime(row.get("created_time", LocalDateTime.class));
+        order.setUpdatedTime(row.get("updated_time", LocalDateTime.class));
+        return order;
+    }
+
+    // 订单表状态为TINYINT存储值，见主工程 OrderStatusConverter
+    private static Order toActiveOrder(Row row) {
+        Order order = toOrder(row);
+        Number status = (Number) row.get("status_code");
+        Number paymentStatus = (Number) row.get("payment_status_code");
+        order.setStatus(status == null ? null : OrderStatus.fromValue(status.intValue()));
+        order.setPaymentStatus(paymentStatus == null ? null : PaymentStatus.fromValue(paymentStatus.intValue()));
+        return order;
+    }
+
+    private static OrderItem toOrderItem(Row row) {
+        OrderItem item = new OrderItem();
+        item.setId(row.get("id", Long.class));
+        item.setProductId(row.get("product_id", Long.class));
+        item.setProductName(row.get("product_name", String.class));
+        item.setProductPrice(money(row, "product_price"));
+        item.setQuantity(row.get("quantity", Integer.class));
+        item.setSubtotal(money(row, "subtotal"));
+        item.setImage(row.get("product_image", String.class));
+        return item;
+    }
+
+    /**
+     * 归档订单的订单项以JSON存放在 items 列，格式见主工程 OrderArchiveService
+     */
+    private Order toArchivedOrder(Row row) {
+        Order order = toOrder(row);
+        String status = row.get("status", String.class);
+        String paymentStatus = row.get("payment_status", String.class);
+        order.setStatus(status == null ? null : OrderStatus.fromCode(status));
+        order.setPaymentStatus(paymentStatus == null ? null : PaymentStatus.fromCode(paymentStatus));
+        List<OrderItem> orderItems = new ArrayList<>();
+        String items = row.get("items", String.class);
+        if (items != null) {
+            JsonNode array;
+            try {
+                // 金额按BigDecimal读取，保留两位小数的原始精度
+                array = objectMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS).readTree(items);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("归档订单项解析失败：" + order.getOrderNo(), e);
+            }
+            for (JsonNode node : array) {
+                OrderItem item = new OrderItem(order, longValue(node, "productId"), textValue(node, "productName"),
+                        moneyValue(node, "productPrice"), intValue(node, "quantity"), moneyValue(node, "subtotal"));
+                item.setId(longValue(node, "id"));
+                item.setImage(textValue(node, "image"));
+                orderItems.add(item);
+            }
+        }
+        order.setOrderItems(orderItems);
+        return order;
+    }
+
+    private static Long longValue(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asLong();
+    }
+
+    private static Integer intValue(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asInt();
+    }
+
+    private static String textValue(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static Money moneyValue(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : Money.of(value.decimalValue());
+    }
+
+    private static Money money(Row row, String column) {
+        BigDecimal value = row.get(column, BigDecimal.class);
+        return value == null ? null : Money.of(value);
+    }
+}
@@ -0,0 +1,94 @@
+package com.order.storefront;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class StorefrontReadApiTests {
+
+    private static final String ARCHIVED_ITEMS = "[{\"id\":900,\"productId\":1,\"productName\":\"归档商品\","
+            + "\"productPrice\":12.50,\"quantity\":2,\"subtotal\":25.00,\"image\":null}]";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void seed() {
+        for (String table : new String[]{"order_items", "orders", "orders_archive", "products", "categories"}) {
+            execute("DELETE FROM " + table);
+        }
+        execute("INSERT INTO categories (id, name, sort_order, status) VALUES (1, '主食', 2, 1), (2, '饮品', 1, 1), "
+                + "(3, '停用分类', 0, 0)");
+        execute("INSERT INTO products (id, category_id, name, price, stock, sort_order, status) VALUES "
+                + "(1, 1, '牛肉饭', 18.00, 10, 1, 1), (2, 1, '鸡腿饭', 16.50, 10, 0, 1), "
+                + "(3, 2, '可乐', 3.00, 10, 0, 1), (4, 1, '下架商品', 9.90, 10, 0, 0)");
+        execute("INSERT INTO orders (id, order_no, user_id, total_amount, actual_amount, status_code, created_time) VALUES "
+                + "(10, 'ORD10', 7, 34.50, 34.50, 1, TIMESTAMP '2026-01-03 12:00:00'), "
+                + "(11, 'ORD11', 7, 3.00, 3.00, 0, TIMESTAMP '2026-01-01 12:00:00'), "
+                + "(12, 'ORD12', 8, 3.00, 3.00, 0, TIMESTAMP '2026-01-02 12:00:00')");
+        execute("INSERT INTO order_items (order_id, product_id, product_name, product_price, quantity, subtotal) VALUES "
+                + "(10, 1, '牛肉饭', 18.00, 1, 18.00), (10, 2, '鸡腿饭', 16.50, 1, 16.50), (11, 3, '可乐', 3.00, 1, 3.00)");
+        databaseClient.sql("INSERT INTO orders_archive (id, order_no, user_id, total_amount, actual_amount, status, "
+                        + "items, created_time) VALUES (5, 'ORD5', 7, 25.00, 25.00, 'completed', :items, "
+                        + "TIMESTAMP '2026-01-02 12:00:00')")
+                .bind("items", ARCHIVED_ITEMS)
+                .then()
+                .block();
+    }
+
+    @Test
+    void listsAvailableProductsInDisplayOrder() {
+        webTestClient.get().uri("/product/list").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(200)
+                .jsonPath("$.data.length()").isEqualTo(3)
+                .jsonPath("$.data[0].name").isEqualTo("可乐")
+                .jsonPath("$.data[1].name").isEqualTo("鸡腿饭")
+                .jsonPath("$.data[2].name").isEqualTo("牛肉饭");
+
+        webTestClient.get().uri("/product/category/1").exchange()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(2)
+                .jsonPath("$.data[0].price").isEqualTo(16.5);
+    }
+
+    @Test
+    void listsEnabledCategories() {
+        webTestClient.get().uri("/category/list").exchange()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(2)
+                .jsonPath("$.data[0].name").isEqualTo("饮品");
+    }
+
+    @Test
+    void mergesActiveAndArchivedOrdersWithItems() {
+        webTestClient.get().uri("/order/user/7").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(3)
+                .jsonPath("$.data[0].orderNo").isEqualTo("ORD10")
+                .jsonPath("$.data[0].orderItems.length()").isEqualTo(2)
+                .jsonPath("$.data[0].status").isEqualTo("paid")
+                .jsonPath("$.data[0].paymentStatus").isEqualTo("unpaid")
+                .jsonPath("$.data[1].orderNo").isEqualTo("ORD5")
+                .jsonPath("$.data[1].status").isEqualTo("completed")
+                .jsonPath("$.data[1].orderItems[0].productName").isEqualTo("归档商品")
+                .jsonPath("$.data[1].orderItems[0].productPrice").isEqualTo(12.50)
+                .jsonPath("$.data[2].orderNo").isEqualTo("ORD11")
+                .jsonPath("$.data[2].orderItems[0].productName").isEqualTo("可乐");
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+}
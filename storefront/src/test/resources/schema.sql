@@ -0,0 +1,75 @@
+-- 店面测试建表脚本（H2），只含店面读取的表，列与主工程实体一致
+CREATE TABLE IF NOT EXISTS categories (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(50) NOT NULL,
+    description VARCHAR(255),
+    sort_order INT DEFAULT 0,
+    status TINYINT DEFAULT 1,
+    created_time TIMESTAMP,
+    updated_time TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    category_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    description TEXT,
+    price DECIMAL(10,2) NOT NULL,
+    original_price DECIMAL(10,2),
+    image_url VARCHAR(255),
+    stock INT DEFAULT 0,
+    sales INT DEFAULT 0,
+    sort_order INT DEFAULT 0,
+    status TINYINT DEFAULT 1,
+    created_time TIMESTAMP,
+    updated_time TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_no VARCHAR(50) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL,
+    total_amount DECIMAL(10,2) NOT NULL,
+    discount_amount DECIMAL(10,2) DEFAULT 0,
+    actual_amount DECIMAL(10,2) NOT NULL,
+    delivery_fee DECIMAL(10,2) DEFAULT 0,
+    status_code TINYINT DEFAULT 0,
+    payment_status_code TINYINT DEFAULT 0,
+    delivery_address TEXT,
+    contact_name VARCHAR(50),
+    contact_phone VARCHAR(20),
+    remark VARCHAR(255),
+    created_time TIMESTAMP,
+    updated_time TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(100) NOT NULL,
+    product_image VARCHAR(255),
+    product_price DECIMAL(10,2) NOT NULL,
+    quantity INT NOT NULL,
+    subtotal DECIMAL(10,2) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id BIGINT PRIMARY KEY,
+    order_no VARCHAR(50) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL,
+    total_amount DECIMAL(10,2) NOT NULL,
+    discount_amount DECIMAL(10,2) DEFAULT 0,
+    actual_amount DECIMAL(10,2) NOT NULL,
+    delivery_fee DECIMAL(10,2) DEFAULT 0,
+    status VARCHAR(20),
+    payment_status VARCHAR(20),
+    delivery_address TEXT,
+    contact_name VARCHAR(50),
+    contact_phone VARCHAR(20),
+    remark VARCHAR(255),
+    items TEXT,
+    created_time TIMESTAMP NULL,
+    updated_time TIMESTAMP NULL,
+    archived_time TIMESTAMP NULL
+);